@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.journal.JournaledDataTree;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of {@link JournaledDataTree}: sustained throughput of journaled commits and the time needed to
+ * recover a tree from a snapshot and a journal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class JournaledDataTreeBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final int OUTER_LIST_1K = 1000;
+    private static final int OUTER_LIST_10K = 10000;
+    private static final int SNAPSHOT_INTERVAL = 4000;
+
+    private static final YangInstanceIdentifier[] OUTER_LIST_PATHS = new YangInstanceIdentifier[OUTER_LIST_10K];
+    private static final NormalizedNode<?, ?>[] OUTER_LIST_ITEMS = new NormalizedNode<?, ?>[OUTER_LIST_10K];
+
+    static {
+        for (int i = 0; i < OUTER_LIST_10K; ++i) {
+            OUTER_LIST_PATHS[i] = YangInstanceIdentifier.builder(BenchmarkModel.OUTER_LIST_PATH)
+                .nodeWithKey(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, i).build();
+            OUTER_LIST_ITEMS[i] = ImmutableNodes.mapEntry(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, i);
+        }
+    }
+
+    private SchemaContext schemaContext;
+    private Path appendDirectory;
+    private Path recoveryDirectory;
+    private JournaledDataTree datastore;
+
+    public static void main(final String... args) throws IOException, RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + JournaledDataTreeBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws DataValidationFailedException, IOException, SourceException, ReactorException {
+        schemaContext = BenchmarkModel.createTestContext();
+
+        // Recovery loads a snapshot taken after 8000 commits and replays the remaining 2001 commits
+        recoveryDirectory = Files.createTempDirectory("journal-recovery");
+        try (JournaledDataTree tree = openTree(recoveryDirectory)) {
+            initTestNode(tree);
+            writeCommitPerEntry(tree, OUTER_LIST_10K);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() throws DataValidationFailedException, IOException {
+        appendDirectory = Files.createTempDirectory("journal-append");
+        datastore = openTree(appendDirectory);
+        initTestNode(datastore);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() throws IOException {
+        datastore.close();
+        datastore = null;
+        deleteDirectory(appendDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        deleteDirectory(recoveryDirectory);
+        schemaContext = null;
+    }
+
+    private JournaledDataTree openTree(final Path directory) throws IOException {
+        final DataTree delegate = InMemoryDataTreeFactory.getInstance().create();
+        delegate.setSchemaContext(schemaContext);
+        return JournaledDataTree.open(delegate, directory, SNAPSHOT_INTERVAL);
+    }
+
+    private static void deleteDirectory(final Path directory) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path p : stream) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private static void initTestNode(final DataTree tree) throws DataValidationFailedException {
+        final DataTreeModification modification = tree.takeSnapshot().newModification();
+        modification.write(BenchmarkModel.TEST_PATH, ImmutableNodes.containerNode(BenchmarkModel.TEST_QNAME));
+        modification.write(BenchmarkModel.OUTER_LIST_PATH,
+            ImmutableNodes.mapNodeBuilder(BenchmarkModel.OUTER_LIST_QNAME).build());
+        modification.ready();
+        tree.validate(modification);
+        tree.commit(tree.prepare(modification));
+    }
+
+    private static void writeCommitPerEntry(final DataTree tree, final int count)
+            throws DataValidationFailedException {
+        for (int i = 0; i < count; ++i) {
+            final DataTreeModification modification = tree.takeSnapshot().newModification();
+            modification.write(OUTER_LIST_PATHS[i], OUTER_LIST_ITEMS[i]);
+            modification.ready();
+            tree.validate(modification);
+            tree.commit(tree.prepare(modification));
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void append1KCommitPerWriteBenchmark() throws Exception {
+        writeCommitPerEntry(datastore, OUTER_LIST_1K);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void recover10KCommitsBenchmark() throws Exception {
+        openTree(recoveryDirectory).close();
+    }
+}
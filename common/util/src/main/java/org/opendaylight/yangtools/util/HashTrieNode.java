@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+/**
+ * A node in a hash array mapped trie, as used by {@link ImmutableHashTrieMap} and {@link MutableHashTrieMap}. Nodes
+ * are never modified once they are shared, updates are performed by copying the path from the root to the affected
+ * node. Each node records the owner which created it. A modification carrying the same owner is allowed to update
+ * the node in place, as the node cannot have been observed by anyone else. This allows a {@link MutableHashTrieMap}
+ * to perform a batch of updates without copying the same path multiple times.
+ *
+ * <p>
+ * Keys and values are stored in a single array of alternating key/value slots. A null key indicates that the value
+ * slot holds a child node. Neither keys nor values are allowed to be null.
+ */
+abstract class HashTrieNode {
+    /**
+     * Holder for the previous value of a mapping affected by an update.
+     */
+    static final class Result {
+        Object oldValue;
+
+        Object reset() {
+            final Object ret = oldValue;
+            oldValue = null;
+            return ret;
+        }
+    }
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    static final HashTrieNode EMPTY = new BitmapNode(null, 0, EMPTY_ARRAY);
+
+    final Object owner;
+    Object[] array;
+
+    HashTrieNode(final Object owner, final Object[] array) {
+        this.owner = owner;
+        this.array = array;
+    }
+
+    static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    abstract Object get(int shift, int hash, Object key);
+
+    abstract HashTrieNode put(Object owner, int shift, int hash, Object key, Object value, Result result);
+
+    /**
+     * Remove a mapping.
+     *
+     * @return Updated node, or null if the node has become empty.
+     */
+    abstract HashTrieNode remove(Object owner, int shift, int hash, Object key, Result result);
+
+    abstract HashTrieNode copy(Object owner, Object[] array);
+
+    /**
+     * Return true if this node holds exactly one mapping and no child nodes, hence it can be inlined into its parent.
+     */
+    final boolean isSingleton() {
+        return array.length == 2 && array[0] != null;
+    }
+
+    final HashTrieNode editSlot(final Object owner, final int slot, final Object value) {
+        if (owner == this.owner) {
+            array[slot] = value;
+            return this;
+        }
+
+        final Object[] newArray = array.clone();
+        newArray[slot] = value;
+        return copy(owner, newArray);
+    }
+
+    final HashTrieNode editSlots(final Object owner, final int slot, final Object key, final Object value) {
+        if (owner == this.owner) {
+            array[slot] = key;
+            array[slot + 1] = value;
+            return this;
+        }
+
+        final Object[] newArray = array.clone();
+        newArray[slot] = key;
+        newArray[slot + 1] = value;
+        return copy(owner, newArray);
+    }
+
+    static HashTrieNode createNode(final Object owner, final int shift, final Object key1, final Object value1,
+            final int hash2, final Object key2, final Object value2) {
+        final int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(owner, hash1, new Object[] { key1, value1, key2, value2 });
+        }
+
+        final Result dummy = new Result();
+        return new BitmapNode(owner, 0, EMPTY_ARRAY).put(owner, shift, hash1, key1, value1, dummy)
+                .put(owner, shift, hash2, key2, value2, dummy);
+    }
+
+    private static final class BitmapNode extends HashTrieNode {
+        private int bitmap;
+
+        BitmapNode(final Object owner, final int bitmap, final Object[] array) {
+            super(owner, array);
+            this.bitmap = bitmap;
+        }
+
+        private static int bitpos(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        HashTrieNode copy(final Object owner, final Object[] array) {
+            return new BitmapNode(owner, bitmap, array);
+        }
+
+        @Override
+        Object get(final int shift, final int hash, final Object key) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final int slot = 2 * index(bit);
+            final Object k = array[slot];
+            final Object v = array[slot + 1];
+            if (k == null) {
+                return ((HashTrieNode) v).get(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? v : null;
+        }
+
+        @Override
+        HashTrieNode put(final Object owner, final int shift, final int hash, final Object key, final Object value,
+                final Result result) {
+            final int bit = bitpos(hash, shift);
+            final int idx = index(bit);
+            final int slot = 2 * idx;
+
+            if ((bitmap & bit) != 0) {
+                final Object k = array[slot];
+                final Object v = array[slot + 1];
+                if (k == null) {
+                    final HashTrieNode child = (HashTrieNode) v;
+                    final HashTrieNode newChild = child.put(owner, shift + BITS, hash, key, value, result);
+                    return newChild == child ? this : editSlot(owner, slot + 1, newChild);
+                }
+                if (key.equals(k)) {
+                    result.oldValue = v;
+                    return v == value ? this : editSlot(owner, slot + 1, value);
+                }
+
+                return editSlots(owner, slot, null, createNode(owner, shift + BITS, k, v, hash, key, value));
+            }
+
+            final int count = Integer.bitCount(bitmap);
+            final Object[] newArray = new Object[2 * (count + 1)];
+            System.arraycopy(array, 0, newArray, 0, slot);
+            newArray[slot] = key;
+            newArray[slot + 1] = value;
+            System.arraycopy(array, slot, newArray, slot + 2, 2 * (count - idx));
+
+            if (owner == this.owner) {
+                bitmap |= bit;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(owner, bitmap | bit, newArray);
+        }
+
+        @Override
+        HashTrieNode remove(final Object owner, final int shift, final int hash, final Object key,
+                final Result result) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int idx = index(bit);
+            final int slot = 2 * idx;
+            final Object k = array[slot];
+            final Object v = array[slot + 1];
+            if (k == null) {
+                final HashTrieNode child = (HashTrieNode) v;
+                final HashTrieNode newChild = child.remove(owner, shift + BITS, hash, key, result);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild == null) {
+                    return removeSlot(owner, bit, idx);
+                }
+                if (newChild.isSingleton()) {
+                    // Pull the last remaining mapping up, so we do not keep chains of single-entry nodes
+                    return editSlots(owner, slot, newChild.array[0], newChild.array[1]);
+                }
+                return editSlot(owner, slot + 1, newChild);
+            }
+            if (!key.equals(k)) {
+                return this;
+            }
+
+            result.oldValue = v;
+            return removeSlot(owner, bit, idx);
+        }
+
+        private HashTrieNode removeSlot(final Object owner, final int bit, final int idx) {
+            if (bitmap == bit) {
+                return null;
+            }
+
+            final int slot = 2 * idx;
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, slot);
+            System.arraycopy(array, slot + 2, newArray, slot, newArray.length - slot);
+
+            if (owner == this.owner) {
+                bitmap &= ~bit;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(owner, bitmap & ~bit, newArray);
+        }
+    }
+
+    private static final class CollisionNode extends HashTrieNode {
+        private final int hash;
+
+        CollisionNode(final Object owner, final int hash, final Object[] array) {
+            super(owner, array);
+            this.hash = hash;
+        }
+
+        private int findSlot(final Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        HashTrieNode copy(final Object owner, final Object[] array) {
+            return new CollisionNode(owner, hash, array);
+        }
+
+        @Override
+        Object get(final int shift, final int hash, final Object key) {
+            final int slot = findSlot(key);
+            return slot == -1 ? null : array[slot + 1];
+        }
+
+        @Override
+        HashTrieNode put(final Object owner, final int shift, final int hash, final Object key, final Object value,
+                final Result result) {
+            if (hash != this.hash) {
+                // Different hash: push this node one level down and continue from there
+                final int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(owner, bit, new Object[] { null, this }).put(owner, shift, hash, key, value,
+                    result);
+            }
+
+            final int slot = findSlot(key);
+            if (slot != -1) {
+                final Object v = array[slot + 1];
+                result.oldValue = v;
+                return v == value ? this : editSlot(owner, slot + 1, value);
+            }
+
+            final Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            if (owner == this.owner) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(owner, hash, newArray);
+        }
+
+        @Override
+        HashTrieNode remove(final Object owner, final int shift, final int hash, final Object key,
+                final Result result) {
+            final int slot = findSlot(key);
+            if (slot == -1) {
+                return this;
+            }
+
+            result.oldValue = array[slot + 1];
+            if (array.length == 2) {
+                return null;
+            }
+
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, slot);
+            System.arraycopy(array, slot + 2, newArray, slot, newArray.length - slot);
+            if (owner == this.owner) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(owner, hash, newArray);
+        }
+    }
+
+    /**
+     * Depth-first iterator over all mappings reachable from a node. It captures the arrays it traverses, hence it is
+     * not affected by subsequent path-copying updates.
+     */
+    static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        // 32-bit hash split into 5-bit chunks, plus a collision node at the bottom
+        private final Object[][] arrays = new Object[8][];
+        private final int[] offsets = new int[8];
+        private int depth;
+        private Entry<K, V> next;
+
+        EntryIterator(final HashTrieNode root) {
+            arrays[0] = root.array;
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (depth >= 0) {
+                final Object[] array = arrays[depth];
+                final int offset = offsets[depth];
+                if (offset == array.length) {
+                    arrays[depth--] = null;
+                    continue;
+                }
+
+                offsets[depth] = offset + 2;
+                final Object key = array[offset];
+                if (key != null) {
+                    next = new SimpleImmutableEntry<>((K) key, (V) array[offset + 1]);
+                    return;
+                }
+
+                ++depth;
+                arrays[depth] = ((HashTrieNode) array[offset + 1]).array;
+                offsets[depth] = 0;
+            }
+
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            final Entry<K, V> ret = next;
+            if (ret == null) {
+                throw new NoSuchElementException();
+            }
+
+            advance();
+            return ret;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+/**
+ * An unmodifiable map backed by a persistent hash array mapped trie. Conversion to a {@link MutableHashTrieMap} is
+ * an O(1) operation and the resulting map shares the trie with this map. Each subsequent modification of the mutable
+ * map copies only the path from the root to the affected mapping, which means the cost of an update is proportional
+ * to log32 of the map size, not to the size itself. This makes the map suitable for large collections which are
+ * repeatedly modified in small increments.
+ *
+ * <p>
+ * This map does not support null keys nor values.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+@Beta
+public final class ImmutableHashTrieMap<K, V> extends AbstractMap<K, V> implements UnmodifiableMapPhase<K, V> {
+    private static final ImmutableHashTrieMap<?, ?> EMPTY = new ImmutableHashTrieMap<>(HashTrieNode.EMPTY, 0);
+
+    private final HashTrieNode root;
+    private final int size;
+
+    ImmutableHashTrieMap(final HashTrieNode root, final int size) {
+        this.root = Preconditions.checkNotNull(root);
+        this.size = size;
+    }
+
+    /**
+     * Return an empty map.
+     *
+     * @return An empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> ImmutableHashTrieMap<K, V> of() {
+        return (ImmutableHashTrieMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Create an {@link ImmutableHashTrieMap} from a source map. If the source map is already an instance of this
+     * class, it is returned as is. If it is a {@link MutableHashTrieMap}, its trie is reused.
+     *
+     * @param m Input map, may not be null nor contain null keys or values
+     * @return An isolated immutable copy of the input map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> ImmutableHashTrieMap<K, V> copyOf(final Map<K, V> m) {
+        if (m instanceof ImmutableHashTrieMap) {
+            return (ImmutableHashTrieMap<K, V>) m;
+        }
+        if (m instanceof MutableHashTrieMap) {
+            return ((MutableHashTrieMap<K, V>) m).toUnmodifiableMap();
+        }
+
+        final MutableHashTrieMap<K, V> tmp = new MutableHashTrieMap<>();
+        tmp.putAll(m);
+        return tmp.toUnmodifiableMap();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        if (key == null) {
+            return null;
+        }
+        return (V) root.get(0, HashTrieNode.hash(key), key);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new HashTrieNode.EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public MutableHashTrieMap<K, V> toModifiableMap() {
+        return new MutableHashTrieMap<>(root, size);
+    }
+}
@@ -29,19 +29,25 @@ public final class MapAdaptor {
     public static final int DEFAULT_PERSIST_MIN_ITEMS = 50;
     public static final String PERSIST_MIN_ITEMS_PROP = "org.opendaylight.yangtools.util.mapadaptor.minpersist";
 
+    public static final boolean DEFAULT_USE_HASH_TRIE = true;
+    public static final String USE_HASH_TRIE_PROP = "org.opendaylight.yangtools.util.mapadaptor.hashtrie";
+
     private static final Logger LOG = LoggerFactory.getLogger(MapAdaptor.class);
     private static final MapAdaptor DEFAULT_INSTANCE;
 
     private final boolean useSingleton;
+    private final boolean useHashTrie;
     private final int persistMinItems;
     private final int copyMaxItems;
 
     static {
         DEFAULT_INSTANCE = new MapAdaptor(true,
                 getProperty(COPY_MAX_ITEMS_MAX_PROP, DEFAULT_COPY_MAX_ITEMS),
-                getProperty(PERSIST_MIN_ITEMS_PROP, DEFAULT_PERSIST_MIN_ITEMS));
-        LOG.debug("Configured HashMap/TrieMap cutoff at {}/{} entries",
-                DEFAULT_INSTANCE.persistMinItems, DEFAULT_INSTANCE.copyMaxItems);
+                getProperty(PERSIST_MIN_ITEMS_PROP, DEFAULT_PERSIST_MIN_ITEMS),
+                getBooleanProperty(USE_HASH_TRIE_PROP, DEFAULT_USE_HASH_TRIE));
+        LOG.debug("Configured HashMap/{} cutoff at {}/{} entries",
+                DEFAULT_INSTANCE.useHashTrie ? "HashTrieMap" : "TrieMap", DEFAULT_INSTANCE.persistMinItems,
+                DEFAULT_INSTANCE.copyMaxItems);
     }
 
     private static int getProperty(final String name, final int defaultValue) {
@@ -65,8 +71,22 @@ public final class MapAdaptor {
         return defaultValue;
     }
 
-    private MapAdaptor(final boolean useSingleton, final int copyMaxItems, final int persistMinItems) {
+    private static boolean getBooleanProperty(final String name, final boolean defaultValue) {
+        try {
+            final String p = System.getProperty(name);
+            if (p != null) {
+                return Boolean.parseBoolean(p);
+            }
+        } catch (Exception e) {
+            LOG.debug("Failed to get {}", name, e);
+        }
+        return defaultValue;
+    }
+
+    private MapAdaptor(final boolean useSingleton, final int copyMaxItems, final int persistMinItems,
+            final boolean useHashTrie) {
         this.useSingleton = useSingleton;
+        this.useHashTrie = useHashTrie;
         this.copyMaxItems = copyMaxItems;
         this.persistMinItems = persistMinItems;
     }
@@ -80,11 +100,36 @@ public final class MapAdaptor {
         return DEFAULT_INSTANCE;
     }
 
+    /**
+     * Return an instance with specified configuration, which uses a TrieMap as the persistent map. Unlike
+     * {@link #getDefaultInstance()}, this method does not default to {@link #DEFAULT_USE_HASH_TRIE}: it predates
+     * {@link ImmutableHashTrieMap} support and its callers expect the TrieMap-based maps it has always produced. Use
+     * {@link #getInstance(boolean, int, int, boolean)} to select the persistent map explicitly.
+     *
+     * @param useSingleton Use singleton maps for single-entry maps
+     * @param copyMaxItems Maximum number of items stored in a copy-on-write HashMap
+     * @param persistMinItems Minimum number of items retained in a persistent map
+     * @return A new instance
+     */
     public static MapAdaptor getInstance(final boolean useSingleton, final int copyMaxItems, final int persistMinItems) {
+        return getInstance(useSingleton, copyMaxItems, persistMinItems, false);
+    }
+
+    /**
+     * Return an instance with specified configuration.
+     *
+     * @param useSingleton Use singleton maps for single-entry maps
+     * @param copyMaxItems Maximum number of items stored in a copy-on-write HashMap
+     * @param persistMinItems Minimum number of items retained in a persistent map
+     * @param useHashTrie Use {@link ImmutableHashTrieMap} instead of a TrieMap as the persistent map
+     * @return A new instance
+     */
+    public static MapAdaptor getInstance(final boolean useSingleton, final int copyMaxItems, final int persistMinItems,
+            final boolean useHashTrie) {
         Preconditions.checkArgument(copyMaxItems >= 0, "copyMaxItems has to be a non-negative integer");
         Preconditions.checkArgument(persistMinItems >= 0, "persistMinItems has to be a positive integer");
         Preconditions.checkArgument(persistMinItems <= copyMaxItems, "persistMinItems must be less than or equal to copyMaxItems");
-        return new MapAdaptor(useSingleton, copyMaxItems, persistMinItems);
+        return new MapAdaptor(useSingleton, copyMaxItems, persistMinItems, useHashTrie);
     }
 
     /**
@@ -97,7 +142,7 @@ public final class MapAdaptor {
     public <K, V> Map<K, V> initialSnapshot(final int expectedSize) {
         Preconditions.checkArgument(expectedSize >= 0);
         if (expectedSize > persistMinItems) {
-            return new ReadWriteTrieMap<>();
+            return useHashTrie ? new MutableHashTrieMap<K, V>() : new ReadWriteTrieMap<K, V>();
         }
 
         if (expectedSize < 2) {
@@ -120,6 +165,9 @@ public final class MapAdaptor {
         if (input instanceof ReadOnlyTrieMap) {
             return ((ReadOnlyTrieMap<K, V>)input).toReadWrite();
         }
+        if (input instanceof ImmutableHashTrieMap) {
+            return ((ImmutableHashTrieMap<K, V>)input).toModifiableMap();
+        }
 
         LOG.trace("Converting input {} to a HashMap", input);
 
@@ -172,7 +220,7 @@ public final class MapAdaptor {
      * @return
      */
     public <K, V> Map<K, V> optimize(final Map<K, V> input) {
-        if (input instanceof ReadOnlyTrieMap) {
+        if (input instanceof ReadOnlyTrieMap || input instanceof ImmutableHashTrieMap) {
             LOG.warn("Optimizing read-only map {}", input);
         }
 
@@ -193,6 +241,9 @@ public final class MapAdaptor {
         if (input instanceof ReadWriteTrieMap && size >= persistMinItems) {
             return ((ReadWriteTrieMap<K, V>)input).toReadOnly();
         }
+        if (input instanceof MutableHashTrieMap && size >= persistMinItems) {
+            return ((MutableHashTrieMap<K, V>)input).toUnmodifiableMap();
+        }
 
         /*
          * If the user opted to use singleton maps, use them. Except for the case
@@ -220,6 +271,17 @@ public final class MapAdaptor {
             return ret;
         }
 
+        /*
+         * Favor isolation speed: use a persistent hash trie, which shares structure with its snapshots and performs
+         * path-copying on modification.
+         */
+        if (useHashTrie) {
+            LOG.trace("Copying input {} to a HashTrieMap ({} entries)", input, size);
+            final Map<K, V> ret = ImmutableHashTrieMap.copyOf(input);
+            LOG.trace("Read-only HashTrieMap is {}", ret);
+            return ret;
+        }
+
         /*
          * Favor isolation speed: use a TrieMap and perform snapshots
          *
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A mutable version of {@link ImmutableHashTrieMap}. Modifications are performed by path-copying, with nodes created
+ * by this map being updated in place until the map is converted to an immutable map via {@link #toUnmodifiableMap()},
+ * which is an O(1) operation. This makes a sequence of
+ * <code>
+ * ImmutableHashTrieMap&lt;K, V&gt; source;
+ * MutableHashTrieMap&lt;K, V&gt; mutable = source.toModifiableMap();
+ * mutable.put(key, value);
+ * ImmutableHashTrieMap&lt;K, V&gt; result = mutable.toUnmodifiableMap();
+ * </code>
+ * cost O(log32 n) time and space, with source and result sharing all but one path in the trie.
+ *
+ * <p>
+ * This map does not support null keys nor values.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+@Beta
+public final class MutableHashTrieMap<K, V> extends AbstractMap<K, V> implements ModifiableMapPhase<K, V> {
+    private final HashTrieNode.Result result = new HashTrieNode.Result();
+    private HashTrieNode root;
+    private Object owner;
+    private int size;
+    private transient int modCount;
+
+    public MutableHashTrieMap() {
+        this(HashTrieNode.EMPTY, 0);
+    }
+
+    MutableHashTrieMap(final HashTrieNode root, final int size) {
+        this.root = Preconditions.checkNotNull(root);
+        this.size = size;
+        this.owner = new Object();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        if (key == null) {
+            return null;
+        }
+        return (V) root.get(0, HashTrieNode.hash(key), key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(final K key, final V value) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(value);
+
+        root = root.put(owner, 0, HashTrieNode.hash(key), key, value, result);
+        final Object ret = result.reset();
+        if (ret == null) {
+            size++;
+            modCount++;
+        }
+        return (V) ret;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(final Object key) {
+        if (key == null) {
+            return null;
+        }
+
+        final HashTrieNode newRoot = root.remove(owner, 0, HashTrieNode.hash(key), key, result);
+        root = newRoot == null ? HashTrieNode.EMPTY : newRoot;
+        final Object ret = result.reset();
+        if (ret != null) {
+            size--;
+            modCount++;
+        }
+        return (V) ret;
+    }
+
+    @Override
+    public void clear() {
+        if (size != 0) {
+            root = HashTrieNode.EMPTY;
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public ImmutableHashTrieMap<K, V> toUnmodifiableMap() {
+        // Any further modifications need to copy the nodes we are handing out
+        owner = new Object();
+        return new ImmutableHashTrieMap<>(root, size);
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            // Detach current nodes from modification, so that in-place updates do not affect the iterator
+            owner = new Object();
+
+            final Iterator<Entry<K, V>> it = new HashTrieNode.EntryIterator<>(root);
+            return new Iterator<Entry<K, V>>() {
+                private int expectedModCount = modCount;
+                private Entry<K, V> current;
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    current = it.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    Preconditions.checkState(current != null);
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+
+                    // Removal path-copies, as the iterator has detached the nodes
+                    MutableHashTrieMap.this.remove(current.getKey());
+                    expectedModCount = modCount;
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
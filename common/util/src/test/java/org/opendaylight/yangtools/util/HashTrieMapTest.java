@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import org.junit.Test;
+
+public class HashTrieMapTest {
+    /**
+     * Key with a controllable hash code, so we can exercise collisions.
+     */
+    private static final class Key {
+        private final int hash;
+        private final int id;
+
+        Key(final int hash, final int id) {
+            this.hash = hash;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && ((Key) obj).hash == hash && ((Key) obj).id == id;
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final ImmutableHashTrieMap<String, String> map = ImmutableHashTrieMap.of();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("a"));
+        assertNull(map.get(null));
+        assertFalse(map.entrySet().iterator().hasNext());
+        assertSame(map, ImmutableHashTrieMap.copyOf(map));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        final MutableHashTrieMap<Integer, Integer> map = new MutableHashTrieMap<>();
+
+        for (int i = 0; i < 20000; ++i) {
+            final Integer key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        final ImmutableHashTrieMap<Integer, Integer> immutable = map.toUnmodifiableMap();
+        assertEquals(expected, immutable);
+        for (Integer key : expected.keySet()) {
+            assertTrue(immutable.containsKey(key));
+        }
+    }
+
+    @Test
+    public void testSnapshotIsolation() {
+        final MutableHashTrieMap<Integer, String> mutable = new MutableHashTrieMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            mutable.put(i, String.valueOf(i));
+        }
+
+        final ImmutableHashTrieMap<Integer, String> first = mutable.toUnmodifiableMap();
+        mutable.put(1000, "1000");
+        mutable.remove(0);
+        mutable.put(1, "one");
+        assertEquals(1000, first.size());
+        assertEquals("0", first.get(0));
+        assertEquals("1", first.get(1));
+        assertNull(first.get(1000));
+
+        final MutableHashTrieMap<Integer, String> second = first.toModifiableMap();
+        final MutableHashTrieMap<Integer, String> third = first.toModifiableMap();
+        second.remove(5);
+        third.put(5, "five");
+        assertEquals(999, second.size());
+        assertEquals(1000, third.size());
+        assertEquals("5", first.get(5));
+        assertNull(second.get(5));
+        assertEquals("five", third.get(5));
+
+        final ImmutableHashTrieMap<Integer, String> copy = ImmutableHashTrieMap.copyOf(mutable);
+        assertEquals(mutable, copy);
+        assertEquals(1000, copy.size());
+    }
+
+    @Test
+    public void testCollisions() {
+        final MutableHashTrieMap<Key, Integer> map = new MutableHashTrieMap<>();
+        for (int i = 0; i < 10; ++i) {
+            map.put(new Key(7, i), i);
+            // Shares the lowest 5 bits with the colliding keys, but not the entire hash
+            map.put(new Key(7 + (i + 1) * 32, i), i);
+        }
+        assertEquals(20, map.size());
+
+        final ImmutableHashTrieMap<Key, Integer> snapshot = map.toUnmodifiableMap();
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(Integer.valueOf(i), map.get(new Key(7, i)));
+            assertEquals(Integer.valueOf(i), map.remove(new Key(7, i)));
+            assertNull(map.get(new Key(7, i)));
+        }
+
+        assertEquals(10, map.size());
+        assertEquals(20, snapshot.size());
+        assertEquals(Integer.valueOf(3), snapshot.get(new Key(7, 3)));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        final MutableHashTrieMap<Integer, Integer> map = new MutableHashTrieMap<>();
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, i);
+        }
+
+        final Iterator<Entry<Integer, Integer>> it = map.entrySet().iterator();
+        int seen = 0;
+        while (it.hasNext()) {
+            final Entry<Integer, Integer> e = it.next();
+            ++seen;
+            if (e.getKey() % 2 == 0) {
+                it.remove();
+            }
+        }
+
+        assertEquals(100, seen);
+        assertEquals(50, map.size());
+        assertNull(map.get(2));
+        assertEquals(Integer.valueOf(3), map.get(3));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorConcurrentModification() {
+        final MutableHashTrieMap<Integer, Integer> map = new MutableHashTrieMap<>();
+        map.put(1, 1);
+        map.put(2, 2);
+
+        final Iterator<Entry<Integer, Integer>> it = map.entrySet().iterator();
+        it.next();
+        map.put(3, 3);
+        it.next();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullValue() {
+        new MutableHashTrieMap<String, String>().put("a", null);
+    }
+}
@@ -144,4 +144,40 @@ public class MapAdaptorTest {
         assertEquals(HashMap.class, opt2.getClass());
         assertEquals(4, opt2.size());
     }
+
+    @Test
+    public void testHashTrie() {
+        final MapAdaptor hashTrieAdaptor = MapAdaptor.getInstance(true, 10, 5, true);
+        final Map<String, String> input = new TreeMap<>();
+        for (char c = 'a'; c <= 'z'; ++c) {
+            final String s = String.valueOf(c);
+            input.put(s, s);
+        }
+
+        final Map<String, String> opt1 = hashTrieAdaptor.optimize(input);
+        assertEquals(input, opt1);
+        assertEquals(ImmutableHashTrieMap.class, opt1.getClass());
+
+        final Map<String, String> snap1 = hashTrieAdaptor.takeSnapshot(opt1);
+        assertEquals(MutableHashTrieMap.class, snap1.getClass());
+        snap1.remove("a");
+        assertEquals(25, snap1.size());
+        assertEquals(26, opt1.size());
+
+        // Still above persistMinItems: retain the trie
+        final Map<String, String> opt2 = hashTrieAdaptor.optimize(snap1);
+        assertEquals(ImmutableHashTrieMap.class, opt2.getClass());
+        assertEquals(snap1, opt2);
+
+        final Map<String, String> snap2 = hashTrieAdaptor.takeSnapshot(opt2);
+        for (char c = 'e'; c <= 'z'; ++c) {
+            snap2.remove(String.valueOf(c));
+        }
+
+        // 3 elements: should revert to HashMap
+        final Map<String, String> opt3 = hashTrieAdaptor.optimize(snap2);
+        assertEquals(HashMap.class, opt3.getClass());
+        assertEquals(3, opt3.size());
+        assertEquals(25, opt2.size());
+    }
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Leaf node holding an integral value, which can be accessed without boxing. Implementations may store the value
+ * in a primitive field, in which case {@link #getValue()} boxes it on each invocation.
+ *
+ * @param <T> Value type
+ */
+@Beta
+public interface IntegralLeafNode<T extends Number> extends LeafNode<T> {
+    /**
+     * Returns value of this leaf node as a primitive long. Values of type uint64, which are represented as
+     * {@link java.math.BigInteger}, are returned as their low 64 bits and need to be interpreted as unsigned.
+     *
+     * @return Value of this leaf node
+     */
+    long longValue();
+}
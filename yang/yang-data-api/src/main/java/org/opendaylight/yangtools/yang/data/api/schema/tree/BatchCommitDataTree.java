@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link DataTree} which can commit multiple modifications as a single group, publishing their combined result
+ * at once.
+ */
+@Beta
+public interface BatchCommitDataTree extends DataTree {
+    /**
+     * Validate, prepare and commit a batch of sealed modifications as a single group. Modifications are chained in
+     * the order specified, each of them being validated against the tip produced by the preceding successful ones.
+     * Modifications which fail validation are skipped and do not affect subsequent modifications. The resulting state
+     * is published atomically, so the tree transitions directly from its current state to the state with all
+     * successful modifications applied.
+     *
+     * @param modifications Sealed modifications, in commit order
+     * @return Results of individual modifications, in the same order as the modifications
+     * @throws IllegalArgumentException if any of the modifications is not sealed or was not produced by this tree
+     */
+    @Nonnull List<DataTreeCommitResult> commitBatch(@Nonnull List<? extends DataTreeModification> modifications);
+}
@@ -11,6 +11,7 @@ import com.google.common.annotations.Beta;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 
 /**
  * A {@link DataTreeModification} which allows creation of a {@link DataTreeModificationCursor}.
@@ -29,4 +30,18 @@ public interface CursorAwareDataTreeModification extends DataTreeModification, C
      */
     @Override
     @Nullable DataTreeModificationCursor createCursor(@Nonnull YangInstanceIdentifier path);
+
+    /**
+     * Create a new {@link NormalizedNodeStreamWriter} which writes the nodes it receives as children of the node at
+     * specified path. Data is written in chunks as it is received, so that the complete data does not need to be
+     * built before it is written. In particular, entries of maps and leaf-sets are written and verified one by one.
+     * The writer uses a cursor, hence the same restrictions apply as to {@link #createCursor(YangInstanceIdentifier)}
+     * until the writer is closed.
+     *
+     * @param path Path at which the writer is to be anchored
+     * @return A new writer, or null if the path does not exist.
+     * @throws IllegalStateException if there is another cursor currently open,
+     *                               or the modification is already {@link #ready()}.
+     */
+    @Nullable NormalizedNodeStreamWriter createStreamWriter(@Nonnull YangInstanceIdentifier path);
 }
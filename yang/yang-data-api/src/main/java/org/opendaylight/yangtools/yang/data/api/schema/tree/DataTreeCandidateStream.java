@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * A single-use stream of changes contained in a {@link DataTreeCandidate}. Unlike walking the candidate through
+ * {@link DataTreeCandidateNode#getChildNodes()}, the stream does not keep references to nodes it has already
+ * reported, so a subtree becomes eligible for garbage collection as soon as it has been consumed. For this to be
+ * effective, the caller must not retain the candidate itself once it has created the stream.
+ *
+ * <p>
+ * The stream can be consumed exactly once, via {@link #consume(DataTreeCandidateVisitor)}.
+ */
+@Beta
+@NotThreadSafe
+public final class DataTreeCandidateStream {
+    private static final class Frame {
+        final Frame parent;
+        final Object[] children;
+        int offset;
+
+        Frame(final Frame parent, final Object[] children) {
+            this.parent = parent;
+            this.children = children;
+        }
+
+        boolean hasNext() {
+            return offset < children.length;
+        }
+
+        DataTreeCandidateNode next() {
+            final int local = offset++;
+            final DataTreeCandidateNode ret = (DataTreeCandidateNode) children[local];
+
+            // Forget the child, so it can be collected as soon as its subtree has been processed
+            children[local] = null;
+            return ret;
+        }
+    }
+
+    private final YangInstanceIdentifier rootPath;
+    private DataTreeCandidateNode rootNode;
+
+    private DataTreeCandidateStream(final YangInstanceIdentifier rootPath, final DataTreeCandidateNode rootNode) {
+        this.rootPath = Preconditions.checkNotNull(rootPath);
+        this.rootNode = Preconditions.checkNotNull(rootNode);
+    }
+
+    /**
+     * Create a new stream of changes in a candidate.
+     *
+     * @param candidate Data tree candidate
+     * @return A new stream.
+     */
+    public static DataTreeCandidateStream create(@Nonnull final DataTreeCandidate candidate) {
+        return new DataTreeCandidateStream(candidate.getRootPath(), candidate.getRootNode());
+    }
+
+    /**
+     * Return the path of the candidate's root node.
+     *
+     * @return Root node path.
+     */
+    @Nonnull public YangInstanceIdentifier getRootPath() {
+        return rootPath;
+    }
+
+    /**
+     * Check whether this stream has already been consumed.
+     *
+     * @return True if this stream has been consumed.
+     */
+    public boolean isConsumed() {
+        return rootNode == null;
+    }
+
+    /**
+     * Report all changes in the stream to a visitor, releasing them as they are reported.
+     *
+     * @param visitor Visitor to invoke
+     * @throws IllegalStateException if the stream has already been consumed
+     */
+    public void consume(@Nonnull final DataTreeCandidateVisitor visitor) {
+        Preconditions.checkNotNull(visitor);
+        Preconditions.checkState(rootNode != null, "Stream %s has already been consumed", this);
+
+        // Do not keep the root in a local variable, it would be retained for the duration of the traversal
+        Frame frame = processNode(null, takeRootNode(), visitor);
+        while (frame != null) {
+            if (frame.hasNext()) {
+                frame = processNode(frame, frame.next(), visitor);
+            } else {
+                visitor.exit();
+                frame = frame.parent;
+            }
+        }
+    }
+
+    private DataTreeCandidateNode takeRootNode() {
+        final DataTreeCandidateNode ret = rootNode;
+        rootNode = null;
+        return ret;
+    }
+
+    private static Frame processNode(@Nullable final Frame parent, final DataTreeCandidateNode node,
+            final DataTreeCandidateVisitor visitor) {
+        switch (node.getModificationType()) {
+        case APPEARED:
+        case DISAPPEARED:
+        case SUBTREE_MODIFIED:
+            if (visitor.enter(node)) {
+                /*
+                 * Take a private copy of the children, we do not want to hold on to the node itself: child
+                 * collections are typically views, which retain the node and all of its subtree.
+                 */
+                return new Frame(parent, node.getChildNodes().toArray());
+            }
+            return parent;
+        case DELETE:
+        case WRITE:
+            visitor.visit(node);
+            return parent;
+        case UNMODIFIED:
+            return parent;
+        default:
+            throw new IllegalArgumentException("Unsupported modification " + node.getModificationType());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("rootPath", rootPath).add("consumed", isConsumed()).toString();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import javax.annotation.Nonnull;
+
+/**
+ * Callback interface for consuming a {@link DataTreeCandidateStream}. Nodes passed to the methods of this interface
+ * are valid only for the duration of the call and must not be retained by the implementation, so the stream can
+ * release them as soon as they have been processed. Unmodified nodes are not reported.
+ *
+ * <p>
+ * The first callback always pertains to the candidate's root node, whose identifier is not available. Its location
+ * is given by {@link DataTreeCandidateStream#getRootPath()}.
+ */
+@Beta
+public interface DataTreeCandidateVisitor {
+    /**
+     * Invoked for a node whose children have been modified, which is to say its modification type is
+     * {@link ModificationType#SUBTREE_MODIFIED}, {@link ModificationType#APPEARED} or
+     * {@link ModificationType#DISAPPEARED}. If this method returns true, children of the node are reported next,
+     * followed by an invocation of {@link #exit()}.
+     *
+     * @param node Modified node
+     * @return True if the node's children should be visited, false if they should be skipped.
+     */
+    boolean enter(@Nonnull DataTreeCandidateNode node);
+
+    /**
+     * Invoked when all children of the last node for which {@link #enter(DataTreeCandidateNode)} returned true have
+     * been reported.
+     */
+    void exit();
+
+    /**
+     * Invoked for a node which has been replaced or removed, which is to say its modification type is
+     * {@link ModificationType#WRITE} or {@link ModificationType#DELETE}. Children of such nodes are not reported.
+     *
+     * @param node Modified node
+     */
+    void visit(@Nonnull DataTreeCandidateNode node);
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * Outcome of a single modification committed as part of a batch via
+ * {@link BatchCommitDataTree#commitBatch(java.util.List)}. A modification has either been committed, in which case
+ * the corresponding {@link DataTreeCandidate} is available, or it has failed validation, in which case the failure
+ * cause is available.
+ */
+@Beta
+public final class DataTreeCommitResult implements Immutable {
+    private final DataTreeModification modification;
+    private final DataTreeCandidate candidate;
+    private final DataValidationFailedException failure;
+
+    private DataTreeCommitResult(final DataTreeModification modification, final DataTreeCandidate candidate,
+            final DataValidationFailedException failure) {
+        this.modification = Preconditions.checkNotNull(modification);
+        this.candidate = candidate;
+        this.failure = failure;
+    }
+
+    public static DataTreeCommitResult success(final DataTreeModification modification,
+            final DataTreeCandidate candidate) {
+        return new DataTreeCommitResult(modification, Preconditions.checkNotNull(candidate), null);
+    }
+
+    public static DataTreeCommitResult failure(final DataTreeModification modification,
+            final DataValidationFailedException failure) {
+        return new DataTreeCommitResult(modification, null, Preconditions.checkNotNull(failure));
+    }
+
+    /**
+     * Return the modification this result pertains to.
+     *
+     * @return Data tree modification.
+     */
+    @Nonnull public DataTreeModification getModification() {
+        return modification;
+    }
+
+    /**
+     * Check whether the modification has been committed.
+     *
+     * @return True if the modification has been committed.
+     */
+    public boolean isSuccess() {
+        return candidate != null;
+    }
+
+    /**
+     * Return the candidate which has been committed for the modification.
+     *
+     * @return Committed candidate, or absent if the modification has failed.
+     */
+    @Nonnull public Optional<DataTreeCandidate> getCandidate() {
+        return Optional.fromNullable(candidate);
+    }
+
+    /**
+     * Return the reason why the modification has not been committed.
+     *
+     * @return Validation failure, or absent if the modification has been committed.
+     */
+    @Nonnull public Optional<DataValidationFailedException> getFailure() {
+        return Optional.fromNullable(failure);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues().add("modification", modification)
+                .add("candidate", candidate).add("failure", failure).toString();
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.ColdTreeNodeStorage;
+
+/**
+ * DataTree configuration class. It holds the settings which are used when a {@link DataTree} instance is created
+ * by a {@link DataTreeFactory} implementation which supports it. Implementations are free to ignore any settings
+ * beyond the tree type and root path, which are not applicable to them.
+ *
+ * <p>
+ * Instances are immutable and can be shared across multiple data trees. Use {@link #builder(TreeType)} to create
+ * a new instance.
+ */
+@Beta
+public final class DataTreeConfiguration implements Immutable {
+    public static final DataTreeConfiguration DEFAULT_CONFIGURATION = new Builder(TreeType.CONFIGURATION).build();
+    public static final DataTreeConfiguration DEFAULT_OPERATIONAL = new Builder(TreeType.OPERATIONAL).build();
+
+    private final YangInstanceIdentifier rootPath;
+    private final TreeType treeType;
+    private final ForkJoinPool parallelPool;
+    private final int parallelThreshold;
+    private final ImmutableSetMultimap<YangInstanceIdentifier, QName> leafIndexes;
+    private final boolean candidateRebase;
+    private final ColdTreeNodeStorage coldStorage;
+    private final ImmutableSet<QName> coldNodes;
+    private final int readCacheSize;
+    private final int snapshotHistorySize;
+    private final boolean statisticsEnabled;
+    private final boolean containerInterningEnabled;
+
+    DataTreeConfiguration(final Builder builder) {
+        this.rootPath = builder.rootPath;
+        this.treeType = builder.treeType;
+        this.parallelPool = builder.parallelPool;
+        this.parallelThreshold = builder.parallelThreshold;
+        this.leafIndexes = builder.leafIndexes.build();
+        this.candidateRebase = builder.candidateRebase;
+        this.coldStorage = builder.coldStorage;
+        this.coldNodes = builder.coldNodes.build();
+        this.readCacheSize = builder.readCacheSize;
+        this.snapshotHistorySize = builder.snapshotHistorySize;
+        this.statisticsEnabled = builder.statisticsEnabled;
+        this.containerInterningEnabled = builder.containerInterningEnabled;
+    }
+
+    /**
+     * Return the type of the data tree.
+     *
+     * @return Tree type.
+     */
+    @Nonnull public TreeType getTreeType() {
+        return treeType;
+    }
+
+    /**
+     * Return the path at which the data tree is rooted.
+     *
+     * @return Root path.
+     */
+    @Nonnull public YangInstanceIdentifier getRootPath() {
+        return rootPath;
+    }
+
+    /**
+     * Return the pool which should be used to process independent child modifications in parallel. If this method
+     * returns null, all processing happens in the calling thread.
+     *
+     * @return Pool for parallel processing, or null if parallel processing is disabled.
+     */
+    @Nullable public ForkJoinPool getParallelPool() {
+        return parallelPool;
+    }
+
+    /**
+     * Return the minimum number of modified children a single node has to have before they are processed in
+     * parallel. This setting is ignored if {@link #getParallelPool()} returns null.
+     *
+     * @return Minimum number of modified children, always positive.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Check whether the specified number of child modifications should be processed in parallel.
+     *
+     * @param childCount Number of modified children
+     * @return True if the children should be processed in parallel.
+     */
+    public boolean isParallel(final int childCount) {
+        return parallelPool != null && childCount >= parallelThreshold;
+    }
+
+    /**
+     * Return the secondary indexes which should be maintained by the data tree. Each entry maps the path of a keyed
+     * list to the name of a leaf, whose values should be indexed across all entries of that list.
+     *
+     * @return Indexed leaves by list path, empty if no indexes should be maintained.
+     */
+    @Nonnull public ImmutableSetMultimap<YangInstanceIdentifier, QName> getLeafIndexes() {
+        return leafIndexes;
+    }
+
+    /**
+     * Check whether a prepared candidate, whose base is no longer the current state of the data tree, should be
+     * re-applied on top of the current state when it is committed. If this method returns false, committing such
+     * a candidate fails.
+     *
+     * @return True if stale candidates should be rebased.
+     */
+    public boolean isCandidateRebaseAllowed() {
+        return candidateRebase;
+    }
+
+    /**
+     * Return the storage which should hold rarely-accessed subtrees outside of the heap. If this method returns
+     * null, all data is kept on the heap.
+     *
+     * @return Cold node storage, or null if cold storage is disabled.
+     */
+    @Nullable public ColdTreeNodeStorage getColdStorage() {
+        return coldStorage;
+    }
+
+    /**
+     * Return the names of schema nodes, whose data should be kept in {@link #getColdStorage()}. This set is
+     * empty if cold storage is disabled.
+     *
+     * @return Names of cold schema nodes.
+     */
+    @Nonnull public ImmutableSet<QName> getColdNodes() {
+        return coldNodes;
+    }
+
+    /**
+     * Return the maximum number of paths whose lookup results should be cached across snapshots of the data tree.
+     * Zero indicates the cache is disabled.
+     *
+     * @return Maximum number of cached paths, non-negative.
+     */
+    public int getReadCacheSize() {
+        return readCacheSize;
+    }
+
+    /**
+     * Return the number of past states of the data tree which should be retained for access through
+     * {@link VersionedDataTree#takeSnapshot(long)}. Zero indicates no past states are retained.
+     *
+     * @return Number of retained states, non-negative.
+     */
+    public int getSnapshotHistorySize() {
+        return snapshotHistorySize;
+    }
+
+    /**
+     * Check whether the data tree should collect {@link DataTreeStatistics}.
+     *
+     * @return True if statistics should be collected.
+     */
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * Check whether the data tree should share instances of structurally equal containers and list entries.
+     *
+     * @return True if container nodes should be interned.
+     */
+    public boolean isContainerInterningEnabled() {
+        return containerInterningEnabled;
+    }
+
+    /**
+     * Return the default configuration for specified tree type.
+     *
+     * @param treeType Tree type
+     * @return Default configuration for the tree type.
+     */
+    public static DataTreeConfiguration getDefault(final TreeType treeType) {
+        Preconditions.checkNotNull(treeType);
+        switch (treeType) {
+        case CONFIGURATION:
+            return DEFAULT_CONFIGURATION;
+        case OPERATIONAL:
+            return DEFAULT_OPERATIONAL;
+        default:
+            return new Builder(treeType).build();
+        }
+    }
+
+    /**
+     * Create a new builder for a data tree of specified type.
+     *
+     * @param treeType Tree type
+     * @return A new builder.
+     */
+    public static Builder builder(final TreeType treeType) {
+        return new Builder(treeType);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues().add("type", treeType).add("root", rootPath)
+                .add("parallelPool", parallelPool).add("parallelThreshold", parallelThreshold)
+                .add("leafIndexes", leafIndexes.isEmpty() ? null : leafIndexes).add("candidateRebase", candidateRebase)
+                .add("coldStorage", coldStorage).add("coldNodes", coldNodes.isEmpty() ? null : coldNodes)
+                .add("readCacheSize", readCacheSize == 0 ? null : readCacheSize)
+                .add("snapshotHistorySize", snapshotHistorySize == 0 ? null : snapshotHistorySize)
+                .add("statisticsEnabled", statisticsEnabled)
+                .add("containerInterningEnabled", containerInterningEnabled).toString();
+    }
+
+    public static final class Builder implements org.opendaylight.yangtools.concepts.Builder<DataTreeConfiguration> {
+        /**
+         * Default number of modified children which trigger parallel processing.
+         */
+        public static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
+        private final TreeType treeType;
+        private YangInstanceIdentifier rootPath = YangInstanceIdentifier.EMPTY;
+        private ForkJoinPool parallelPool;
+        private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        private final ImmutableSetMultimap.Builder<YangInstanceIdentifier, QName> leafIndexes =
+                ImmutableSetMultimap.builder();
+        private boolean candidateRebase;
+        private ColdTreeNodeStorage coldStorage;
+        private final ImmutableSet.Builder<QName> coldNodes = ImmutableSet.builder();
+        private int readCacheSize;
+        private int snapshotHistorySize;
+        private boolean statisticsEnabled;
+        private boolean containerInterningEnabled;
+
+        Builder(final TreeType treeType) {
+            this.treeType = Preconditions.checkNotNull(treeType);
+        }
+
+        public Builder setRootPath(@Nonnull final YangInstanceIdentifier rootPath) {
+            this.rootPath = rootPath.toOptimized();
+            return this;
+        }
+
+        /**
+         * Enable parallel processing of independent child modifications in the specified pool. Passing null disables
+         * parallel processing, which is the default.
+         *
+         * @param parallelPool Pool to use, or null
+         * @return This builder
+         */
+        public Builder setParallelPool(@Nullable final ForkJoinPool parallelPool) {
+            this.parallelPool = parallelPool;
+            return this;
+        }
+
+        /**
+         * Set the minimum number of modified children which trigger parallel processing.
+         *
+         * @param parallelThreshold Minimum number of children
+         * @return This builder
+         * @throws IllegalArgumentException if parallelThreshold is not positive
+         */
+        public Builder setParallelThreshold(final int parallelThreshold) {
+            Preconditions.checkArgument(parallelThreshold > 0, "Threshold %s is not positive", parallelThreshold);
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        /**
+         * Request a secondary index of a leaf in a keyed list. The index maps values of the leaf to identifiers of
+         * list entries which contain that value. Only leaves which are direct children of list entries can be
+         * indexed.
+         *
+         * @param listPath Path to the list, relative to the root of the data tree
+         * @param leafName Name of the indexed leaf
+         * @return This builder
+         */
+        public Builder addLeafIndex(@Nonnull final YangInstanceIdentifier listPath, @Nonnull final QName leafName) {
+            leafIndexes.put(listPath.toOptimized(), leafName);
+            return this;
+        }
+
+        /**
+         * Allow stale candidates to be rebased onto the current state of the data tree when they are committed.
+         * Rebasing succeeds only if none of the nodes touched by the candidate's modification have been replaced
+         * in the meantime. A successfully rebased candidate reflects the state it has been applied to. This is
+         * disabled by default.
+         *
+         * @param candidateRebase True if stale candidates should be rebased
+         * @return This builder
+         */
+        public Builder setCandidateRebaseAllowed(final boolean candidateRebase) {
+            this.candidateRebase = candidateRebase;
+            return this;
+        }
+
+        /**
+         * Set the storage used for cold subtrees. Passing null disables cold storage, which is the default.
+         *
+         * @param coldStorage Storage to use, or null
+         * @return This builder
+         */
+        public Builder setColdStorage(@Nullable final ColdTreeNodeStorage coldStorage) {
+            this.coldStorage = coldStorage;
+            return this;
+        }
+
+        /**
+         * Request data of a container or list to be kept in cold storage. Each instance of the node is held in
+         * serialized form and materialized when it is read, and it is serialized again each time it is modified.
+         * This is useful for large subtrees which are rarely accessed and modified in bulk, such as historical
+         * statistics.
+         *
+         * @param nodeName Name of the schema node
+         * @return This builder
+         */
+        public Builder addColdNode(@Nonnull final QName nodeName) {
+            coldNodes.add(nodeName);
+            return this;
+        }
+
+        /**
+         * Set the maximum number of paths whose lookup results are cached across snapshots. A cached result is
+         * reused by a later snapshot as long as one of the subtrees on its path has not been modified since, so that
+         * repeated reads of deep paths in unchanged subtrees do not have to traverse the whole path. The least
+         * recently used paths are evicted once the cache is full. Zero disables the cache, which is the default.
+         *
+         * @param readCacheSize Maximum number of cached paths
+         * @return This builder
+         * @throws IllegalArgumentException if readCacheSize is negative
+         */
+        public Builder setReadCacheSize(final int readCacheSize) {
+            Preconditions.checkArgument(readCacheSize >= 0, "Cache size %s is negative", readCacheSize);
+            this.readCacheSize = readCacheSize;
+            return this;
+        }
+
+        /**
+         * Set the number of past states retained by the data tree. Each commit which changes the tree produces
+         * a new state, the most recent states can then be accessed through
+         * {@link VersionedDataTree#takeSnapshot(long)}.
+         * Retained states share all unmodified data with the current state, hence their cost is proportional to
+         * the amount of data modified since. Zero disables retention, which is the default.
+         *
+         * @param snapshotHistorySize Number of retained states
+         * @return This builder
+         * @throws IllegalArgumentException if snapshotHistorySize is negative
+         */
+        public Builder setSnapshotHistorySize(final int snapshotHistorySize) {
+            Preconditions.checkArgument(snapshotHistorySize >= 0, "History size %s is negative",
+                snapshotHistorySize);
+            this.snapshotHistorySize = snapshotHistorySize;
+            return this;
+        }
+
+        /**
+         * Enable collection of {@link DataTreeStatistics}, available through
+         * {@link InstrumentedDataTree#getStatistics()}. Collection adds timing calls and contended counter updates to
+         * each processing phase, hence it is disabled by default.
+         *
+         * @param statisticsEnabled True if statistics should be collected
+         * @return This builder
+         */
+        public Builder setStatisticsEnabled(final boolean statisticsEnabled) {
+            this.statisticsEnabled = statisticsEnabled;
+            return this;
+        }
+
+        /**
+         * Enable sharing of structurally equal containers and list entries committed into the data tree. This saves
+         * memory when the data contains many identical subtrees, at the cost of hashing each written container and
+         * each modified list entry, and an interner entry for each retained one, hence it is disabled by default.
+         * Structural containers rebuilt above modified nodes, including the tree root, are not interned.
+         *
+         * @param containerInterningEnabled True if container nodes should be interned
+         * @return This builder
+         */
+        public Builder setContainerInterningEnabled(final boolean containerInterningEnabled) {
+            this.containerInterningEnabled = containerInterningEnabled;
+            return this;
+        }
+
+        @Override
+        public DataTreeConfiguration build() {
+            Preconditions.checkState(coldStorage != null || coldNodes.build().isEmpty(),
+                "Cold nodes require cold storage to be set");
+            return new DataTreeConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+
+/**
+ * A depth-first, pre-order traversal of a subtree of a {@link DataTreeSnapshot}, intended for bulk export of large
+ * amounts of data. Unlike {@link DataTreeSnapshotCursor}, it does not allocate path or {@link com.google.common.base.Optional}
+ * objects for each visited node.
+ *
+ * <p>
+ * The walker is positioned before the first node when it is created. Each invocation of {@link #next()} moves it to
+ * the next node. Any state returned by the walker, specifically the list returned from {@link #getPath()}, is valid
+ * only until the next move. Users who need to retain the path need to copy it.
+ */
+@Beta
+@NotThreadSafe
+public interface DataTreeSnapshotWalker extends AutoCloseable {
+    /**
+     * Return the path at which the traversal started.
+     *
+     * @return Traversal root path
+     */
+    @Nonnull YangInstanceIdentifier getRootPath();
+
+    /**
+     * Move to the next node. If the current node is a {@link NormalizedNodeContainer} and {@link #skipChildren()}
+     * has not been invoked, the next node is its first child. Otherwise it is the next sibling of the current node
+     * or of its closest ancestor which has one.
+     *
+     * @return True if the walker has moved to a node, false if the traversal is complete.
+     * @throws IllegalStateException if this walker has been closed
+     */
+    boolean next();
+
+    /**
+     * Do not descend into the children of the current node on the next move.
+     *
+     * @throws IllegalStateException if the walker is not positioned on a node
+     */
+    void skipChildren();
+
+    /**
+     * Return the current node.
+     *
+     * @return Current node
+     * @throws IllegalStateException if the walker is not positioned on a node
+     */
+    @Nonnull NormalizedNode<?, ?> getNode();
+
+    /**
+     * Return the depth of the current node relative to the traversal root. The root itself is at depth 0.
+     *
+     * @return Current depth
+     * @throws IllegalStateException if the walker is not positioned on a node
+     */
+    int getDepth();
+
+    /**
+     * Return the path of the current node relative to the traversal root, as a live view. The returned list is
+     * reused and its contents change as the walker moves. Its size is equal to {@link #getDepth()}.
+     *
+     * @return Path view, valid until the next move
+     * @throws IllegalStateException if the walker is not positioned on a node
+     */
+    @Nonnull List<PathArgument> getPath();
+
+    /**
+     * Close this walker, releasing references to data it holds. Attempting any further operations on the walker
+     * will lead to undefined behavior.
+     */
+    @Override
+    void close();
+}
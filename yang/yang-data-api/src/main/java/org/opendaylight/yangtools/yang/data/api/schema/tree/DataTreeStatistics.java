@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+
+/**
+ * Statistics of modifications committed to a {@link DataTree}. Statistics are collected only if enabled through
+ * {@link DataTreeConfiguration.Builder#setStatisticsEnabled(boolean)}, otherwise all values remain zero.
+ */
+@Beta
+public interface DataTreeStatistics {
+    /**
+     * Phases of processing a modification, whose durations are tracked.
+     */
+    enum Phase {
+        /**
+         * {@link DataTreeModification#ready()}.
+         */
+        READY,
+        /**
+         * {@link DataTreeTip#validate(DataTreeModification)}.
+         */
+        VALIDATE,
+        /**
+         * {@link DataTreeTip#prepare(DataTreeModification)}, which creates the candidate.
+         */
+        PREPARE,
+        /**
+         * {@link DataTree#commit(DataTreeCandidate)}, including any retries, or
+         * {@link BatchCommitDataTree#commitBatch(java.util.List)}.
+         */
+        COMMIT,
+    }
+
+    /**
+     * Return the tracker of durations of a phase.
+     *
+     * @param phase Processing phase
+     * @return Duration tracker.
+     */
+    @Nonnull DurationStatisticsTracker getDurations(@Nonnull Phase phase);
+
+    /**
+     * Return the distribution of durations of a phase. The element at index {@code i} counts the durations between
+     * {@code 2^i} inclusive and {@code 2^(i+1)} exclusive nanoseconds, with durations shorter than a nanosecond
+     * counted at index zero.
+     *
+     * @param phase Processing phase
+     * @return Array of 64 duration counts.
+     */
+    @Nonnull long[] getDurationHistogram(@Nonnull Phase phase);
+
+    /**
+     * Return the number of times a commit had to be retried because the state of the data tree was concurrently
+     * updated.
+     *
+     * @return Number of commit retries.
+     */
+    long getCommitRetryCount();
+
+    /**
+     * Return the number of times an update of the schema context had to be retried because the state of the data
+     * tree was concurrently updated.
+     *
+     * @return Number of schema context update retries.
+     */
+    long getSchemaContextRetryCount();
+
+    /**
+     * Return the total number of nodes touched by prepared modifications, including the root node.
+     *
+     * @return Number of touched nodes.
+     */
+    long getTouchedNodeCount();
+
+    /**
+     * Reset all statistics.
+     */
+    void reset();
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link DataTreeSnapshot} which can compute its difference to another snapshot of the same data tree without
+ * having to compare the two snapshots in their entirety.
+ */
+@Beta
+public interface DiffableDataTreeSnapshot extends DataTreeSnapshot {
+    /**
+     * Compute the difference between this snapshot and another snapshot. The resulting candidate is anchored at
+     * the root of the data tree, its data before being this snapshot and its data after being the other snapshot.
+     * Subtrees which are shared between the two snapshots are reported as unmodified without being traversed.
+     *
+     * @param other Snapshot to compare against
+     * @return A {@link DataTreeCandidate} describing the changes needed to get from this snapshot to the other one
+     * @throws IllegalArgumentException if the other snapshot was not produced by a compatible implementation
+     */
+    @Nonnull DataTreeCandidate diff(@Nonnull DataTreeSnapshot other);
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import java.util.Collection;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+
+/**
+ * A {@link DataTreeSnapshot} which allows list entries to be looked up by the value of a non-key leaf, as declared
+ * through {@link DataTreeConfiguration.Builder#addLeafIndex(YangInstanceIdentifier, QName)}. Results are consistent
+ * with the contents of this snapshot.
+ */
+@Beta
+public interface IndexedDataTreeSnapshot extends DataTreeSnapshot {
+    /**
+     * Look up the entries of a list which have the specified value in an indexed leaf.
+     *
+     * @param listPath Path to the list, relative to the root of the data tree
+     * @param leafName Name of the indexed leaf
+     * @param value Leaf value
+     * @return Identifiers of matching list entries, empty if there are none.
+     * @throws IllegalArgumentException if the specified leaf is not indexed
+     */
+    @Nonnull Collection<NodeIdentifierWithPredicates> lookupLeafIndex(@Nonnull YangInstanceIdentifier listPath,
+            @Nonnull QName leafName, @Nonnull Object value);
+}
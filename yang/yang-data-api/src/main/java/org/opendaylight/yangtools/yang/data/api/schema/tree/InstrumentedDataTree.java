@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link DataTree} which collects statistics about processing of its modifications.
+ */
+@Beta
+public interface InstrumentedDataTree extends DataTree {
+    /**
+     * Return the statistics of this data tree. The returned object is live, it reflects any subsequent updates.
+     *
+     * @return Data tree statistics.
+     */
+    @Nonnull DataTreeStatistics getStatistics();
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.cache.CacheStats;
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link DataTree} which caches the results of path lookups performed by its snapshots, as configured through
+ * {@link DataTreeConfiguration.Builder#setReadCacheSize(int)}.
+ */
+@Beta
+public interface ReadCachingDataTree extends DataTree {
+    /**
+     * Return the statistics of the read cache. A lookup is counted as a hit if a cached result was found for its path,
+     * including results which turned out not to be valid for the snapshot being read and were replaced, and as a miss
+     * otherwise. Loads are not counted. All counts are zero if the cache is disabled.
+     *
+     * @return Read cache statistics.
+     */
+    @Nonnull CacheStats getReadCacheStats();
+}
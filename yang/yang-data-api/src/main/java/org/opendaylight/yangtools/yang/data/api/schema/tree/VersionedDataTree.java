@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Optional;
+
+/**
+ * A {@link DataTree} which numbers its states and retains a number of past states, as configured through
+ * {@link DataTreeConfiguration.Builder#setSnapshotHistorySize(int)}. The initial state has version zero, each commit
+ * which changes the tree increments the version by one.
+ */
+@Beta
+public interface VersionedDataTree extends DataTree {
+    /**
+     * Return the version of the current state of the data tree.
+     *
+     * @return Current version.
+     */
+    long getCurrentVersion();
+
+    /**
+     * Take a read-only point-in-time snapshot of a past state of the data tree. The current state is always
+     * available, past states only while they are retained.
+     *
+     * @param version Version of the state
+     * @return Snapshot of the requested state, or absent if the state is not retained.
+     */
+    Optional<DataTreeSnapshot> takeSnapshot(long version);
+}
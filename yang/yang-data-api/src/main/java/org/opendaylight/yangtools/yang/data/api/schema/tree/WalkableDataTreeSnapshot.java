@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * A {@link DataTreeSnapshot} which allows creation of a {@link DataTreeSnapshotWalker}.
+ */
+@Beta
+public interface WalkableDataTreeSnapshot extends DataTreeSnapshot {
+    /**
+     * Create a new {@link DataTreeSnapshotWalker} traversing the subtree at specified path. Unlike cursors, any
+     * number of walkers can be open at the same time.
+     *
+     * @param path Path of the subtree to be traversed
+     * @return A new walker, or null if the path does not exist.
+     */
+    @Nullable DataTreeSnapshotWalker createWalker(@Nonnull YangInstanceIdentifier path);
+}
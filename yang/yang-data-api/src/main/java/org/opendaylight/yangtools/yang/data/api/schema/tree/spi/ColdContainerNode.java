@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A container node whose data is held in serialized form by a {@link ColdTreeNodeStorage}. Its data is a lazily
+ * materialized view, children are instantiated from it on demand. A mutable copy is created from the materialized
+ * data, hence any modification results in the subtree being rehydrated.
+ */
+final class ColdContainerNode extends AbstractContainerNode {
+    private final Version subtreeVersion;
+
+    ColdContainerNode(final NormalizedNode<?, ?> data, final Version version, final Version subtreeVersion) {
+        super(data, version);
+        this.subtreeVersion = Preconditions.checkNotNull(subtreeVersion);
+    }
+
+    @Override
+    public Version getSubtreeVersion() {
+        return subtreeVersion;
+    }
+
+    @Override
+    public Optional<TreeNode> getChild(final PathArgument child) {
+        return getChildFromData(child);
+    }
+
+    @Override
+    public MutableTreeNode mutable() {
+        final MutableTreeNode ret = new LazyMutableContainerNode(
+            new SimpleContainerNode(ColdNormalizedNode.materialize(getData()), getVersion()));
+        ret.setSubtreeVersion(subtreeVersion);
+        return ret;
+    }
+
+    @Override
+    protected ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+        return helper.add("subtreeVersion", subtreeVersion).add("data", getData());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Backing of a {@link NormalizedNode} view of a serialized subtree. The view is a dynamic proxy implementing the same
+ * interfaces as the original node. The identifier is answered directly, everything else is forwarded to a node
+ * deserialized on first use. The deserialized node is only weakly reachable from the view, so it is retained only
+ * while someone else is using it.
+ *
+ * <p>
+ * Equality of views does not materialize them: a view is equal only to views which hold the same serialized form
+ * produced by the same codec, and its hash code is derived from the serialized form. This keeps equality symmetric,
+ * as materialized nodes never consider a view to be equal to them, but it also means that a view is never equal to
+ * a materialized node, even if it holds the same data.
+ */
+final class ColdNormalizedNode implements InvocationHandler {
+    private static final Method GET_IDENTIFIER;
+    private static final Method GET_NODE_TYPE;
+
+    static {
+        try {
+            GET_IDENTIFIER = NormalizedNode.class.getMethod("getIdentifier");
+            GET_NODE_TYPE = NormalizedNode.class.getMethod("getNodeType");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final PathArgument identifier;
+    private final ColdTreeNodeCodec codec;
+    private final ByteBuffer buffer;
+    private volatile WeakReference<NormalizedNode<?, ?>> materialized;
+
+    private ColdNormalizedNode(final PathArgument identifier, final ColdTreeNodeCodec codec,
+            final ByteBuffer buffer) {
+        this.identifier = Preconditions.checkNotNull(identifier);
+        this.codec = Preconditions.checkNotNull(codec);
+        this.buffer = Preconditions.checkNotNull(buffer);
+    }
+
+    static NormalizedNode<?, ?> create(final NormalizedNode<?, ?> data, final ColdTreeNodeCodec codec,
+            final ByteBuffer buffer) {
+        final Class<?> type = data.getClass();
+        return (NormalizedNode<?, ?>) Proxy.newProxyInstance(type.getClassLoader(), publicInterfaces(type),
+            new ColdNormalizedNode(data.getIdentifier(), codec, buffer));
+    }
+
+    static boolean isCold(final NormalizedNode<?, ?> data) {
+        return Proxy.isProxyClass(data.getClass()) && Proxy.getInvocationHandler(data) instanceof ColdNormalizedNode;
+    }
+
+    static NormalizedNode<?, ?> materialize(final NormalizedNode<?, ?> data) {
+        return ((ColdNormalizedNode) Proxy.getInvocationHandler(data)).materialize();
+    }
+
+    private static Class<?>[] publicInterfaces(final Class<?> type) {
+        final Set<Class<?>> ret = new LinkedHashSet<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Class<?> iface : c.getInterfaces()) {
+                if (Modifier.isPublic(iface.getModifiers())) {
+                    ret.add(iface);
+                }
+            }
+        }
+        return ret.toArray(new Class<?>[ret.size()]);
+    }
+
+    private NormalizedNode<?, ?> materialize() {
+        final WeakReference<NormalizedNode<?, ?>> ref = materialized;
+        NormalizedNode<?, ?> ret = ref == null ? null : ref.get();
+        if (ret == null) {
+            try {
+                ret = codec.deserialize(buffer.duplicate());
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to materialize cold node " + identifier, e);
+            }
+            materialized = new WeakReference<NormalizedNode<?, ?>>(ret);
+        }
+        return ret;
+    }
+
+    private boolean serializedEquals(final Object obj) {
+        if (!(obj instanceof NormalizedNode) || !isCold((NormalizedNode<?, ?>) obj)) {
+            return false;
+        }
+
+        final ColdNormalizedNode other = (ColdNormalizedNode) Proxy.getInvocationHandler(obj);
+        return codec.equals(other.codec) && identifier.equals(other.identifier) && buffer.equals(other.buffer);
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (GET_IDENTIFIER.equals(method)) {
+            return identifier;
+        }
+        if (GET_NODE_TYPE.equals(method)) {
+            return identifier.getNodeType();
+        }
+
+        switch (method.getName()) {
+        case "equals":
+            if (args.length == 1 && method.getParameterTypes()[0] == Object.class) {
+                return proxy == args[0] || serializedEquals(args[0]);
+            }
+            break;
+        case "hashCode":
+            if (args == null) {
+                return buffer.hashCode();
+            }
+            break;
+        case "toString":
+            if (args == null) {
+                return "ColdNormalizedNode{identifier=" + identifier + ", size=" + buffer.remaining() + "}";
+            }
+            break;
+        default:
+            break;
+        }
+
+        try {
+            return method.invoke(materialize(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
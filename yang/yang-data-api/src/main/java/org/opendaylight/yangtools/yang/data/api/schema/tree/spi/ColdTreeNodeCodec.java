@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Codec used by {@link ColdTreeNodeStorage} to convert subtrees to and from their compact serialized form.
+ * Implementations need to be thread-safe. The in-memory data tree implementation provides a codec based on its
+ * binary NormalizedNode stream format.
+ */
+@Beta
+public interface ColdTreeNodeCodec {
+    /**
+     * Serialize a subtree.
+     *
+     * @param data Subtree root
+     * @return Buffer holding the serialized form between its position and limit
+     * @throws IOException if the subtree cannot be serialized
+     */
+    @Nonnull ByteBuffer serialize(@Nonnull NormalizedNode<?, ?> data) throws IOException;
+
+    /**
+     * Deserialize a subtree. The buffer is private to this invocation, hence its position and limit can be freely
+     * modified.
+     *
+     * @param buffer Buffer holding the serialized form, as produced by {@link #serialize(NormalizedNode)}
+     * @return Subtree root
+     * @throws IOException if the buffer cannot be deserialized
+     */
+    @Nonnull NormalizedNode<?, ?> deserialize(@Nonnull ByteBuffer buffer) throws IOException;
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+
+/**
+ * Storage of rarely-accessed subtrees outside of the Java heap. A {@link TreeNode} passed to {@link #store(TreeNode)}
+ * is serialized into a buffer allocated off-heap or in a memory-mapped file and replaced by a node, whose data is
+ * materialized on demand. Such a node behaves just like the original node, except that each access to its data may
+ * incur the cost of deserialization, and that its data is compared by its serialized form: it is equal only to data
+ * of other stored nodes with the same serialized form, never to materialized data. Use {@link #rehydrate(TreeNode)}
+ * when data needs to be compared by value.
+ *
+ * <p>
+ * Storage is allocated in chunks, which are reclaimed when no node references them anymore. Memory-mapped storage
+ * only ever grows, its backing file needs to be discarded by the user once the data tree is no longer needed.
+ */
+@Beta
+@ThreadSafe
+public abstract class ColdTreeNodeStorage {
+    /**
+     * Default size of a single chunk of storage.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private static final class OffHeap extends ColdTreeNodeStorage {
+        OffHeap(final ColdTreeNodeCodec codec, final int chunkSize) {
+            super(codec, chunkSize);
+        }
+
+        @Override
+        protected ByteBuffer allocateChunk(final int size) {
+            return ByteBuffer.allocateDirect(size);
+        }
+    }
+
+    private static final class MappedFile extends ColdTreeNodeStorage {
+        private final FileChannel channel;
+        private long position;
+
+        MappedFile(final ColdTreeNodeCodec codec, final int chunkSize, final FileChannel channel) throws IOException {
+            super(codec, chunkSize);
+            this.channel = Preconditions.checkNotNull(channel);
+            this.position = channel.size();
+        }
+
+        @Override
+        protected ByteBuffer allocateChunk(final int size) throws IOException {
+            final ByteBuffer ret = channel.map(MapMode.READ_WRITE, position, size);
+            position += size;
+            return ret;
+        }
+    }
+
+    private final ColdTreeNodeCodec codec;
+    private final int chunkSize;
+
+    @GuardedBy("this")
+    private ByteBuffer chunk;
+
+    protected ColdTreeNodeStorage(final ColdTreeNodeCodec codec, final int chunkSize) {
+        Preconditions.checkArgument(chunkSize > 0, "Chunk size %s is not positive", chunkSize);
+        this.codec = Preconditions.checkNotNull(codec);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Create a storage backed by direct byte buffers.
+     *
+     * @param codec Codec to use
+     * @return A new storage
+     */
+    public static ColdTreeNodeStorage offHeap(@Nonnull final ColdTreeNodeCodec codec) {
+        return new OffHeap(codec, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a storage backed by a memory-mapped file. Chunks are mapped at the end of the file as they are needed.
+     * The channel needs to be open for both reading and writing and it must not be closed while the storage or any
+     * nodes it has produced are in use.
+     *
+     * @param codec Codec to use
+     * @param channel File channel
+     * @return A new storage
+     * @throws IOException if the size of the file cannot be determined
+     */
+    public static ColdTreeNodeStorage mappedFile(@Nonnull final ColdTreeNodeCodec codec,
+            @Nonnull final FileChannel channel) throws IOException {
+        return new MappedFile(codec, DEFAULT_CHUNK_SIZE, channel);
+    }
+
+    /**
+     * Allocate a new chunk of storage.
+     *
+     * @param size Requested size
+     * @return A buffer with at least the requested number of bytes remaining
+     * @throws IOException if the chunk cannot be allocated
+     */
+    protected abstract ByteBuffer allocateChunk(int size) throws IOException;
+
+    private synchronized ByteBuffer copyOf(final ByteBuffer serialized) throws IOException {
+        final int size = serialized.remaining();
+        if (chunk == null || chunk.remaining() < size) {
+            chunk = allocateChunk(Math.max(chunkSize, size));
+        }
+
+        final ByteBuffer ret = chunk.slice();
+        ret.limit(size);
+        ret.put(serialized);
+        ret.flip();
+        chunk.position(chunk.position() + size);
+        return ret.asReadOnlyBuffer();
+    }
+
+    /**
+     * Move a node into this storage. Nodes which have no children are returned unchanged, as are nodes which are
+     * already stored.
+     *
+     * @param node Node to store
+     * @return A node backed by this storage
+     * @throws IllegalStateException if the node cannot be stored
+     */
+    public final TreeNode store(@Nonnull final TreeNode node) {
+        final NormalizedNode<?, ?> data = node.getData();
+        if (!(data instanceof NormalizedNodeContainer || data instanceof OrderedNodeContainer)
+                || ColdNormalizedNode.isCold(data)) {
+            return node;
+        }
+
+        final ByteBuffer buffer;
+        try {
+            buffer = copyOf(codec.serialize(data));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to store node " + node.getIdentifier(), e);
+        }
+
+        return new ColdContainerNode(ColdNormalizedNode.create(data, codec, buffer), node.getVersion(),
+            node.getSubtreeVersion());
+    }
+
+    /**
+     * Check whether a data node is a view of a stored subtree.
+     *
+     * @param data Data node
+     * @return True if the data is held in serialized form.
+     */
+    public static boolean isCold(@Nonnull final NormalizedNode<?, ?> data) {
+        return ColdNormalizedNode.isCold(data);
+    }
+
+    /**
+     * Return a node equivalent to the specified node, whose data is held on the heap. If the node is not backed by
+     * a storage, it is returned unchanged.
+     *
+     * @param node Node to rehydrate
+     * @return A node with materialized data
+     */
+    public static TreeNode rehydrate(@Nonnull final TreeNode node) {
+        final NormalizedNode<?, ?> data = node.getData();
+        if (!ColdNormalizedNode.isCold(data)) {
+            return node;
+        }
+
+        final NormalizedNode<?, ?> materialized = ColdNormalizedNode.materialize(data);
+        final Version version = node.getVersion();
+        final Version subtreeVersion = node.getSubtreeVersion();
+        return version.equals(subtreeVersion) ? new SimpleContainerNode(materialized, version)
+                : new LazyContainerNode(materialized, version, subtreeVersion);
+    }
+
+    @Override
+    public final String toString() {
+        return MoreObjects.toStringHelper(this).add("codec", codec).add("chunkSize", chunkSize).toString();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class ColdTreeNodeStorageTest {
+    /**
+     * Codec which keeps the nodes on heap and serializes only their index.
+     */
+    private static final class IndexCodec implements ColdTreeNodeCodec {
+        final List<NormalizedNode<?, ?>> nodes = new ArrayList<>();
+        int deserialized;
+
+        @Override
+        public ByteBuffer serialize(final NormalizedNode<?, ?> data) {
+            final ByteBuffer ret = ByteBuffer.allocate(4);
+            ret.putInt(nodes.size());
+            nodes.add(data);
+            ret.flip();
+            return ret;
+        }
+
+        @Override
+        public NormalizedNode<?, ?> deserialize(final ByteBuffer buffer) {
+            deserialized++;
+            return nodes.get(buffer.getInt());
+        }
+    }
+
+    private static final NodeIdentifier ID = new NodeIdentifier(QName.create("urn:test", "2016-01-01", "cold"));
+
+    private IndexCodec codec;
+    private ColdTreeNodeStorage storage;
+    private ContainerNode data;
+
+    @Before
+    public void setUp() {
+        codec = new IndexCodec();
+        storage = ColdTreeNodeStorage.offHeap(codec);
+        data = Mockito.mock(ContainerNode.class);
+        Mockito.doReturn(ID).when(data).getIdentifier();
+        Mockito.doReturn(Collections.emptyList()).when(data).getValue();
+    }
+
+    @Test
+    public void testStore() {
+        final Version version = Version.initial();
+        final Version subtreeVersion = version.next();
+        final TreeNode cold = storage.store(new LazyContainerNode(data, version, subtreeVersion));
+
+        assertTrue(cold instanceof ColdContainerNode);
+        assertSame(version, cold.getVersion());
+        assertSame(subtreeVersion, cold.getSubtreeVersion());
+        assertNotSame(data, cold.getData());
+        assertTrue(ColdTreeNodeStorage.isCold(cold.getData()));
+        assertTrue(cold.getData() instanceof ContainerNode);
+
+        // Identifier is available without materializing the node
+        assertEquals(ID, cold.getIdentifier());
+        assertEquals(0, codec.deserialized);
+
+        assertTrue(((ContainerNode) cold.getData()).getValue().isEmpty());
+        assertEquals(1, codec.deserialized);
+
+        // Storing again is a no-op
+        assertSame(cold, storage.store(cold));
+    }
+
+    @Test
+    public void testRehydrate() {
+        final Version version = Version.initial();
+        final TreeNode cold = storage.store(TreeNodeFactory.createTreeNode(data, version));
+        final TreeNode hot = ColdTreeNodeStorage.rehydrate(cold);
+
+        assertTrue(hot instanceof SimpleContainerNode);
+        assertSame(data, hot.getData());
+        assertSame(version, hot.getVersion());
+        assertFalse(ColdTreeNodeStorage.isCold(hot.getData()));
+        assertSame(hot, ColdTreeNodeStorage.rehydrate(hot));
+    }
+
+    @Test
+    public void testEquality() {
+        final NormalizedNode<?, ?> cold = storage.store(TreeNodeFactory.createTreeNode(data, Version.initial()))
+                .getData();
+        final NormalizedNode<?, ?> other = storage.store(TreeNodeFactory.createTreeNode(data, Version.initial()))
+                .getData();
+
+        assertEquals(cold, cold);
+        assertEquals(cold.hashCode(), cold.hashCode());
+        assertFalse(cold.equals(other));
+        assertFalse(cold.equals(data));
+        assertFalse(data.equals(cold));
+
+        // Equality is decided on the serialized form
+        assertEquals(0, codec.deserialized);
+    }
+
+    @Test
+    public void testLeaf() {
+        final LeafNode<?> leaf = Mockito.mock(LeafNode.class);
+        final TreeNode node = TreeNodeFactory.createTreeNode(leaf, Version.initial());
+        assertSame(node, storage.store(node));
+        assertTrue(codec.nodes.isEmpty());
+    }
+}
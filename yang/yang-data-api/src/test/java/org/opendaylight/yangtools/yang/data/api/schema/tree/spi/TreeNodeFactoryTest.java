@@ -9,8 +9,14 @@ package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import com.google.common.base.Optional;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -53,4 +59,24 @@ public class TreeNodeFactoryTest {
         assertTrue(node instanceof ValueNode);
         checkTreeNode(node, data, version);
     }
+
+    @Test
+    public void testRecursiveContainerIsLazy() {
+        final NodeIdentifier childId = new NodeIdentifier(QName.create("urn:test", "child"));
+        final LeafNode<?> child = Mockito.mock(LeafNode.class);
+        final ContainerNode data = Mockito.mock(ContainerNode.class);
+        doReturn(Optional.of(child)).when(data).getChild(childId);
+
+        final Version version = Version.initial();
+        @SuppressWarnings("deprecation")
+        final TreeNode node = TreeNodeFactory.createTreeNodeRecursively(data, version);
+
+        assertTrue(node instanceof SimpleContainerNode);
+        checkTreeNode(node, data, version);
+        verify(data, never()).getValue();
+
+        final TreeNode childNode = node.getChild(childId).get();
+        assertTrue(childNode instanceof ValueNode);
+        checkTreeNode(childNode, child, version);
+    }
 }
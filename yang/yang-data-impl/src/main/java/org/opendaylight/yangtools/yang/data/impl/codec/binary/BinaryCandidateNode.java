@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * A {@link DataTreeCandidateNode} decoded by {@link BinaryDataTreeCandidateInput}. It carries only the information
+ * needed to replay it, hence data before is never available and data after is available only for written nodes.
+ * Children are added while the candidate is being decoded, the node is not modified once decoding completes.
+ */
+final class BinaryCandidateNode implements DataTreeCandidateNode {
+    private final PathArgument identifier;
+    private final ModificationType type;
+    private final Optional<NormalizedNode<?, ?>> dataAfter;
+    private Map<PathArgument, DataTreeCandidateNode> children = Collections.emptyMap();
+
+    private BinaryCandidateNode(final PathArgument identifier, final ModificationType type,
+            final Optional<NormalizedNode<?, ?>> dataAfter) {
+        this.identifier = Preconditions.checkNotNull(identifier);
+        this.type = Preconditions.checkNotNull(type);
+        this.dataAfter = Preconditions.checkNotNull(dataAfter);
+    }
+
+    static BinaryCandidateNode written(final NormalizedNode<?, ?> data) {
+        return written(data.getIdentifier(), data);
+    }
+
+    static BinaryCandidateNode written(final PathArgument identifier, final NormalizedNode<?, ?> data) {
+        return new BinaryCandidateNode(identifier, ModificationType.WRITE, Optional.<NormalizedNode<?, ?>>of(data));
+    }
+
+    static BinaryCandidateNode of(final PathArgument identifier, final ModificationType type) {
+        return new BinaryCandidateNode(identifier, type, Optional.<NormalizedNode<?, ?>>absent());
+    }
+
+    void addChild(final DataTreeCandidateNode child) {
+        if (children.isEmpty()) {
+            children = new LinkedHashMap<>();
+        }
+        children.put(child.getIdentifier(), child);
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        return children.values();
+    }
+
+    @Override
+    public DataTreeCandidateNode getModifiedChild(final PathArgument childIdentifier) {
+        return children.get(childIdentifier);
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        return type;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return dataAfter;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return Optional.absent();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("type", type)
+                .add("children", children.size()).toString();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.annotations.Beta;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.ColdTreeNodeCodec;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.ColdTreeNodeStorage;
+
+/**
+ * A {@link ColdTreeNodeCodec} which uses the format of {@link BinaryNormalizedNodeStreamWriter}. Each subtree is
+ * written as a separate stream, hence it carries its own dictionary and can be read back independently. Reading
+ * decodes directly from the buffer held by {@link ColdTreeNodeStorage}, without copying it to the heap first.
+ */
+@Beta
+public final class BinaryColdTreeNodeCodec implements ColdTreeNodeCodec {
+    /**
+     * Byte array stream which exposes its contents without copying them.
+     */
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        ExposedByteArrayOutputStream() {
+            super(1024);
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+
+    private static final BinaryColdTreeNodeCodec INSTANCE = new BinaryColdTreeNodeCodec();
+
+    private BinaryColdTreeNodeCodec() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Get an instance of this codec. This method cannot fail.
+     *
+     * @return Codec instance.
+     */
+    public static BinaryColdTreeNodeCodec getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    @Nonnull
+    public ByteBuffer serialize(@Nonnull final NormalizedNode<?, ?> data) throws IOException {
+        final ExposedByteArrayOutputStream bos = new ExposedByteArrayOutputStream();
+        try (BinaryNormalizedNodeStreamWriter writer = BinaryNormalizedNodeStreamWriter.create(
+                new DataOutputStream(bos))) {
+            writer.writeNormalizedNode(data);
+        }
+        return bos.toByteBuffer();
+    }
+
+    @Override
+    @Nonnull
+    public NormalizedNode<?, ?> deserialize(@Nonnull final ByteBuffer buffer) throws IOException {
+        return BinaryNormalizedNodeStreamReader.create(buffer).readNormalizedNode();
+    }
+
+    @Override
+    public String toString() {
+        return BinaryColdTreeNodeCodec.class.getSimpleName();
+    }
+}
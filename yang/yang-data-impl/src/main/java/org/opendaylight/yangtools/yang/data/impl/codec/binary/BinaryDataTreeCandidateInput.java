@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Reader of candidates written by {@link BinaryDataTreeCandidateOutput}. The candidates it produces can be applied
+ * to a modification using {@link DataTreeCandidates#applyToModification(DataTreeModification, DataTreeCandidate)}.
+ * They do not carry the data before the modification, and data after the modification is available only for nodes
+ * which were written.
+ */
+@Beta
+public final class BinaryDataTreeCandidateInput {
+    private static final NodeIdentifier ROOT_IDENTIFIER = new NodeIdentifier(SchemaContext.NAME);
+
+    private final BinaryNormalizedNodeStreamReader reader;
+    private final DataInput input;
+
+    private BinaryDataTreeCandidateInput(final DataInput input, final BinaryNormalizedNodeStreamReader reader) {
+        this.input = Preconditions.checkNotNull(input);
+        this.reader = Preconditions.checkNotNull(reader);
+    }
+
+    /**
+     * Create a new candidate reader and consume the stream header from the specified input.
+     *
+     * @param input Input to read from
+     * @return A new reader
+     * @throws IOException if the header is not valid
+     */
+    public static BinaryDataTreeCandidateInput create(@Nonnull final DataInput input) throws IOException {
+        return new BinaryDataTreeCandidateInput(input, BinaryNormalizedNodeStreamReader.create(input));
+    }
+
+    /**
+     * Create a new candidate reader for the remaining content of a buffer. The data is decoded directly from the
+     * buffer, its position is not affected. The buffer must not be modified while the reader is in use.
+     *
+     * @param buffer Buffer to read from
+     * @return A new reader
+     * @throws IOException if the header is not valid
+     */
+    public static BinaryDataTreeCandidateInput create(@Nonnull final ByteBuffer buffer) throws IOException {
+        return create(new ByteBufferDataInput(buffer.duplicate().order(ByteOrder.BIG_ENDIAN)));
+    }
+
+    /**
+     * Read a candidate.
+     *
+     * @return A candidate
+     * @throws IOException if the candidate cannot be read
+     */
+    public DataTreeCandidate readCandidate() throws IOException {
+        final YangInstanceIdentifier rootPath = reader.readYangInstanceIdentifier();
+        final PathArgument rootId = rootPath.isEmpty() ? ROOT_IDENTIFIER : rootPath.getLastPathArgument();
+
+        final byte tag = input.readByte();
+        final DataTreeCandidateNode root;
+        switch (tag) {
+        case BinaryStreamConstants.CANDIDATE_UNMODIFIED:
+            root = BinaryCandidateNode.of(rootId, ModificationType.UNMODIFIED);
+            break;
+        case BinaryStreamConstants.CANDIDATE_WRITE:
+            root = BinaryCandidateNode.written(rootId, reader.readNormalizedNode());
+            break;
+        case BinaryStreamConstants.CANDIDATE_DELETE:
+            root = BinaryCandidateNode.of(rootId, ModificationType.DELETE);
+            break;
+        case BinaryStreamConstants.CANDIDATE_SUBTREE_MODIFIED:
+            root = readChildren(BinaryCandidateNode.of(rootId, ModificationType.SUBTREE_MODIFIED));
+            break;
+        default:
+            throw new IOException("Unknown root modification " + tag);
+        }
+
+        return DataTreeCandidates.newDataTreeCandidate(rootPath, root);
+    }
+
+    private BinaryCandidateNode readChildren(final BinaryCandidateNode root) throws IOException {
+        final Deque<BinaryCandidateNode> parents = new ArrayDeque<>();
+        BinaryCandidateNode current = root;
+
+        while (true) {
+            final byte tag = input.readByte();
+            switch (tag) {
+            case BinaryStreamConstants.CURSOR_END:
+                if (!parents.isEmpty()) {
+                    throw new IOException("Candidate ended at depth " + parents.size());
+                }
+                return root;
+            case BinaryStreamConstants.CURSOR_ENTER:
+                final BinaryCandidateNode child = BinaryCandidateNode.of(reader.readPathArgument(),
+                    ModificationType.SUBTREE_MODIFIED);
+                current.addChild(child);
+                parents.push(current);
+                current = child;
+                break;
+            case BinaryStreamConstants.CURSOR_EXIT:
+                if (parents.isEmpty()) {
+                    throw new IOException("Attempted to exit the root node");
+                }
+                current = parents.pop();
+                break;
+            case BinaryStreamConstants.CURSOR_WRITE:
+                final NormalizedNode<?, ?> data = reader.readNormalizedNode();
+                current.addChild(BinaryCandidateNode.written(data));
+                break;
+            case BinaryStreamConstants.CURSOR_DELETE:
+                current.addChild(BinaryCandidateNode.of(reader.readPathArgument(), ModificationType.DELETE));
+                break;
+            default:
+                throw new IOException("Unknown cursor operation " + tag);
+            }
+        }
+    }
+}
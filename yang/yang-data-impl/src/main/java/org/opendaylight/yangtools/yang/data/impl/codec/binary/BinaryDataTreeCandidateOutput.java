@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.io.DataOutput;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BackendFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+
+/**
+ * Writer of {@link DataTreeCandidate}s in a compact binary form. Only the changes are written: deleted nodes are
+ * represented by their identifier, written nodes by their new data and modified subtrees by their modified children.
+ * The data before the modification is never written. The children of the root node are traversed through
+ * {@link DataTreeCandidateNodes#applyRootToCursor(DataTreeModificationCursor, DataTreeCandidateNode)}, hence the
+ * encoding consists of exactly the operations needed to replay the candidate.
+ *
+ * <p>
+ * Candidates can be read back using {@link BinaryDataTreeCandidateInput}. Multiple candidates can be written into a
+ * single stream, in which case they share the dictionary of the underlying {@link BinaryNormalizedNodeStreamWriter}.
+ */
+@Beta
+public final class BinaryDataTreeCandidateOutput {
+    /**
+     * Cursor emitting the operations it is asked to perform. Since cursor methods cannot throw checked exceptions,
+     * failures are reported as {@link BackendFailedException}s wrapping the underlying {@link IOException}.
+     */
+    private final class EncodingCursor implements DataTreeModificationCursor {
+        @Override
+        public void enter(final PathArgument child) {
+            try {
+                output.writeByte(BinaryStreamConstants.CURSOR_ENTER);
+                writer.writePathArgument(child);
+            } catch (IOException e) {
+                throw new BackendFailedException("Failed to write enter " + child, e);
+            }
+        }
+
+        @Override
+        public void enter(final PathArgument... path) {
+            for (PathArgument child : path) {
+                enter(child);
+            }
+        }
+
+        @Override
+        public void enter(final Iterable<PathArgument> path) {
+            for (PathArgument child : path) {
+                enter(child);
+            }
+        }
+
+        @Override
+        public void exit() {
+            try {
+                output.writeByte(BinaryStreamConstants.CURSOR_EXIT);
+            } catch (IOException e) {
+                throw new BackendFailedException("Failed to write exit", e);
+            }
+        }
+
+        @Override
+        public void exit(final int depth) {
+            for (int i = 0; i < depth; ++i) {
+                exit();
+            }
+        }
+
+        @Override
+        public void delete(final PathArgument child) {
+            try {
+                output.writeByte(BinaryStreamConstants.CURSOR_DELETE);
+                writer.writePathArgument(child);
+            } catch (IOException e) {
+                throw new BackendFailedException("Failed to write delete " + child, e);
+            }
+        }
+
+        @Override
+        public void write(final PathArgument child, final NormalizedNode<?, ?> data) {
+            try {
+                output.writeByte(BinaryStreamConstants.CURSOR_WRITE);
+                writer.writeNormalizedNode(data);
+            } catch (IOException e) {
+                throw new BackendFailedException("Failed to write " + child, e);
+            }
+        }
+
+        @Override
+        public void merge(final PathArgument child, final NormalizedNode<?, ?> data) {
+            throw new UnsupportedOperationException("Candidates do not contain merges");
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> readNode(final PathArgument child) {
+            throw new UnsupportedOperationException("Encoding cursor cannot read data");
+        }
+
+        @Override
+        public void close() {
+            // No-op
+        }
+    }
+
+    private final BinaryNormalizedNodeStreamWriter writer;
+    private final DataOutput output;
+
+    private BinaryDataTreeCandidateOutput(final DataOutput output, final BinaryNormalizedNodeStreamWriter writer) {
+        this.output = Preconditions.checkNotNull(output);
+        this.writer = Preconditions.checkNotNull(writer);
+    }
+
+    /**
+     * Create a new candidate writer and emit the stream header into the specified output.
+     *
+     * @param output Output to write to
+     * @return A new writer
+     * @throws IOException if the header cannot be written
+     */
+    public static BinaryDataTreeCandidateOutput create(@Nonnull final DataOutput output) throws IOException {
+        return new BinaryDataTreeCandidateOutput(output, BinaryNormalizedNodeStreamWriter.create(output));
+    }
+
+    /**
+     * Write a candidate. A root which appeared is written as a write of its current data, a root which disappeared
+     * is written as a delete.
+     *
+     * @param candidate Candidate to write
+     * @throws IOException if an underlying IO error occurs
+     */
+    public void writeCandidate(@Nonnull final DataTreeCandidate candidate) throws IOException {
+        writer.writeYangInstanceIdentifier(candidate.getRootPath());
+
+        final DataTreeCandidateNode root = candidate.getRootNode();
+        switch (root.getModificationType()) {
+        case APPEARED:
+        case WRITE:
+            output.writeByte(BinaryStreamConstants.CANDIDATE_WRITE);
+            writer.writeNormalizedNode(root.getDataAfter().get());
+            break;
+        case DELETE:
+        case DISAPPEARED:
+            output.writeByte(BinaryStreamConstants.CANDIDATE_DELETE);
+            break;
+        case SUBTREE_MODIFIED:
+            output.writeByte(BinaryStreamConstants.CANDIDATE_SUBTREE_MODIFIED);
+            try {
+                DataTreeCandidateNodes.applyRootToCursor(new EncodingCursor(), root);
+            } catch (BackendFailedException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw e;
+            }
+            output.writeByte(BinaryStreamConstants.CURSOR_END);
+            break;
+        case UNMODIFIED:
+            output.writeByte(BinaryStreamConstants.CANDIDATE_UNMODIFIED);
+            break;
+        default:
+            throw new IOException("Unhandled root modification " + root.getModificationType());
+        }
+    }
+
+    /**
+     * Flush the underlying output, if it supports flushing.
+     *
+     * @throws IOException if an underlying IO error occurs
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * Reader of streams produced by {@link BinaryNormalizedNodeStreamWriter}. Items have to be read in the same order
+ * in which they were written. Nodes can either be materialized via {@link #readNormalizedNode()}, or their events
+ * can be replayed into an arbitrary {@link NormalizedNodeStreamWriter}.
+ */
+@Beta
+public final class BinaryNormalizedNodeStreamReader {
+    /**
+     * {@link ImmutableNormalizedNodeStreamWriter} ignores anyxml nodes, as in general it has no idea what their values
+     * are. Values of anyxml nodes written into the stream are {@link DOMSource}s, hence we can retain them. Anything
+     * else cannot be materialized and is rejected rather than silently dropped.
+     */
+    private static final class AnyxmlRetainingStreamWriter extends ImmutableNormalizedNodeStreamWriter {
+        AnyxmlRetainingStreamWriter(final NormalizedNodeResult result) {
+            super(result);
+        }
+
+        @Override
+        public void anyxmlNode(final NodeIdentifier name, final Object value) {
+            super.anyxmlNode(name, value);
+            Preconditions.checkArgument(value == null || value instanceof DOMSource, "Unexpected anyxml value %s",
+                value);
+            writeChild(Builders.anyXmlBuilder().withNodeIdentifier(name).withValue((DOMSource) value).build());
+        }
+    }
+
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY;
+
+    static {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try {
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        } catch (ParserConfigurationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        DOCUMENT_BUILDER_FACTORY = factory;
+    }
+
+    private final List<QNameModule> modules = new ArrayList<>();
+    private final List<QName> qnames = new ArrayList<>();
+    private final List<NodeIdentifier> identifiers = new ArrayList<>();
+    private final DataInput input;
+
+    private BinaryNormalizedNodeStreamReader(final DataInput input) {
+        this.input = Preconditions.checkNotNull(input);
+    }
+
+    /**
+     * Create a new reader and consume the stream header from the specified input.
+     *
+     * @param input Input to read from
+     * @return A new reader
+     * @throws IOException if the header is not valid
+     */
+    public static BinaryNormalizedNodeStreamReader create(@Nonnull final DataInput input) throws IOException {
+        final BinaryNormalizedNodeStreamReader ret = new BinaryNormalizedNodeStreamReader(input);
+        final short magic = input.readShort();
+        if (magic != BinaryStreamConstants.MAGIC) {
+            throw new IOException(String.format("Invalid stream header %04x", magic));
+        }
+        final byte version = input.readByte();
+        if (version != BinaryStreamConstants.VERSION) {
+            throw new IOException("Unsupported stream version " + version);
+        }
+        return ret;
+    }
+
+    /**
+     * Create a new reader for the remaining content of a buffer. The data is decoded directly from the buffer, its
+     * position is not affected. The buffer must not be modified while the reader is in use.
+     *
+     * @param buffer Buffer to read from
+     * @return A new reader
+     * @throws IOException if the header is not valid
+     */
+    public static BinaryNormalizedNodeStreamReader create(@Nonnull final ByteBuffer buffer) throws IOException {
+        return create(new ByteBufferDataInput(buffer.duplicate().order(ByteOrder.BIG_ENDIAN)));
+    }
+
+    /**
+     * Read a complete node. Anyxml values are materialized as {@link DOMSource}s.
+     *
+     * @return A node
+     * @throws IOException if the node cannot be read
+     */
+    public NormalizedNode<?, ?> readNormalizedNode() throws IOException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        try (NormalizedNodeStreamWriter writer = new AnyxmlRetainingStreamWriter(result)) {
+            streamNormalizedNode(writer);
+        }
+        return result.getResult();
+    }
+
+    /**
+     * Read a complete node and emit its events into a writer.
+     *
+     * @param writer Writer to receive events
+     * @throws IOException if the node cannot be read, or the writer fails
+     */
+    public void streamNormalizedNode(@Nonnull final NormalizedNodeStreamWriter writer) throws IOException {
+        int depth = 0;
+        do {
+            final byte event = input.readByte();
+            switch (event) {
+            case BinaryStreamConstants.EVENT_END_NODE:
+                if (depth == 0) {
+                    throw new IOException("Unexpected end of node");
+                }
+                writer.endNode();
+                depth--;
+                break;
+            case BinaryStreamConstants.EVENT_LEAF:
+                writer.leafNode(readNodeIdentifier(), readValue());
+                break;
+            case BinaryStreamConstants.EVENT_LEAF_SET_ENTRY:
+                writer.leafSetEntryNode(readQName(), readValue());
+                break;
+            case BinaryStreamConstants.EVENT_ANYXML:
+                writer.anyxmlNode(readNodeIdentifier(), readValue());
+                break;
+            case BinaryStreamConstants.EVENT_LEAF_SET:
+                writer.startLeafSet(readNodeIdentifier(), readSizeHint());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_ORDERED_LEAF_SET:
+                writer.startOrderedLeafSet(readNodeIdentifier(), readSizeHint());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_CONTAINER:
+                writer.startContainerNode(readNodeIdentifier(), readSizeHint());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_UNKEYED_LIST:
+                writer.startUnkeyedList(readNodeIdentifier(), readSizeHint());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_UNKEYED_LIST_ITEM:
+                writer.startUnkeyedListItem(readNodeIdentifier(), readSizeHint());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_MAP:
+                writer.startMapNode(readNodeIdentifier(), readSizeHint());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_MAP_ENTRY:
+                final NodeIdentifierWithPredicates entryId = readIdentifierWithPredicates();
+                writer.startMapEntryNode(entryId, readSizeHint());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_ORDERED_MAP:
+                writer.startOrderedMapNode(readNodeIdentifier(), readSizeHint());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_CHOICE:
+                writer.startChoiceNode(readNodeIdentifier(), readSizeHint());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_AUGMENTATION:
+                writer.startAugmentationNode(readAugmentationIdentifier());
+                depth++;
+                break;
+            case BinaryStreamConstants.EVENT_YANG_MODELED_ANYXML:
+                writer.startYangModeledAnyXmlNode(readNodeIdentifier(), readSizeHint());
+                depth++;
+                break;
+            default:
+                throw new IOException("Unknown event " + event);
+            }
+        } while (depth != 0);
+    }
+
+    /**
+     * Read an instance identifier.
+     *
+     * @return An instance identifier
+     * @throws IOException if the identifier cannot be read
+     */
+    public YangInstanceIdentifier readYangInstanceIdentifier() throws IOException {
+        final int size = readSize();
+        final List<PathArgument> args = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            args.add(readPathArgument());
+        }
+        return YangInstanceIdentifier.create(args);
+    }
+
+    /**
+     * Read a single path argument.
+     *
+     * @return A path argument
+     * @throws IOException if the argument cannot be read
+     */
+    public PathArgument readPathArgument() throws IOException {
+        final byte tag = input.readByte();
+        switch (tag) {
+        case BinaryStreamConstants.ARG_NODE_IDENTIFIER:
+            return readNodeIdentifier();
+        case BinaryStreamConstants.ARG_NODE_IDENTIFIER_WITH_PREDICATES:
+            return readIdentifierWithPredicates();
+        case BinaryStreamConstants.ARG_NODE_WITH_VALUE:
+            final QName nodeType = readQName();
+            return new NodeWithValue<>(nodeType, readValue());
+        case BinaryStreamConstants.ARG_AUGMENTATION_IDENTIFIER:
+            return readAugmentationIdentifier();
+        default:
+            throw new IOException("Unknown path argument type " + tag);
+        }
+    }
+
+    private int readSizeHint() throws IOException {
+        return readSize() - 1;
+    }
+
+    private NodeIdentifierWithPredicates readIdentifierWithPredicates() throws IOException {
+        final QName nodeType = readQName();
+        final int size = readSize();
+        if (size == 1) {
+            final QName key = readQName();
+            return new NodeIdentifierWithPredicates(nodeType, key, readValue());
+        }
+
+        final Map<QName, Object> keys = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; ++i) {
+            final QName key = readQName();
+            keys.put(key, readValue());
+        }
+        return new NodeIdentifierWithPredicates(nodeType, keys);
+    }
+
+    private AugmentationIdentifier readAugmentationIdentifier() throws IOException {
+        final int size = readSize();
+        final ImmutableSet.Builder<QName> names = ImmutableSet.builder();
+        for (int i = 0; i < size; ++i) {
+            names.add(readQName());
+        }
+        return new AugmentationIdentifier(names.build());
+    }
+
+    private NodeIdentifier readNodeIdentifier() throws IOException {
+        final int code = readQNameCode();
+        NodeIdentifier ret = identifiers.get(code);
+        if (ret == null) {
+            ret = NodeIdentifier.create(qnames.get(code));
+            identifiers.set(code, ret);
+        }
+        return ret;
+    }
+
+    private QName readQName() throws IOException {
+        return qnames.get(readQNameCode());
+    }
+
+    private int readQNameCode() throws IOException {
+        final int code = readSize();
+        if (code != 0) {
+            if (code > qnames.size()) {
+                throw new IOException("Unknown QName code " + code);
+            }
+            return code - 1;
+        }
+
+        final QNameModule module = readModule();
+        qnames.add(QName.create(module, readString()).intern());
+        identifiers.add(null);
+        return qnames.size() - 1;
+    }
+
+    private QNameModule readModule() throws IOException {
+        final int code = readSize();
+        if (code != 0) {
+            if (code > modules.size()) {
+                throw new IOException("Unknown module code " + code);
+            }
+            return modules.get(code - 1);
+        }
+
+        final String namespace = readString();
+        final String revision = readString();
+        final URI uri;
+        try {
+            uri = new URI(namespace);
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid namespace " + namespace, e);
+        }
+
+        final QNameModule module = QNameModule.create(uri,
+            revision.isEmpty() ? null : QName.parseRevision(revision)).intern();
+        modules.add(module);
+        return module;
+    }
+
+    private Object readValue() throws IOException {
+        final byte tag = input.readByte();
+        switch (tag) {
+        case BinaryStreamConstants.VALUE_NULL:
+            return null;
+        case BinaryStreamConstants.VALUE_STRING:
+            return readString();
+        case BinaryStreamConstants.VALUE_FALSE:
+            return Boolean.FALSE;
+        case BinaryStreamConstants.VALUE_TRUE:
+            return Boolean.TRUE;
+        case BinaryStreamConstants.VALUE_BYTE:
+            return input.readByte();
+        case BinaryStreamConstants.VALUE_SHORT:
+            return input.readShort();
+        case BinaryStreamConstants.VALUE_INT:
+            return (int) readSignedLong();
+        case BinaryStreamConstants.VALUE_LONG:
+            return readSignedLong();
+        case BinaryStreamConstants.VALUE_BIG_INTEGER:
+            return new BigInteger(readBytes());
+        case BinaryStreamConstants.VALUE_BIG_DECIMAL:
+            final int scale = (int) readSignedLong();
+            return new BigDecimal(new BigInteger(readBytes()), scale);
+        case BinaryStreamConstants.VALUE_BINARY:
+            return readBytes();
+        case BinaryStreamConstants.VALUE_BITS:
+            final int size = readSize();
+            final ImmutableSet.Builder<String> bits = ImmutableSet.builder();
+            for (int i = 0; i < size; ++i) {
+                bits.add(readString());
+            }
+            return bits.build();
+        case BinaryStreamConstants.VALUE_QNAME:
+            return readQName();
+        case BinaryStreamConstants.VALUE_YANG_INSTANCE_IDENTIFIER:
+            return readYangInstanceIdentifier();
+        case BinaryStreamConstants.VALUE_DOM_SOURCE:
+            return parseXml(readBytes());
+        default:
+            throw new IOException("Unknown value type " + tag);
+        }
+    }
+
+    private static DOMSource parseXml(final byte[] bytes) throws IOException {
+        final Document doc;
+        try {
+            doc = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().parse(new ByteArrayInputStream(bytes));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Failed to parse XML", e);
+        }
+        return new DOMSource(doc.getDocumentElement());
+    }
+
+    private String readString() throws IOException {
+        final int length = readSize();
+        if (input instanceof ByteBufferDataInput) {
+            return ((ByteBufferDataInput) input).readUtf8(length);
+        }
+
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte[] readBytes() throws IOException {
+        final byte[] bytes = new byte[readSize()];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private long readSignedLong() throws IOException {
+        final long raw = readUnsignedLong();
+        return raw >>> 1 ^ -(raw & 1);
+    }
+
+    /**
+     * Read an unsigned variable-length integer, as written by {@link BinaryNormalizedNodeStreamWriter#writeSize(int)}.
+     *
+     * @return A non-negative integer
+     * @throws IOException if the integer cannot be read or does not fit
+     */
+    int readSize() throws IOException {
+        final long ret = readUnsignedLong();
+        if (ret < 0 || ret > Integer.MAX_VALUE) {
+            throw new IOException("Invalid size " + ret);
+        }
+        return (int) ret;
+    }
+
+    private long readUnsignedLong() throws IOException {
+        long ret = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final byte b = input.readByte();
+            ret |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return ret;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.Flushable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+
+/**
+ * A {@link NormalizedNodeStreamWriter} which emits a compact binary representation of the events it receives. QNames
+ * and their modules are written in full only once per stream, subsequent occurrences refer to them by a small
+ * integer code. Leaf values are written in their native form rather than as strings, supported types are those used
+ * by the built-in YANG types: {@link String}, {@link Boolean}, {@link Byte}, {@link Short}, {@link Integer},
+ * {@link Long}, {@link BigInteger}, {@link BigDecimal}, {@code byte[]}, {@link Set} of bit names, {@link QName} and
+ * {@link YangInstanceIdentifier}. Anyxml values are expected to be {@link DOMSource}s, which are written as serialized
+ * XML.
+ *
+ * <p>
+ * The output can be read back using {@link BinaryNormalizedNodeStreamReader}. Multiple nodes can be written into a
+ * single stream, in which case they share the dictionary. Closing this writer does not close the underlying output.
+ */
+@Beta
+public final class BinaryNormalizedNodeStreamWriter implements NormalizedNodeStreamWriter {
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+    private final Map<QNameModule, Integer> modules = new HashMap<>();
+    private final Map<QName, Integer> qnames = new HashMap<>();
+    private final DataOutput output;
+
+    private BinaryNormalizedNodeStreamWriter(final DataOutput output) {
+        this.output = Preconditions.checkNotNull(output);
+    }
+
+    /**
+     * Create a new writer and emit the stream header into the specified output.
+     *
+     * @param output Output to write to
+     * @return A new writer
+     * @throws IOException if the header cannot be written
+     */
+    public static BinaryNormalizedNodeStreamWriter create(@Nonnull final DataOutput output) throws IOException {
+        final BinaryNormalizedNodeStreamWriter ret = new BinaryNormalizedNodeStreamWriter(output);
+        output.writeShort(BinaryStreamConstants.MAGIC);
+        output.writeByte(BinaryStreamConstants.VERSION);
+        return ret;
+    }
+
+    /**
+     * Write a complete node.
+     *
+     * @param node Node to write
+     * @throws IOException if an underlying IO error occurs
+     */
+    public void writeNormalizedNode(@Nonnull final NormalizedNode<?, ?> node) throws IOException {
+        NormalizedNodeWriter.forStreamWriter(this).write(node);
+    }
+
+    /**
+     * Write an instance identifier.
+     *
+     * @param path Instance identifier to write
+     * @throws IOException if an underlying IO error occurs
+     */
+    public void writeYangInstanceIdentifier(@Nonnull final YangInstanceIdentifier path) throws IOException {
+        final Collection<PathArgument> args = path.getPathArguments();
+        writeSize(args.size());
+        for (PathArgument arg : args) {
+            writePathArgument(arg);
+        }
+    }
+
+    /**
+     * Write a single path argument.
+     *
+     * @param arg Path argument to write
+     * @throws IOException if an underlying IO error occurs
+     */
+    public void writePathArgument(@Nonnull final PathArgument arg) throws IOException {
+        if (arg instanceof NodeIdentifierWithPredicates) {
+            output.writeByte(BinaryStreamConstants.ARG_NODE_IDENTIFIER_WITH_PREDICATES);
+            writeIdentifierWithPredicates((NodeIdentifierWithPredicates) arg);
+        } else if (arg instanceof NodeWithValue) {
+            output.writeByte(BinaryStreamConstants.ARG_NODE_WITH_VALUE);
+            writeQName(arg.getNodeType());
+            writeValue(((NodeWithValue<?>) arg).getValue());
+        } else if (arg instanceof AugmentationIdentifier) {
+            output.writeByte(BinaryStreamConstants.ARG_AUGMENTATION_IDENTIFIER);
+            writeAugmentationIdentifier((AugmentationIdentifier) arg);
+        } else if (arg instanceof NodeIdentifier) {
+            output.writeByte(BinaryStreamConstants.ARG_NODE_IDENTIFIER);
+            writeQName(arg.getNodeType());
+        } else {
+            throw new IOException("Unsupported path argument " + arg.getClass());
+        }
+    }
+
+    @Override
+    public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+        output.writeByte(BinaryStreamConstants.EVENT_LEAF);
+        writeQName(name.getNodeType());
+        writeValue(value);
+    }
+
+    @Override
+    public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryStreamConstants.EVENT_LEAF_SET, name, childSizeHint);
+    }
+
+    @Override
+    public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryStreamConstants.EVENT_ORDERED_LEAF_SET, name, childSizeHint);
+    }
+
+    @Override
+    public void leafSetEntryNode(final QName name, final Object value) throws IOException {
+        output.writeByte(BinaryStreamConstants.EVENT_LEAF_SET_ENTRY);
+        writeQName(name);
+        writeValue(value);
+    }
+
+    @Override
+    public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryStreamConstants.EVENT_CONTAINER, name, childSizeHint);
+    }
+
+    @Override
+    public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryStreamConstants.EVENT_UNKEYED_LIST, name, childSizeHint);
+    }
+
+    @Override
+    public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryStreamConstants.EVENT_UNKEYED_LIST_ITEM, name, childSizeHint);
+    }
+
+    @Override
+    public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryStreamConstants.EVENT_MAP, name, childSizeHint);
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        output.writeByte(BinaryStreamConstants.EVENT_MAP_ENTRY);
+        writeIdentifierWithPredicates(identifier);
+        writeSizeHint(childSizeHint);
+    }
+
+    @Override
+    public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryStreamConstants.EVENT_ORDERED_MAP, name, childSizeHint);
+    }
+
+    @Override
+    public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryStreamConstants.EVENT_CHOICE, name, childSizeHint);
+    }
+
+    @Override
+    public void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
+        output.writeByte(BinaryStreamConstants.EVENT_AUGMENTATION);
+        writeAugmentationIdentifier(identifier);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Anyxml values are normally {@link DOMSource}s, which are written as serialized XML. Other values are written
+     * just like leaf values, hence only the value types supported for leaves can be used.
+     *
+     * @throws IOException if the value type is not supported or the XML cannot be serialized
+     */
+    @Override
+    public void anyxmlNode(final NodeIdentifier name, final Object value) throws IOException {
+        output.writeByte(BinaryStreamConstants.EVENT_ANYXML);
+        writeQName(name.getNodeType());
+        writeValue(value);
+    }
+
+    @Override
+    public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryStreamConstants.EVENT_YANG_MODELED_ANYXML, name, childSizeHint);
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        output.writeByte(BinaryStreamConstants.EVENT_END_NODE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (output instanceof Flushable) {
+            ((Flushable) output).flush();
+        }
+    }
+
+    private void startNode(final byte event, final NodeIdentifier name, final int childSizeHint) throws IOException {
+        output.writeByte(event);
+        writeQName(name.getNodeType());
+        writeSizeHint(childSizeHint);
+    }
+
+    private void writeSizeHint(final int childSizeHint) throws IOException {
+        writeSize(childSizeHint < 0 ? 0 : childSizeHint + 1);
+    }
+
+    private void writeIdentifierWithPredicates(final NodeIdentifierWithPredicates identifier) throws IOException {
+        writeQName(identifier.getNodeType());
+        final Set<Entry<QName, Object>> keys = identifier.getKeyValues().entrySet();
+        writeSize(keys.size());
+        for (Entry<QName, Object> e : keys) {
+            writeQName(e.getKey());
+            writeValue(e.getValue());
+        }
+    }
+
+    private void writeAugmentationIdentifier(final AugmentationIdentifier identifier) throws IOException {
+        final Set<QName> names = identifier.getPossibleChildNames();
+        writeSize(names.size());
+        for (QName name : names) {
+            writeQName(name);
+        }
+    }
+
+    private void writeQName(final QName qname) throws IOException {
+        final Integer code = qnames.get(qname);
+        if (code != null) {
+            writeSize(code + 1);
+            return;
+        }
+
+        writeSize(0);
+        writeModule(qname.getModule());
+        writeString(qname.getLocalName());
+        qnames.put(qname, qnames.size());
+    }
+
+    private void writeModule(final QNameModule module) throws IOException {
+        final Integer code = modules.get(module);
+        if (code != null) {
+            writeSize(code + 1);
+            return;
+        }
+
+        writeSize(0);
+        writeString(module.getNamespace().toString());
+        final String revision = module.getFormattedRevision();
+        writeString(revision == null ? "" : revision);
+        modules.put(module, modules.size());
+    }
+
+    private void writeValue(final Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(BinaryStreamConstants.VALUE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(BinaryStreamConstants.VALUE_STRING);
+            writeString((String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? BinaryStreamConstants.VALUE_TRUE : BinaryStreamConstants.VALUE_FALSE);
+        } else if (value instanceof Byte) {
+            output.writeByte(BinaryStreamConstants.VALUE_BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeByte(BinaryStreamConstants.VALUE_SHORT);
+            output.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(BinaryStreamConstants.VALUE_INT);
+            writeSignedLong((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(BinaryStreamConstants.VALUE_LONG);
+            writeSignedLong((Long) value);
+        } else if (value instanceof BigInteger) {
+            output.writeByte(BinaryStreamConstants.VALUE_BIG_INTEGER);
+            writeBytes(((BigInteger) value).toByteArray());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(BinaryStreamConstants.VALUE_BIG_DECIMAL);
+            final BigDecimal decimal = (BigDecimal) value;
+            writeSignedLong(decimal.scale());
+            writeBytes(decimal.unscaledValue().toByteArray());
+        } else if (value instanceof byte[]) {
+            output.writeByte(BinaryStreamConstants.VALUE_BINARY);
+            writeBytes((byte[]) value);
+        } else if (value instanceof Set) {
+            output.writeByte(BinaryStreamConstants.VALUE_BITS);
+            final Set<?> bits = (Set<?>) value;
+            writeSize(bits.size());
+            for (Object bit : bits) {
+                writeString((String) bit);
+            }
+        } else if (value instanceof QName) {
+            output.writeByte(BinaryStreamConstants.VALUE_QNAME);
+            writeQName((QName) value);
+        } else if (value instanceof YangInstanceIdentifier) {
+            output.writeByte(BinaryStreamConstants.VALUE_YANG_INSTANCE_IDENTIFIER);
+            writeYangInstanceIdentifier((YangInstanceIdentifier) value);
+        } else if (value instanceof DOMSource) {
+            output.writeByte(BinaryStreamConstants.VALUE_DOM_SOURCE);
+            writeBytes(serializeXml((DOMSource) value));
+        } else {
+            throw new IOException("Unsupported value " + value.getClass());
+        }
+    }
+
+    private static byte[] serializeXml(final DOMSource source) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try {
+            final Transformer transformer = TRANSFORMER_FACTORY.newTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            transformer.setOutputProperty(OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
+            transformer.transform(source, new StreamResult(bos));
+        } catch (TransformerException e) {
+            throw new IOException("Failed to serialize XML " + source.getNode(), e);
+        }
+        return bos.toByteArray();
+    }
+
+    private void writeString(final String str) throws IOException {
+        writeBytes(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        writeSize(bytes.length);
+        output.write(bytes);
+    }
+
+    private void writeSignedLong(final long value) throws IOException {
+        writeUnsignedLong(value << 1 ^ value >> 63);
+    }
+
+    /**
+     * Write an unsigned variable-length integer. This is exposed to other encoders in this package, which add their
+     * own structure around nodes.
+     *
+     * @param size Non-negative integer
+     * @throws IOException if an underlying IO error occurs
+     */
+    void writeSize(final int size) throws IOException {
+        Preconditions.checkArgument(size >= 0, "Negative size %s", size);
+        writeUnsignedLong(size);
+    }
+
+    private void writeUnsignedLong(final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeByte((int) (remaining & 0x7F | 0x80));
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+}
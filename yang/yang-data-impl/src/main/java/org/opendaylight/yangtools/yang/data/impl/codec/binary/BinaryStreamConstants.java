@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+/**
+ * Constants of the binary stream format.
+ *
+ * <p>
+ * A stream starts with {@link #MAGIC} and {@link #VERSION}, followed by any number of nodes, path arguments and
+ * instance identifiers. Each node is a sequence of events, each of which starts with a tag byte. Sizes and dictionary
+ * codes are encoded as unsigned variable-length integers, seven bits per byte, least significant group first.
+ *
+ * <p>
+ * QNames and QNameModules are dictionary-coded: the first occurrence in the stream is written as {@code 0} followed by
+ * its definition and is assigned the next code, each subsequent occurrence is written as its code plus one.
+ *
+ * <p>
+ * Anyxml values are written as {@link #VALUE_DOM_SOURCE}, followed by the serialized XML of the source node, encoded
+ * in UTF-8.
+ *
+ * <p>
+ * A candidate consists of its root path, the modification of the root node and, if the root has modified children,
+ * the cursor operations which apply them, relative to the root, terminated by {@link #CURSOR_END}.
+ */
+final class BinaryStreamConstants {
+    static final short MAGIC = (short) 0xB1DA;
+    static final byte VERSION = 1;
+
+    static final byte EVENT_END_NODE = 0;
+    static final byte EVENT_LEAF = 1;
+    static final byte EVENT_LEAF_SET = 2;
+    static final byte EVENT_ORDERED_LEAF_SET = 3;
+    static final byte EVENT_LEAF_SET_ENTRY = 4;
+    static final byte EVENT_CONTAINER = 5;
+    static final byte EVENT_UNKEYED_LIST = 6;
+    static final byte EVENT_UNKEYED_LIST_ITEM = 7;
+    static final byte EVENT_MAP = 8;
+    static final byte EVENT_MAP_ENTRY = 9;
+    static final byte EVENT_ORDERED_MAP = 10;
+    static final byte EVENT_CHOICE = 11;
+    static final byte EVENT_AUGMENTATION = 12;
+    static final byte EVENT_ANYXML = 13;
+    static final byte EVENT_YANG_MODELED_ANYXML = 14;
+
+    static final byte ARG_NODE_IDENTIFIER = 1;
+    static final byte ARG_NODE_IDENTIFIER_WITH_PREDICATES = 2;
+    static final byte ARG_NODE_WITH_VALUE = 3;
+    static final byte ARG_AUGMENTATION_IDENTIFIER = 4;
+
+    static final byte VALUE_NULL = 0;
+    static final byte VALUE_STRING = 1;
+    static final byte VALUE_FALSE = 2;
+    static final byte VALUE_TRUE = 3;
+    static final byte VALUE_BYTE = 4;
+    static final byte VALUE_SHORT = 5;
+    static final byte VALUE_INT = 6;
+    static final byte VALUE_LONG = 7;
+    static final byte VALUE_BIG_INTEGER = 8;
+    static final byte VALUE_BIG_DECIMAL = 9;
+    static final byte VALUE_BINARY = 10;
+    static final byte VALUE_BITS = 11;
+    static final byte VALUE_QNAME = 12;
+    static final byte VALUE_YANG_INSTANCE_IDENTIFIER = 13;
+    static final byte VALUE_DOM_SOURCE = 14;
+
+    static final byte CANDIDATE_UNMODIFIED = 0;
+    static final byte CANDIDATE_WRITE = 1;
+    static final byte CANDIDATE_DELETE = 2;
+    static final byte CANDIDATE_SUBTREE_MODIFIED = 3;
+
+    static final byte CURSOR_END = 0;
+    static final byte CURSOR_ENTER = 1;
+    static final byte CURSOR_EXIT = 2;
+    static final byte CURSOR_WRITE = 3;
+    static final byte CURSOR_DELETE = 4;
+
+    private BinaryStreamConstants() {
+        throw new UnsupportedOperationException();
+    }
+}
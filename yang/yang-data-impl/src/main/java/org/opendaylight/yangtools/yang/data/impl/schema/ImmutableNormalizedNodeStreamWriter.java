@@ -18,6 +18,7 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdent
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
@@ -46,6 +47,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOr
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUnkeyedListEntryNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUnkeyedListNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableYangModeledAnyXmlNodeBuilder;
+import org.opendaylight.yangtools.yang.data.util.DataContainerInterner;
 import org.opendaylight.yangtools.yang.data.util.LeafInterner;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
@@ -68,10 +70,18 @@ public class ImmutableNormalizedNodeStreamWriter implements SchemaAwareNormalize
 
     @SuppressWarnings("rawtypes")
     private final Deque<NormalizedNodeContainerBuilder> builders = new ArrayDeque<>();
+    private final DataContainerInterner interner;
     private DataSchemaNode nextSchema;
 
     @SuppressWarnings("rawtypes")
     protected ImmutableNormalizedNodeStreamWriter(final NormalizedNodeContainerBuilder topLevelBuilder) {
+        this(topLevelBuilder, DataContainerInterner.noop());
+    }
+
+    @SuppressWarnings("rawtypes")
+    protected ImmutableNormalizedNodeStreamWriter(final NormalizedNodeContainerBuilder topLevelBuilder,
+            final DataContainerInterner interner) {
+        this.interner = Preconditions.checkNotNull(interner);
         builders.push(topLevelBuilder);
     }
 
@@ -116,6 +126,20 @@ public class ImmutableNormalizedNodeStreamWriter implements SchemaAwareNormalize
         return new ImmutableNormalizedNodeStreamWriter(result);
     }
 
+    /**
+     * Creates a {@link NormalizedNodeStreamWriter} which creates one instance of top level {@link NormalizedNode},
+     * just like {@link #from(NormalizedNodeResult)}, passing each completed container-like node through
+     * an interner. Since nodes are completed bottom-up, identical subtrees end up sharing a single instance.
+     *
+     * @param result {@link NormalizedNodeResult} object which will hold result value.
+     * @param interner Interner to use for completed nodes
+     * @return {@link NormalizedNodeStreamWriter} which will write item to supplied result holder.
+     */
+    public static NormalizedNodeStreamWriter from(final NormalizedNodeResult result,
+            final DataContainerInterner interner) {
+        return new ImmutableNormalizedNodeStreamWriter(new NormalizedNodeResultBuilder(result), interner);
+    }
+
     @SuppressWarnings("rawtypes")
     private NormalizedNodeContainerBuilder getCurrent() {
         return builders.peek();
@@ -140,7 +164,8 @@ public class ImmutableNormalizedNodeStreamWriter implements SchemaAwareNormalize
         final NormalizedNodeContainerBuilder current = getCurrent();
         Preconditions.checkState(current != null, "Reached top level node, which could not be closed in this writer.");
         final NormalizedNode<PathArgument, ?> product = finishedBuilder.build();
-        current.addChild(product);
+        current.addChild(product instanceof DataContainerNode ? interner.intern((DataContainerNode<?>) product)
+                : product);
         nextSchema = null;
     }
 
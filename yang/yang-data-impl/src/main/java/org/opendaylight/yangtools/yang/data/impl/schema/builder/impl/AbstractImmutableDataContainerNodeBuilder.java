@@ -20,11 +20,13 @@ import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContaine
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.CloneableMap;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.DataContainerLayout;
 
 abstract class AbstractImmutableDataContainerNodeBuilder<I extends PathArgument, R extends DataContainerNode<I>> implements DataContainerNodeBuilder<I, R> {
     private static final int DEFAULT_CAPACITY = 4;
     private Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> value;
     private I nodeIdentifier;
+    private DataContainerLayout layout;
 
     /*
      * Tracks whether the builder is dirty, e.g. whether the value map has been used
@@ -59,9 +61,20 @@ abstract class AbstractImmutableDataContainerNodeBuilder<I extends PathArgument,
          * we need.
          */
         this.value = node.getChildren();
+        this.layout = DataContainerLayout.layoutOf(value);
         this.dirty = true;
     }
 
+    /**
+     * Set the layout to use for children of built nodes. Nodes which are re-opened from a node laid out according to
+     * a layout retain it automatically.
+     *
+     * @param layout Layout to use, or null to store children in a map.
+     */
+    protected final void setLayout(final DataContainerLayout layout) {
+        this.layout = layout;
+    }
+
     protected final I getNodeIdentifier() {
         return nodeIdentifier;
     }
@@ -71,6 +84,17 @@ abstract class AbstractImmutableDataContainerNodeBuilder<I extends PathArgument,
     }
 
     protected final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> buildValue() {
+        if (layout != null) {
+            if (DataContainerLayout.layoutOf(value) == layout) {
+                // Unmodified children of the original node
+                return value;
+            }
+
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> slots = layout.layOut(value);
+            if (slots != null) {
+                return slots;
+            }
+        }
         if (value instanceof ModifiableMapPhase) {
             return ((ModifiableMapPhase<PathArgument, DataContainerChild<? extends PathArgument, ?>>)value).toUnmodifiableMap();
         }
@@ -7,7 +7,9 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
+import com.google.common.base.Preconditions;
 import java.util.Map;
+import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -15,6 +17,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerAttrNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.DataContainerLayout;
 
 public class ImmutableContainerNodeBuilder extends AbstractImmutableDataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> {
 
@@ -45,6 +48,37 @@ public class ImmutableContainerNodeBuilder extends AbstractImmutableDataContaine
         return new ImmutableContainerNodeBuilder((ImmutableContainerNode) node);
     }
 
+    /**
+     * Create a builder which lays out children of built nodes according to a {@link DataContainerLayout}.
+     *
+     * @param layout Layout of children
+     * @return A new builder
+     */
+    public static DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> create(
+            @Nonnull final DataContainerLayout layout) {
+        final ImmutableContainerNodeBuilder ret = new ImmutableContainerNodeBuilder();
+        ret.setLayout(Preconditions.checkNotNull(layout));
+        return ret;
+    }
+
+    /**
+     * Create a builder initialized from an existing node, which lays out children of built nodes according
+     * to a {@link DataContainerLayout}.
+     *
+     * @param layout Layout of children
+     * @param node Original node
+     * @return A new builder
+     */
+    public static DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> create(
+            @Nonnull final DataContainerLayout layout, final ContainerNode node) {
+        if (!(node instanceof ImmutableContainerNode)) {
+            throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
+        }
+        final ImmutableContainerNodeBuilder ret = new ImmutableContainerNodeBuilder((ImmutableContainerNode) node);
+        ret.setLayout(Preconditions.checkNotNull(layout));
+        return ret;
+    }
+
     @Override
     public ContainerNode build() {
         return new ImmutableContainerNode(getNodeIdentifier(), buildValue(), getAttributes());
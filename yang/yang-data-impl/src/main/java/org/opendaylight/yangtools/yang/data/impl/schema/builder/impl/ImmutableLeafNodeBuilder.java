@@ -7,11 +7,19 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.google.common.primitives.Shorts;
+import java.math.BigInteger;
 import java.util.Map;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.IntegralLeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedValueAttrNode;
 
 public class ImmutableLeafNodeBuilder<T> extends AbstractImmutableNormalizedNodeBuilder<NodeIdentifier, T, LeafNode<T>> {
@@ -21,8 +29,29 @@ public class ImmutableLeafNodeBuilder<T> extends AbstractImmutableNormalizedNode
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public LeafNode<T> build() {
-        return new ImmutableLeafNode<>(getNodeIdentifier(), getValue(), getAttributes());
+        final T value = getValue();
+
+        /*
+         * Integral values are stored in primitive fields, so we do not keep their boxed representation around. Note
+         * that leaf node equality requires both nodes to be of the same class, hence the choice of implementation has
+         * to depend only on the value.
+         */
+        if (value instanceof Integer) {
+            return (LeafNode<T>) new IntLeafNode(getNodeIdentifier(), (Integer) value, getAttributes());
+        }
+        if (value instanceof Long) {
+            return (LeafNode<T>) new LongLeafNode(getNodeIdentifier(), (Long) value, getAttributes());
+        }
+        if (value instanceof Short) {
+            return (LeafNode<T>) new ShortLeafNode(getNodeIdentifier(), (Short) value, getAttributes());
+        }
+        if (value instanceof BigInteger && Uint64LeafNode.isUint64((BigInteger) value)) {
+            return (LeafNode<T>) new Uint64LeafNode(getNodeIdentifier(), (BigInteger) value, getAttributes());
+        }
+
+        return new ImmutableLeafNode<>(getNodeIdentifier(), value, getAttributes());
     }
 
     private static final class ImmutableLeafNode<T> extends AbstractImmutableNormalizedValueAttrNode<NodeIdentifier, T> implements LeafNode<T> {
@@ -31,4 +60,149 @@ public class ImmutableLeafNodeBuilder<T> extends AbstractImmutableNormalizedNode
             super(nodeIdentifier, value, attributes);
         }
     }
+
+    private abstract static class AbstractIntegralLeafNode<T extends Number>
+            extends AbstractImmutableNormalizedNode<NodeIdentifier, T> implements IntegralLeafNode<T> {
+        private final Map<QName, String> attributes;
+
+        AbstractIntegralLeafNode(final NodeIdentifier nodeIdentifier, final Map<QName, String> attributes) {
+            super(nodeIdentifier);
+            this.attributes = ImmutableMap.copyOf(attributes);
+        }
+
+        @Override
+        public final Map<QName, String> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public final Object getAttributeValue(final QName value) {
+            return attributes.get(value);
+        }
+
+        @Override
+        protected final ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
+            return super.addToStringAttributes(toStringHelper).add("attributes", attributes);
+        }
+
+        @Override
+        protected final boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
+            // Callers guarantee other is of the same class
+            return longValue() == ((AbstractIntegralLeafNode<?>) other).longValue();
+        }
+    }
+
+    private static final class ShortLeafNode extends AbstractIntegralLeafNode<Short> {
+        private final short value;
+
+        ShortLeafNode(final NodeIdentifier nodeIdentifier, final short value, final Map<QName, String> attributes) {
+            super(nodeIdentifier, attributes);
+            this.value = value;
+        }
+
+        @Override
+        public Short getValue() {
+            return value;
+        }
+
+        @Override
+        public long longValue() {
+            return value;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return Shorts.hashCode(value);
+        }
+    }
+
+    private static final class IntLeafNode extends AbstractIntegralLeafNode<Integer> {
+        private final int value;
+
+        IntLeafNode(final NodeIdentifier nodeIdentifier, final int value, final Map<QName, String> attributes) {
+            super(nodeIdentifier, attributes);
+            this.value = value;
+        }
+
+        @Override
+        public Integer getValue() {
+            return value;
+        }
+
+        @Override
+        public long longValue() {
+            return value;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return Ints.hashCode(value);
+        }
+    }
+
+    private static final class LongLeafNode extends AbstractIntegralLeafNode<Long> {
+        private final long value;
+
+        LongLeafNode(final NodeIdentifier nodeIdentifier, final long value, final Map<QName, String> attributes) {
+            super(nodeIdentifier, attributes);
+            this.value = value;
+        }
+
+        @Override
+        public Long getValue() {
+            return value;
+        }
+
+        @Override
+        public long longValue() {
+            return value;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return Longs.hashCode(value);
+        }
+    }
+
+    /**
+     * Leaf holding a uint64 value, which is represented as a {@link BigInteger}, but always fits into 64 bits. Values
+     * which do not fit into a long also retain the original BigInteger, so that it does not have to be re-created on
+     * each access.
+     */
+    private static final class Uint64LeafNode extends AbstractIntegralLeafNode<BigInteger> {
+        private final BigInteger largeValue;
+        private final long bits;
+
+        Uint64LeafNode(final NodeIdentifier nodeIdentifier, final BigInteger value,
+                final Map<QName, String> attributes) {
+            super(nodeIdentifier, attributes);
+            this.bits = value.longValue();
+            this.largeValue = bits < 0 ? value : null;
+        }
+
+        static boolean isUint64(final BigInteger value) {
+            return value.signum() >= 0 && value.bitLength() <= Long.SIZE;
+        }
+
+        @Override
+        public BigInteger getValue() {
+            return largeValue != null ? largeValue : BigInteger.valueOf(bits);
+        }
+
+        @Override
+        public long longValue() {
+            return bits;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            /*
+             * Same as BigInteger.hashCode() of the unsigned value: it hashes the big-endian 32-bit words of
+             * the magnitude, without leading zero words, and multiplies the result by signum, which is 1 here.
+             */
+            final int hi = (int) (bits >>> Integer.SIZE);
+            final int lo = (int) bits;
+            return hi != 0 ? 31 * hi + lo : lo;
+        }
+    }
 }
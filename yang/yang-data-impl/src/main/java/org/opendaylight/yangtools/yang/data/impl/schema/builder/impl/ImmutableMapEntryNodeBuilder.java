@@ -7,10 +7,12 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
+import com.google.common.base.Preconditions;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
@@ -22,6 +24,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.valid.DataValidationException;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerAttrNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.DataContainerLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,6 +64,37 @@ public class ImmutableMapEntryNodeBuilder extends AbstractImmutableDataContainer
         return new ImmutableMapEntryNodeBuilder((ImmutableMapEntryNode)node);
     }
 
+    /**
+     * Create a builder which lays out children of built nodes according to a {@link DataContainerLayout}.
+     *
+     * @param layout Layout of children
+     * @return A new builder
+     */
+    public static DataContainerNodeAttrBuilder<NodeIdentifierWithPredicates, MapEntryNode> create(
+            @Nonnull final DataContainerLayout layout) {
+        final ImmutableMapEntryNodeBuilder ret = new ImmutableMapEntryNodeBuilder();
+        ret.setLayout(Preconditions.checkNotNull(layout));
+        return ret;
+    }
+
+    /**
+     * Create a builder initialized from an existing node, which lays out children of built nodes according
+     * to a {@link DataContainerLayout}.
+     *
+     * @param layout Layout of children
+     * @param node Original node
+     * @return A new builder
+     */
+    public static DataContainerNodeAttrBuilder<NodeIdentifierWithPredicates, MapEntryNode> create(
+            @Nonnull final DataContainerLayout layout, final MapEntryNode node) {
+        if (!(node instanceof ImmutableMapEntryNode)) {
+            throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
+        }
+        final ImmutableMapEntryNodeBuilder ret = new ImmutableMapEntryNodeBuilder((ImmutableMapEntryNode) node);
+        ret.setLayout(Preconditions.checkNotNull(layout));
+        return ret;
+    }
+
     private static void fillQnames(final Iterable<DataContainerChild<? extends PathArgument, ?>> iterable, final Map<QName, PathArgument> out) {
         for (final DataContainerChild<? extends PathArgument, ?> childId : iterable) {
             final PathArgument identifier = childId.getIdentifier();
@@ -8,12 +8,8 @@
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
 import com.google.common.base.Optional;
-import com.google.common.collect.Iterables;
 import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import org.opendaylight.yangtools.concepts.Immutable;
-import org.opendaylight.yangtools.util.UnmodifiableCollection;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -22,32 +18,28 @@ import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
-import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableCachedHashNode;
 
+/**
+ * Builder of {@link OrderedMapNode}s. Children are held in a persistent structure, so that re-opening an existing
+ * node does not copy its children and each added or removed child costs O(log n), sharing the rest of the structure
+ * with the original node. Until {@link #build()} is invoked, the structure is updated in place.
+ */
 public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<MapEntryNode, OrderedMapNode> {
-    private static final int DEFAULT_CAPACITY = 4;
-    private Map<NodeIdentifierWithPredicates, MapEntryNode> value;
+    private final PersistentEntryList.Builder value;
     private NodeIdentifier nodeIdentifier;
-    private boolean dirty;
 
     protected ImmutableOrderedMapNodeBuilder() {
-        this.value = new LinkedHashMap<>(DEFAULT_CAPACITY);
-        this.dirty = false;
+        this.value = new PersistentEntryList.Builder(0);
     }
 
     protected ImmutableOrderedMapNodeBuilder(final int sizeHint) {
-        if (sizeHint >= 0) {
-            this.value = new LinkedHashMap<>(sizeHint + sizeHint / 3);
-        } else {
-            this.value = new LinkedHashMap<>(DEFAULT_CAPACITY);
-        }
-        this.dirty = false;
+        this.value = new PersistentEntryList.Builder(sizeHint);
     }
 
     protected ImmutableOrderedMapNodeBuilder(final ImmutableOrderedMapNode node) {
         this.nodeIdentifier = node.getIdentifier();
-        this.value = node.children;
-        this.dirty = true;
+        this.value = new PersistentEntryList.Builder(node.children);
     }
 
     public static CollectionNodeBuilder<MapEntryNode, OrderedMapNode> create() {
@@ -66,24 +58,15 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
         return new ImmutableOrderedMapNodeBuilder((ImmutableOrderedMapNode) node);
     }
 
-    private void checkDirty() {
-        if (dirty) {
-            value = new LinkedHashMap<>(value);
-            dirty = false;
-        }
-    }
-
     @Override
     public CollectionNodeBuilder<MapEntryNode, OrderedMapNode> withChild(final MapEntryNode child) {
-        checkDirty();
-        this.value.put(child.getIdentifier(), child);
+        value.put(child);
         return this;
     }
 
     @Override
     public CollectionNodeBuilder<MapEntryNode, OrderedMapNode> withoutChild(final PathArgument key) {
-        checkDirty();
-        this.value.remove(key);
+        value.remove(key);
         return this;
     }
 
@@ -105,8 +88,7 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
     @Override
     public OrderedMapNode build() {
-        dirty = true;
-        return new ImmutableOrderedMapNode(nodeIdentifier, value);
+        return new ImmutableOrderedMapNode(nodeIdentifier, value.build());
     }
 
     @Override
@@ -122,12 +104,11 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
         return withoutChild(key);
     }
 
-    protected static final class ImmutableOrderedMapNode extends AbstractImmutableNormalizedNode<NodeIdentifier, Collection<MapEntryNode>> implements Immutable, OrderedMapNode {
+    protected static final class ImmutableOrderedMapNode extends AbstractImmutableCachedHashNode<NodeIdentifier, Collection<MapEntryNode>> implements Immutable, OrderedMapNode {
 
-        private final Map<NodeIdentifierWithPredicates, MapEntryNode> children;
+        private final PersistentEntryList children;
 
-        ImmutableOrderedMapNode(final NodeIdentifier nodeIdentifier,
-                         final Map<NodeIdentifierWithPredicates, MapEntryNode> children) {
+        ImmutableOrderedMapNode(final NodeIdentifier nodeIdentifier, final PersistentEntryList children) {
             super(nodeIdentifier);
             this.children = children;
         }
@@ -138,18 +119,18 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
         }
 
         @Override
-        protected int valueHashCode() {
+        protected int computeValueHashCode() {
             return children.hashCode();
         }
 
         @Override
-        protected boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
+        protected boolean childrenEqual(final AbstractImmutableCachedHashNode<?, ?> other) {
             return children.equals(((ImmutableOrderedMapNode) other).children);
         }
 
         @Override
         public MapEntryNode getChild(final int position) {
-            return Iterables.get(children.values(), position);
+            return children.get(position);
         }
 
         @Override
@@ -159,7 +140,7 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
         @Override
         public Collection<MapEntryNode> getValue() {
-            return UnmodifiableCollection.create(children.values());
+            return children.values();
         }
     }
 }
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.opendaylight.yangtools.util.ImmutableHashTrieMap;
+import org.opendaylight.yangtools.util.MutableHashTrieMap;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+
+/**
+ * Persistent list of map entries in user order, indexed by their identifiers. Entries are kept in a 32-way vector
+ * trie in order of their insertion, each node of which tracks the number of entries present beneath it, with an
+ * {@link ImmutableHashTrieMap} mapping identifiers to slots. Every update copies only a single path in both tries,
+ * so it costs O(log32 n) and the result shares all other nodes with the original list.
+ *
+ * <p>
+ * Replacing an entry retains its position, adding a new one appends it at the end. Removed entries leave an empty
+ * slot behind, which is reclaimed when the list is compacted once more than half of its slots are empty.
+ *
+ * <p>
+ * Bulk updates should go through a {@link Builder}, which updates the nodes it has created in place, just like
+ * {@link MutableHashTrieMap} does, so that appending entries one by one costs amortized O(1) allocations.
+ */
+final class PersistentEntryList implements Iterable<MapEntryNode> {
+    private static final class Node {
+        // Builder which may update this node in place
+        final Object owner;
+        final Object[] slots;
+        int size;
+
+        Node(final Object owner, final Object[] slots, final int size) {
+            this.owner = owner;
+            this.slots = slots;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Transient version of a {@link PersistentEntryList}. Nodes created by this builder are updated in place until
+     * {@link #build()} is invoked, after which they are shared with the resulting list and further modifications copy
+     * them again.
+     */
+    static final class Builder {
+        private final MutableHashTrieMap<NodeIdentifierWithPredicates, Integer> index;
+        private Object owner = new Object();
+        private Node root;
+        private int shift;
+        private int slotCount;
+
+        Builder(final int sizeHint) {
+            this.index = new MutableHashTrieMap<>();
+
+            // Start with a trie deep enough to hold the expected number of entries, so it does not need to grow
+            while (shift < MAX_INITIAL_SHIFT && sizeHint > WIDTH << shift) {
+                shift += BITS;
+            }
+        }
+
+        Builder(final PersistentEntryList list) {
+            this.index = list.index.toModifiableMap();
+            this.root = list.root;
+            this.shift = list.shift;
+            this.slotCount = list.slotCount;
+        }
+
+        /**
+         * Add an entry. If an entry with the same identifier is already present, it is replaced and the new entry
+         * takes its position, otherwise the entry is appended.
+         *
+         * @param entry Entry to add
+         * @return This builder
+         */
+        Builder put(final MapEntryNode entry) {
+            final NodeIdentifierWithPredicates key = entry.getIdentifier();
+            final Integer existing = index.get(key);
+            if (existing != null) {
+                set(existing, entry, 0);
+                return this;
+            }
+
+            if (root != null && slotCount == WIDTH << shift) {
+                // Trie is full, add a level
+                final Node newRoot = new Node(owner, new Object[WIDTH], root.size);
+                newRoot.slots[0] = root;
+                root = newRoot;
+                shift += BITS;
+            }
+
+            index.put(key, slotCount);
+            set(slotCount++, entry, 1);
+            return this;
+        }
+
+        /**
+         * Remove an entry, if present.
+         *
+         * @param key Identifier of the entry to remove
+         * @return This builder
+         */
+        Builder remove(final Object key) {
+            final Integer slot = index.remove(key);
+            if (slot != null) {
+                set(slot, null, -1);
+            }
+            return this;
+        }
+
+        private Node editable(final Node node) {
+            if (node == null) {
+                return new Node(owner, new Object[WIDTH], 0);
+            }
+            return node.owner == owner ? node : new Node(owner, node.slots.clone(), node.size);
+        }
+
+        private void set(final int slot, final Object value, final int sizeDelta) {
+            root = editable(root);
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node.size += sizeDelta;
+                final int offset = (slot >>> level) & MASK;
+                final Node child = editable((Node) node.slots[offset]);
+                node.slots[offset] = child;
+                node = child;
+            }
+            node.size += sizeDelta;
+            node.slots[slot & MASK] = value;
+        }
+
+        PersistentEntryList build() {
+            if (index.isEmpty()) {
+                return EMPTY;
+            }
+
+            // Any further modifications need to copy the nodes we are handing out
+            owner = new Object();
+            final PersistentEntryList ret = new PersistentEntryList(index.toUnmodifiableMap(), root, shift,
+                slotCount);
+            return slotCount > 2 * ret.size() + WIDTH ? ret.compact() : ret;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<MapEntryNode> {
+        private Object[] leaf;
+        private int slot = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            do {
+                slot++;
+                if (slot >= slotCount) {
+                    leaf = null;
+                    return;
+                }
+                if ((slot & MASK) == 0 || leaf == null) {
+                    leaf = leafFor(slot);
+                }
+            } while (leaf[slot & MASK] == null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        @Override
+        public MapEntryNode next() {
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+
+            final MapEntryNode ret = (MapEntryNode) leaf[slot & MASK];
+            advance();
+            return ret;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    // Deepest trie created up front, 2^30 slots
+    private static final int MAX_INITIAL_SHIFT = 25;
+
+    static final PersistentEntryList EMPTY = new PersistentEntryList(
+        ImmutableHashTrieMap.<NodeIdentifierWithPredicates, Integer>of(), null, 0, 0);
+
+    private final ImmutableHashTrieMap<NodeIdentifierWithPredicates, Integer> index;
+    private final Node root;
+    // Shift of the root level, leaves are at shift 0
+    private final int shift;
+    // Number of used slots, including empty ones
+    private final int slotCount;
+
+    private PersistentEntryList(final ImmutableHashTrieMap<NodeIdentifierWithPredicates, Integer> index,
+            final Node root, final int shift, final int slotCount) {
+        this.index = index;
+        this.root = root;
+        this.shift = shift;
+        this.slotCount = slotCount;
+    }
+
+    private Object[] leafFor(final int slot) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.slots[(slot >>> level) & MASK];
+        }
+        return node.slots;
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    MapEntryNode get(final Object key) {
+        final Integer slot = index.get(key);
+        return slot == null ? null : (MapEntryNode) leafFor(slot)[slot & MASK];
+    }
+
+    MapEntryNode get(final int position) {
+        Preconditions.checkElementIndex(position, size());
+
+        int remaining = position;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            for (Object obj : node.slots) {
+                final Node child = (Node) obj;
+                if (child != null) {
+                    if (remaining < child.size) {
+                        node = child;
+                        break;
+                    }
+                    remaining -= child.size;
+                }
+            }
+        }
+
+        for (Object obj : node.slots) {
+            if (obj != null) {
+                if (remaining == 0) {
+                    return (MapEntryNode) obj;
+                }
+                remaining--;
+            }
+        }
+
+        throw new IllegalStateException("Inconsistent entry counts in " + this);
+    }
+
+    /**
+     * Return a list with an entry added. If an entry with the same identifier is already present, it is replaced
+     * and the new entry takes its position, otherwise the entry is appended.
+     *
+     * @param entry Entry to add
+     * @return A new list
+     */
+    PersistentEntryList put(final MapEntryNode entry) {
+        return new Builder(this).put(entry).build();
+    }
+
+    /**
+     * Return a list with an entry removed.
+     *
+     * @param key Identifier of the entry to remove
+     * @return A new list, or this list if it does not contain the entry
+     */
+    PersistentEntryList remove(final Object key) {
+        return index.containsKey(key) ? new Builder(this).remove(key).build() : this;
+    }
+
+    private PersistentEntryList compact() {
+        final Builder builder = new Builder(size());
+        for (MapEntryNode entry : this) {
+            builder.put(entry);
+        }
+        return builder.build();
+    }
+
+    Collection<MapEntryNode> values() {
+        return new AbstractCollection<MapEntryNode>() {
+            @Override
+            public Iterator<MapEntryNode> iterator() {
+                return PersistentEntryList.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return PersistentEntryList.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<MapEntryNode> iterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as java.util.Map.hashCode() of the identifier-to-entry mapping
+        int ret = 0;
+        for (MapEntryNode entry : this) {
+            ret += entry.getIdentifier().hashCode() ^ entry.hashCode();
+        }
+        return ret;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PersistentEntryList)) {
+            return false;
+        }
+
+        // Same as java.util.Map.equals() of the identifier-to-entry mapping, hence ignoring order
+        final PersistentEntryList other = (PersistentEntryList) obj;
+        if (size() != other.size()) {
+            return false;
+        }
+        for (MapEntryNode entry : this) {
+            if (!entry.equals(other.get(entry.getIdentifier()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return values().toString();
+    }
+}
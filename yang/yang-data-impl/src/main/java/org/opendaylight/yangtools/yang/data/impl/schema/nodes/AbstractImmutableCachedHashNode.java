@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import com.google.common.annotations.Beta;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * Base class for immutable nodes holding other nodes, whose value hash code is expensive to compute. The hash code
+ * is computed on first access and cached, hence nodes with differing hash codes can be told apart without walking
+ * their children.
+ *
+ * <p>
+ * {@link #valueHashCode()} and {@link #valueEquals(AbstractImmutableNormalizedNode)} remain overridable, so that
+ * subclasses which customized them before this class was introduced keep working. Such subclasses do not benefit from
+ * the cache unless they delegate to the implementations provided here.
+ *
+ * @param <K> Identifier type
+ * @param <V> Value type
+ */
+@Beta
+public abstract class AbstractImmutableCachedHashNode<K extends PathArgument, V>
+        extends AbstractImmutableNormalizedNode<K, V> {
+    /*
+     * Cached value hash code, computed lazily. We use the racy single-check idiom, just like String.hashCode(),
+     * so a racing thread may end up recomputing the value, which is fine as the result is always the same.
+     * A value hash code of 0 is never cached, which is acceptable as it is rare.
+     */
+    private transient int valueHash;
+
+    protected AbstractImmutableCachedHashNode(final K nodeIdentifier) {
+        super(nodeIdentifier);
+    }
+
+    @Override
+    protected int valueHashCode() {
+        int local = valueHash;
+        if (local == 0) {
+            local = computeValueHashCode();
+            valueHash = local;
+        }
+        return local;
+    }
+
+    @Override
+    protected boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
+        if (!(other instanceof AbstractImmutableCachedHashNode)) {
+            return false;
+        }
+
+        final AbstractImmutableCachedHashNode<?, ?> o = (AbstractImmutableCachedHashNode<?, ?>) other;
+        return valueHashCode() == o.valueHashCode() && childrenEqual(o);
+    }
+
+    /**
+     * Compute the hash code of this node's value.
+     *
+     * @return Value hash code
+     */
+    protected abstract int computeValueHashCode();
+
+    /**
+     * Compare the value of this node against a node of the same class, which is known to have the same value hash
+     * code.
+     *
+     * @param other Other node
+     * @return True if the values are equal
+     */
+    protected abstract boolean childrenEqual(AbstractImmutableCachedHashNode<?, ?> other);
+}
@@ -17,32 +17,57 @@ import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
 
 public abstract class AbstractImmutableDataContainerNode<K extends PathArgument>
-        extends AbstractImmutableNormalizedNode<K, Collection<DataContainerChild<? extends PathArgument, ?>>>
+        extends AbstractImmutableCachedHashNode<K, Collection<DataContainerChild<? extends PathArgument, ?>>>
         implements Immutable, DataContainerNode<K> {
-    private final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children;
+    /*
+     * Either an unmodifiable Map, or an Object[] of slots as defined by SlotChildrenMap. The latter is used for
+     * children laid out by a DataContainerLayout, which does not require a per-instance map object.
+     */
+    private final Object children;
 
     public AbstractImmutableDataContainerNode(
             final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children, final K nodeIdentifier) {
         super(nodeIdentifier);
 
-        this.children = ImmutableOffsetMap.unorderedCopyOf(children);
+        if (children instanceof SlotChildrenMap) {
+            this.children = ((SlotChildrenMap) children).getSlots();
+        } else {
+            this.children = ImmutableOffsetMap.unorderedCopyOf(children);
+        }
     }
 
     @Override
     public final Optional<DataContainerChild<? extends PathArgument, ?>> getChild(final PathArgument child) {
-        return Optional.<DataContainerChild<? extends PathArgument, ?>> fromNullable(children.get(child));
+        final DataContainerChild<? extends PathArgument, ?> ret;
+        if (children instanceof Object[]) {
+            ret = SlotChildrenMap.get((Object[]) children, child);
+        } else {
+            ret = childrenMap().get(child);
+        }
+        return Optional.<DataContainerChild<? extends PathArgument, ?>> fromNullable(ret);
     }
 
     @Override
     public final Collection<DataContainerChild<? extends PathArgument, ?>> getValue() {
-        return children.values();
+        if (children instanceof Object[]) {
+            return SlotChildrenMap.values((Object[]) children);
+        }
+        return childrenMap().values();
     }
 
     @Override
-    protected int valueHashCode() {
+    protected final int computeValueHashCode() {
+        if (children instanceof Object[]) {
+            return SlotChildrenMap.hashCode((Object[]) children);
+        }
         return children.hashCode();
     }
 
+    @SuppressWarnings("unchecked")
+    private Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> childrenMap() {
+        return (Map<PathArgument, DataContainerChild<? extends PathArgument, ?>>) children;
+    }
+
     /**
      * DO NOT USE THIS METHOD.
      *
@@ -53,13 +78,25 @@ public abstract class AbstractImmutableDataContainerNode<K extends PathArgument>
      * @return An unmodifiable view if this node's children.
      */
     public final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> getChildren() {
-        return children;
+        if (children instanceof Object[]) {
+            return new SlotChildrenMap((Object[]) children);
+        }
+        return childrenMap();
     }
 
     @Override
-    protected boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
-        return other instanceof AbstractImmutableDataContainerNode<?> && children.equals(
-                ((AbstractImmutableDataContainerNode<?>) other).children);
+    protected final boolean childrenEqual(final AbstractImmutableCachedHashNode<?, ?> other) {
+        if (!(other instanceof AbstractImmutableDataContainerNode<?>)) {
+            return false;
+        }
 
+        final Object otherChildren = ((AbstractImmutableDataContainerNode<?>) other).children;
+        if (children instanceof Object[]) {
+            return SlotChildrenMap.equals((Object[]) children, otherChildren);
+        }
+        if (otherChildren instanceof Object[]) {
+            return SlotChildrenMap.equals((Object[]) otherChildren, children);
+        }
+        return children.equals(otherChildren);
     }
 }
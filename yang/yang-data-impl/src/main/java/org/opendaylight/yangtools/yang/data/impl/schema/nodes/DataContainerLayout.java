@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.impl.schema.SchemaUtils;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+/**
+ * Layout of children of a data container node, as defined by its schema. Each possible child is assigned a fixed
+ * slot, so that nodes of the same schema node can store their children in a plain array instead of a per-instance
+ * map. Absent children are represented by empty slots.
+ *
+ * <p>
+ * Layouts are computed once per {@link DataNodeContainer} and shared by all nodes created from it.
+ */
+@Beta
+public final class DataContainerLayout {
+    private static final LoadingCache<DataNodeContainer, DataContainerLayout> LAYOUTS = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<DataNodeContainer, DataContainerLayout>() {
+                @Override
+                public DataContainerLayout load(@Nonnull final DataNodeContainer key) {
+                    return new DataContainerLayout(key);
+                }
+            });
+
+    private final Map<PathArgument, Integer> offsets;
+    private final PathArgument[] keys;
+    // Number of slots holding children other than augmentations
+    private final int childSlots;
+
+    private DataContainerLayout(final DataNodeContainer schema) {
+        final Map<PathArgument, Integer> map = new HashMap<>();
+        addChildren(map, schema);
+        offsets = ImmutableMap.copyOf(map);
+
+        keys = new PathArgument[map.size()];
+        int nonAugmentations = 0;
+        for (Entry<PathArgument, Integer> e : offsets.entrySet()) {
+            keys[e.getValue()] = e.getKey();
+            if (!(e.getKey() instanceof AugmentationIdentifier)) {
+                nonAugmentations++;
+            }
+        }
+        childSlots = nonAugmentations;
+    }
+
+    private static void addChild(final Map<PathArgument, Integer> map, final PathArgument child) {
+        if (!map.containsKey(child)) {
+            map.put(child, map.size());
+        }
+    }
+
+    /**
+     * Map all direct children, using the same rules as DataNodeContainerValidator: cases do not exist in
+     * NormalizedNode API, augmentations are addressed by their identifier. Unlike the validator, we skip children
+     * introduced by augmentations, as they are stored in augmentation nodes rather than directly.
+     */
+    private static void addChildren(final Map<PathArgument, Integer> map, final DataNodeContainer schema) {
+        final Set<QName> augmented = new HashSet<>();
+        if (schema instanceof AugmentationTarget) {
+            for (AugmentationSchema augmentation : ((AugmentationTarget) schema).getAvailableAugmentations()) {
+                for (DataSchemaNode child : augmentation.getChildNodes()) {
+                    augmented.add(child.getQName());
+                }
+            }
+        }
+
+        for (DataSchemaNode child : schema.getChildNodes()) {
+            if (child instanceof ChoiceCaseNode) {
+                addChildren(map, (ChoiceCaseNode) child);
+            } else if (!(child instanceof AugmentationSchema) && !augmented.contains(child.getQName())) {
+                addChild(map, NodeIdentifier.create(child.getQName()));
+            }
+        }
+
+        if (schema instanceof AugmentationTarget) {
+            for (AugmentationSchema augmentation : ((AugmentationTarget) schema).getAvailableAugmentations()) {
+                addChild(map, SchemaUtils.getNodeIdentifierForAugmentation(augmentation));
+            }
+        }
+    }
+
+    /**
+     * Return the layout corresponding to a schema node.
+     *
+     * @param schema Schema node
+     * @return Shared layout instance
+     */
+    public static DataContainerLayout forSchema(@Nonnull final DataNodeContainer schema) {
+        return LAYOUTS.getUnchecked(Preconditions.checkNotNull(schema));
+    }
+
+    /**
+     * Return the layout used by a children map previously returned from
+     * {@link AbstractImmutableDataContainerNode#getChildren()}.
+     *
+     * @param children Children map
+     * @return Layout of the map, or null if the map is not laid out according to a schema.
+     */
+    @Nullable
+    public static DataContainerLayout layoutOf(final Map<PathArgument, ?> children) {
+        return children instanceof SlotChildrenMap ? ((SlotChildrenMap) children).getLayout() : null;
+    }
+
+    /**
+     * Lay out a set of children according to this layout. Children are stored in slots only if all of them are known
+     * to this layout and they occupy at least half of the slots of non-augmentation children, so that sparsely
+     * populated nodes do not end up using more memory than they would with a dedicated map. Augmentation slots are
+     * not counted, as augmentations are typically absent.
+     *
+     * @param children Children to lay out
+     * @return An immutable map of children, or null if the children should not be laid out.
+     */
+    @Nullable
+    public Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> layOut(
+            @Nonnull final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children) {
+        if (children.size() * 2 < childSlots) {
+            return null;
+        }
+
+        final Object[] slots = new Object[keys.length + 1];
+        slots[0] = this;
+        for (Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> e : children.entrySet()) {
+            final Integer offset = offsets.get(e.getKey());
+            if (offset == null) {
+                return null;
+            }
+            slots[offset + 1] = Preconditions.checkNotNull(e.getValue());
+        }
+        return new SlotChildrenMap(slots);
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    PathArgument keyAt(final int offset) {
+        return keys[offset];
+    }
+
+    int offsetOf(final Object key) {
+        final Integer offset = offsets.get(key);
+        return offset == null ? -1 : offset;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("children", offsets.keySet()).toString();
+    }
+}
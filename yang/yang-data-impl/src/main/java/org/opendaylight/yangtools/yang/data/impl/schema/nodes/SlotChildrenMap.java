@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import com.google.common.collect.Maps;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+
+/**
+ * Unmodifiable view of children stored in a slot array. The first element of the array is the
+ * {@link DataContainerLayout}, the remaining elements are children indexed by their offset in that layout, or null
+ * if the child is not present. The view does not retain anything but the array, so it can be created on demand.
+ */
+final class SlotChildrenMap implements CloneableMap<PathArgument, DataContainerChild<? extends PathArgument, ?>> {
+    private abstract static class SlotIterator<E> implements Iterator<E> {
+        final Object[] slots;
+        private int next;
+
+        SlotIterator(final Object[] slots) {
+            this.slots = slots;
+            this.next = nextSlot(1);
+        }
+
+        private int nextSlot(final int from) {
+            int ret = from;
+            while (ret < slots.length && slots[ret] == null) {
+                ret++;
+            }
+            return ret;
+        }
+
+        @Override
+        public final boolean hasNext() {
+            return next < slots.length;
+        }
+
+        @Override
+        public final E next() {
+            if (next >= slots.length) {
+                throw new NoSuchElementException();
+            }
+
+            final int slot = next;
+            next = nextSlot(slot + 1);
+            return element(slot);
+        }
+
+        @Override
+        public final void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        abstract E element(int slot);
+    }
+
+    private static final class SlotValues extends AbstractCollection<DataContainerChild<? extends PathArgument, ?>> {
+        private final Object[] slots;
+
+        SlotValues(final Object[] slots) {
+            this.slots = slots;
+        }
+
+        @Override
+        public Iterator<DataContainerChild<? extends PathArgument, ?>> iterator() {
+            return new SlotIterator<DataContainerChild<? extends PathArgument, ?>>(slots) {
+                @Override
+                DataContainerChild<? extends PathArgument, ?> element(final int slot) {
+                    return child(slots, slot);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return SlotChildrenMap.size(slots);
+        }
+    }
+
+    private final Object[] slots;
+
+    SlotChildrenMap(final Object[] slots) {
+        this.slots = slots;
+    }
+
+    static DataContainerChild<? extends PathArgument, ?> get(final Object[] slots, final Object key) {
+        final int offset = ((DataContainerLayout) slots[0]).offsetOf(key);
+        return offset < 0 ? null : child(slots, offset + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DataContainerChild<? extends PathArgument, ?> child(final Object[] slots, final int slot) {
+        return (DataContainerChild<? extends PathArgument, ?>) slots[slot];
+    }
+
+    Object[] getSlots() {
+        return slots;
+    }
+
+    DataContainerLayout getLayout() {
+        return (DataContainerLayout) slots[0];
+    }
+
+    /*
+     * The following static methods operate directly on a slot array, so that nodes do not need to instantiate a view
+     * for common operations.
+     */
+    static Collection<DataContainerChild<? extends PathArgument, ?>> values(final Object[] slots) {
+        return new SlotValues(slots);
+    }
+
+    static int hashCode(final Object[] slots) {
+        final DataContainerLayout layout = (DataContainerLayout) slots[0];
+        int ret = 0;
+        for (int i = 1; i < slots.length; ++i) {
+            if (slots[i] != null) {
+                ret += layout.keyAt(i - 1).hashCode() ^ slots[i].hashCode();
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Compare children stored in a slot array with java.util.Map semantics.
+     *
+     * @param slots Slot array
+     * @param other Another slot array or a Map
+     * @return True if the two sets of children are equal
+     */
+    static boolean equals(final Object[] slots, final Object other) {
+        if (other instanceof Object[]) {
+            final Object[] otherSlots = (Object[]) other;
+            if (slots[0] == otherSlots[0]) {
+                return Arrays.equals(slots, otherSlots);
+            }
+            return mapEquals(slots, new SlotChildrenMap(otherSlots));
+        }
+        return other instanceof Map && mapEquals(slots, (Map<?, ?>) other);
+    }
+
+    private static boolean mapEquals(final Object[] slots, final Map<?, ?> other) {
+        if (size(slots) != other.size()) {
+            return false;
+        }
+
+        final DataContainerLayout layout = (DataContainerLayout) slots[0];
+        for (int i = 1; i < slots.length; ++i) {
+            if (slots[i] != null && !slots[i].equals(other.get(layout.keyAt(i - 1)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int size(final Object[] slots) {
+        int ret = 0;
+        for (int i = 1; i < slots.length; ++i) {
+            if (slots[i] != null) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    public int size() {
+        return size(slots);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (int i = 1; i < slots.length; ++i) {
+            if (slots[i] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(slots, key) != null;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (int i = 1; i < slots.length; ++i) {
+            if (slots[i] != null && slots[i].equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public DataContainerChild<? extends PathArgument, ?> get(final Object key) {
+        return get(slots, key);
+    }
+
+    @Override
+    public DataContainerChild<? extends PathArgument, ?> put(final PathArgument key,
+            final DataContainerChild<? extends PathArgument, ?> value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DataContainerChild<? extends PathArgument, ?> remove(final Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putAll(final Map<? extends PathArgument, ? extends DataContainerChild<? extends PathArgument, ?>> m) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<PathArgument> keySet() {
+        return new AbstractSet<PathArgument>() {
+            @Override
+            public Iterator<PathArgument> iterator() {
+                return new SlotIterator<PathArgument>(slots) {
+                    @Override
+                    PathArgument element(final int slot) {
+                        return getLayout().keyAt(slot - 1);
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return SlotChildrenMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Collection<DataContainerChild<? extends PathArgument, ?>> values() {
+        return new SlotValues(slots);
+    }
+
+    @Override
+    public Set<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>> entrySet() {
+        return new AbstractSet<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>>() {
+            @Override
+            public Iterator<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>> iterator() {
+                return new SlotIterator<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>>(slots) {
+                    @Override
+                    Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> element(final int slot) {
+                        return Maps.<PathArgument, DataContainerChild<? extends PathArgument, ?>>immutableEntry(
+                            getLayout().keyAt(slot - 1), child(slots, slot));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return SlotChildrenMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> createMutableClone() {
+        return new HashMap<>(this);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode(slots);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return equals(slots, obj instanceof SlotChildrenMap ? ((SlotChildrenMap) obj).slots : obj);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        final Iterator<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>> it = entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> e = it.next();
+            sb.append(e.getKey()).append('=').append(e.getValue());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -9,20 +9,12 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.util.concurrent.UncheckedExecutionException;
-import java.util.concurrent.ExecutionException;
-import javax.annotation.Nonnull;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
-import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
-import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.DataContainerLayout;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
-import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,40 +26,46 @@ import org.slf4j.LoggerFactory;
  */
 abstract class AbstractDataNodeContainerModificationStrategy<T extends DataNodeContainer> extends AbstractNodeContainerModificationStrategy {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractDataNodeContainerModificationStrategy.class);
-    private final LoadingCache<PathArgument, ModificationApplyOperation> childCache = CacheBuilder.newBuilder()
-            .build(new CacheLoader<PathArgument, ModificationApplyOperation>() {
-                @Override
-                public ModificationApplyOperation load(@Nonnull final PathArgument key) {
-                    if (key instanceof AugmentationIdentifier && schema instanceof AugmentationTarget) {
-                        return SchemaAwareApplyOperation.from(schema, (AugmentationTarget) schema, (AugmentationIdentifier) key, treeType);
-                    }
-
-                    final DataSchemaNode child = schema.getDataChildByName(key.getNodeType());
-                    Preconditions.checkArgument(child != null, "Schema %s does not have a node for child %s", schema, key.getNodeType());
-                    return SchemaAwareApplyOperation.from(child, treeType);
-                }
-            });
     private final T schema;
-    private final TreeType treeType;
+    private final ChildTrackingPolicy childPolicy;
+    private final ChildStrategyTable children;
+    private final DataContainerLayout layout;
 
-    protected AbstractDataNodeContainerModificationStrategy(final T schema, final Class<? extends NormalizedNode<?, ?>> nodeClass, final TreeType treeType) {
-        super(nodeClass, treeType);
+    protected AbstractDataNodeContainerModificationStrategy(final T schema, final Class<? extends NormalizedNode<?, ?>> nodeClass, final DataTreeConfiguration treeConfig) {
+        super(nodeClass, treeConfig);
         this.schema = Preconditions.checkNotNull(schema,"schema");
-        this.treeType = Preconditions.checkNotNull(treeType,"treeType");
+        this.childPolicy = ChildTrackingPolicy.unorderedForFanOut(schema.getChildNodes().size());
+        this.children = new ChildStrategyTable(schema, treeConfig);
+        this.layout = DataContainerLayout.forSchema(schema);
     }
 
     protected final T getSchema() {
         return schema;
     }
 
+    protected final DataContainerLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    protected final ChildTrackingPolicy getChildPolicy() {
+        return childPolicy;
+    }
+
     @Override
     public final Optional<ModificationApplyOperation> getChild(final PathArgument identifier) {
+        final ModificationApplyOperation child;
         try {
-            return Optional.fromNullable(childCache.get(identifier));
-        } catch (ExecutionException | UncheckedExecutionException e) {
-            LOG.trace("Child {} not present in container schema {} children {}", identifier, this, schema.getChildNodes(), e.getCause());
+            child = children.get(identifier);
+        } catch (IllegalArgumentException e) {
+            LOG.trace("Child {} not allowed in container schema {}", identifier, this, e);
             return Optional.absent();
         }
+
+        if (child == null) {
+            LOG.trace("Child {} not present in container schema {} children {}", identifier, this, schema.getChildNodes());
+        }
+        return Optional.fromNullable(child);
     }
 
     @Override
@@ -11,10 +11,12 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import java.util.Collections;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeStatistics.Phase;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
@@ -29,31 +31,72 @@ abstract class AbstractDataTreeTip implements DataTreeTip {
      */
     @Nonnull protected abstract TreeNode getTipRoot();
 
+    /**
+     * Return the statistics collector of this tip.
+     *
+     * @return Statistics collector, or null if statistics are not collected.
+     */
+    @Nullable CommitStatistics statistics() {
+        return null;
+    }
+
     @Override
     public final void validate(final DataTreeModification modification) throws DataValidationFailedException {
-        Preconditions.checkArgument(modification instanceof InMemoryDataTreeModification, "Invalid modification class %s", modification.getClass());
-        final InMemoryDataTreeModification m = (InMemoryDataTreeModification)modification;
-        Preconditions.checkArgument(m.isSealed(), "Attempted to verify unsealed modification %s", m);
+        final InMemoryDataTreeModification m = checkSealed(modification, "verify");
+        final CommitStatistics stats = statistics();
+        if (stats == null) {
+            validate(m, getTipRoot());
+            return;
+        }
 
-        m.getStrategy().checkApplicable(PUBLIC_ROOT_PATH, m.getRootModification(), Optional.of(getTipRoot()), m.getVersion());
+        final long start = System.nanoTime();
+        try {
+            validate(m, getTipRoot());
+        } finally {
+            stats.recordPhase(Phase.VALIDATE, start);
+        }
     }
 
     @Override
     public final DataTreeCandidateTip prepare(final DataTreeModification modification) {
+        final InMemoryDataTreeModification m = checkSealed(modification, "prepare");
+        final CommitStatistics stats = statistics();
+        if (stats == null) {
+            return prepare(m, getTipRoot());
+        }
+
+        final long start = System.nanoTime();
+        final DataTreeCandidateTip ret = prepare(m, getTipRoot());
+        stats.recordPhase(Phase.PREPARE, start);
+        stats.recordTouchedNodes(m.getRootModification());
+        return ret;
+    }
+
+    static InMemoryDataTreeModification checkSealed(final DataTreeModification modification, final String action) {
         Preconditions.checkArgument(modification instanceof InMemoryDataTreeModification, "Invalid modification class %s", modification.getClass());
         final InMemoryDataTreeModification m = (InMemoryDataTreeModification)modification;
-        Preconditions.checkArgument(m.isSealed(), "Attempted to prepare unsealed modification %s", m);
+        Preconditions.checkArgument(m.isSealed(), "Attempted to %s unsealed modification %s", action, m);
+        return m;
+    }
 
-        final ModifiedNode root = m.getRootModification();
+    static void validate(final InMemoryDataTreeModification m, final TreeNode currentRoot)
+            throws DataValidationFailedException {
+        m.getStrategy().checkApplicable(PUBLIC_ROOT_PATH, m.getRootModification(), Optional.of(currentRoot), m.getVersion());
+    }
 
-        final TreeNode currentRoot = getTipRoot();
+    static AbstractDataTreeCandidate prepare(final InMemoryDataTreeModification m, final TreeNode currentRoot) {
+        final ModifiedNode root = m.getRootModification();
         if (root.getOperation() == LogicalOperation.NONE) {
             return new NoopDataTreeCandidate(PUBLIC_ROOT_PATH, root, currentRoot);
         }
 
+        return new InMemoryDataTreeCandidate(PUBLIC_ROOT_PATH, m, currentRoot, apply(m, currentRoot));
+    }
+
+    static TreeNode apply(final InMemoryDataTreeModification m, final TreeNode currentRoot) {
         final Optional<TreeNode> newRoot = m.getStrategy().apply(m.getRootModification(),
             Optional.of(currentRoot), m.getVersion());
-        Preconditions.checkState(newRoot.isPresent(), "Apply strategy failed to produce root node for modification %s", modification);
-        return new InMemoryDataTreeCandidate(PUBLIC_ROOT_PATH, root, currentRoot, newRoot.get());
+        Preconditions.checkState(newRoot.isPresent(), "Apply strategy failed to produce root node for modification %s", m);
+        return newRoot.get();
     }
 }
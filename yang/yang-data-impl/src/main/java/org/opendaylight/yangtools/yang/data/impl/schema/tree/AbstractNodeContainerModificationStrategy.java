@@ -13,10 +13,15 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
 import java.util.Collection;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModifiedNodeDoesNotExistException;
@@ -26,16 +31,44 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
+import org.opendaylight.yangtools.yang.data.util.DataContainerInterner;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareApplyOperation {
 
     private final Class<? extends NormalizedNode<?, ?>> nodeClass;
+    private final DataTreeConfiguration treeConfig;
     private final boolean verifyChildrenStructure;
+    private final DataContainerInterner interner;
+    private final PathArgument rootIdentifier;
 
     protected AbstractNodeContainerModificationStrategy(final Class<? extends NormalizedNode<?, ?>> nodeClass,
-            final TreeType treeType) {
+            final DataTreeConfiguration treeConfig) {
         this.nodeClass = Preconditions.checkNotNull(nodeClass , "nodeClass");
-        this.verifyChildrenStructure = (treeType == TreeType.CONFIGURATION);
+        this.treeConfig = Preconditions.checkNotNull(treeConfig, "treeConfig");
+        this.verifyChildrenStructure = (treeConfig.getTreeType() == TreeType.CONFIGURATION);
+        this.interner = treeConfig.isContainerInterningEnabled() ? DataContainerInterner.weak()
+                : DataContainerInterner.noop();
+
+        final YangInstanceIdentifier rootPath = treeConfig.getRootPath();
+        this.rootIdentifier = rootPath.isEmpty() ? new NodeIdentifier(SchemaContext.NAME)
+                : rootPath.getLastPathArgument();
+    }
+
+    /*
+     * Written values are interned as a whole, except for the tree root, which is unique anyway. Nodes rebuilt while
+     * mutating children are interned only if they are list entries: hashing every rebuilt structural container up to
+     * the root would make each commit proportional to the size of the tree, while such containers are rarely
+     * duplicated.
+     */
+    private NormalizedNode<?, ?> internWritten(final NormalizedNode<?, ?> data) {
+        return data instanceof DataContainerNode && !rootIdentifier.equals(data.getIdentifier())
+                ? interner.intern((DataContainerNode<?>) data) : data;
+    }
+
+    private NormalizedNode<?, ?> internRebuilt(final NormalizedNode<?, ?> data) {
+        return data instanceof MapEntryNode || data instanceof UnkeyedListEntryNode
+                ? interner.intern((DataContainerNode<?>) data) : data;
     }
 
     @SuppressWarnings("rawtypes")
@@ -77,7 +110,7 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
     @Override
     protected TreeNode applyWrite(final ModifiedNode modification,
             final Optional<TreeNode> currentMeta, final Version version) {
-        final NormalizedNode<?, ?> newValue = modification.getWrittenValue();
+        final NormalizedNode<?, ?> newValue = internWritten(modification.getWrittenValue());
         final TreeNode newValueMeta = TreeNodeFactory.createTreeNode(newValue, version);
 
         if (modification.getChildren().isEmpty()) {
@@ -125,7 +158,10 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private TreeNode mutateChildren(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
-            final Version nodeVersion, final Iterable<ModifiedNode> modifications) {
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        if (treeConfig.isParallel(modifications.size())) {
+            return mutateChildrenParallel(meta, data, nodeVersion, modifications);
+        }
 
         for (final ModifiedNode mod : modifications) {
             final YangInstanceIdentifier.PathArgument id = mod.getIdentifier();
@@ -142,7 +178,43 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
             }
         }
 
-        meta.setData(data.build());
+        meta.setData(internRebuilt(data.build()));
+        return meta.seal();
+    }
+
+    /**
+     * Parallel version of {@link #mutateChildren(MutableTreeNode, NormalizedNodeContainerBuilder, Version, Collection)}.
+     * Child modifications are applied concurrently in the configured pool, results are then merged into the parent
+     * node in iteration order, so the outcome is the same as if they were applied sequentially.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private TreeNode mutateChildrenParallel(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        final ModifiedNode[] mods = modifications.toArray(new ModifiedNode[modifications.size()]);
+        final ModificationApplyOperation[] ops = new ModificationApplyOperation[mods.length];
+        final Optional<TreeNode>[] current = new Optional[mods.length];
+        for (int i = 0; i < mods.length; ++i) {
+            final PathArgument id = mods[i].getIdentifier();
+            ops[i] = resolveChildOperation(id);
+            current[i] = meta.getChild(id);
+        }
+
+        final Optional<TreeNode>[] results = ParallelChildOperations.apply(treeConfig.getParallelPool(), ops, mods,
+            current, nodeVersion);
+        for (int i = 0; i < mods.length; ++i) {
+            final Optional<TreeNode> result = results[i];
+            if (result.isPresent()) {
+                final TreeNode tn = result.get();
+                meta.addChild(tn);
+                data.addChild(tn.getData());
+            } else {
+                final PathArgument id = mods[i].getIdentifier();
+                meta.removeChild(id);
+                data.removeChild(id);
+            }
+        }
+
+        meta.setData(internRebuilt(data.build()));
         return meta.seal();
     }
 
@@ -292,7 +364,13 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
      */
     private void checkChildPreconditions(final YangInstanceIdentifier path, final NodeModification modification,
             final TreeNode current, final Version version) throws DataValidationFailedException {
-        for (final NodeModification childMod : modification.getChildren()) {
+        final Collection<? extends NodeModification> children = modification.getChildren();
+        if (treeConfig.isParallel(children.size())) {
+            checkChildPreconditionsParallel(path, children, current, version);
+            return;
+        }
+
+        for (final NodeModification childMod : children) {
             final YangInstanceIdentifier.PathArgument childId = childMod.getIdentifier();
             final Optional<TreeNode> childMeta = current.getChild(childId);
 
@@ -301,6 +379,22 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private void checkChildPreconditionsParallel(final YangInstanceIdentifier path,
+            final Collection<? extends NodeModification> children, final TreeNode current, final Version version)
+                    throws DataValidationFailedException {
+        final NodeModification[] mods = children.toArray(new NodeModification[children.size()]);
+        final ModificationApplyOperation[] ops = new ModificationApplyOperation[mods.length];
+        final Optional<TreeNode>[] childMeta = new Optional[mods.length];
+        for (int i = 0; i < mods.length; ++i) {
+            final PathArgument childId = mods[i].getIdentifier();
+            ops[i] = resolveChildOperation(childId);
+            childMeta[i] = current.getChild(childId);
+        }
+
+        ParallelChildOperations.checkApplicable(treeConfig.getParallelPool(), path, ops, mods, childMeta, version);
+    }
+
     @Override
     protected void checkMergeApplicable(final YangInstanceIdentifier path, final NodeModification modification,
             final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
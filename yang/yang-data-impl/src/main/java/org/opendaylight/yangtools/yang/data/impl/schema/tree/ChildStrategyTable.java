@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+/**
+ * Table of child {@link ModificationApplyOperation}s of a {@link DataNodeContainer}. Slot indices of all children
+ * defined by the schema are computed once, when the table is created. The operations themselves are instantiated
+ * only when a child is first looked up, so that switching schema context does not pay for the parts of the tree which
+ * are never touched.
+ *
+ * <p>
+ * Instantiated operations are published via compare-and-set. Concurrent lookups of a child may end up instantiating
+ * its operation multiple times, but all of them observe the same published instance.
+ */
+final class ChildStrategyTable {
+    private final ImmutableMap<QName, Integer> index;
+    private final DataSchemaNode[] children;
+    private final AtomicReferenceArray<ModificationApplyOperation> slots;
+    // Augmentations and children not listed in DataNodeContainer.getChildNodes()
+    private final ConcurrentMap<PathArgument, ModificationApplyOperation> others = new ConcurrentHashMap<>(4);
+    private final DataNodeContainer schema;
+    private final DataTreeConfiguration treeConfig;
+
+    ChildStrategyTable(final DataNodeContainer schema, final DataTreeConfiguration treeConfig) {
+        this.schema = Preconditions.checkNotNull(schema);
+        this.treeConfig = Preconditions.checkNotNull(treeConfig);
+
+        final Collection<DataSchemaNode> childNodes = schema.getChildNodes();
+        final ImmutableMap.Builder<QName, Integer> b = ImmutableMap.builder();
+        children = new DataSchemaNode[childNodes.size()];
+        int i = 0;
+        for (DataSchemaNode child : childNodes) {
+            b.put(child.getQName(), i);
+            children[i++] = child;
+        }
+
+        index = b.build();
+        slots = new AtomicReferenceArray<>(children.length);
+    }
+
+    /**
+     * Return the operation for specified child, instantiating it if needed.
+     *
+     * @param identifier Child identifier
+     * @return Child operation, or null if the schema does not have such a child
+     * @throws IllegalArgumentException if the child cannot be instantiated in this tree
+     */
+    ModificationApplyOperation get(final PathArgument identifier) {
+        if (!(identifier instanceof AugmentationIdentifier)) {
+            final Integer idx = index.get(identifier.getNodeType());
+            if (idx != null) {
+                return getSlot(idx);
+            }
+        }
+
+        final ModificationApplyOperation existing = others.get(identifier);
+        if (existing != null) {
+            return existing;
+        }
+
+        final ModificationApplyOperation created = createOther(identifier);
+        if (created == null) {
+            return null;
+        }
+
+        final ModificationApplyOperation raced = others.putIfAbsent(identifier, created);
+        return raced != null ? raced : created;
+    }
+
+    private ModificationApplyOperation getSlot(final int idx) {
+        final ModificationApplyOperation existing = slots.get(idx);
+        if (existing != null) {
+            return existing;
+        }
+
+        final ModificationApplyOperation created = SchemaAwareApplyOperation.from(children[idx], treeConfig);
+        if (slots.compareAndSet(idx, null, created)) {
+            return created;
+        }
+
+        // Somebody else was faster, use their instance
+        return slots.get(idx);
+    }
+
+    private ModificationApplyOperation createOther(final PathArgument identifier) {
+        if (identifier instanceof AugmentationIdentifier) {
+            return schema instanceof AugmentationTarget ? SchemaAwareApplyOperation.from(schema,
+                (AugmentationTarget) schema, (AugmentationIdentifier) identifier, treeConfig) : null;
+        }
+
+        final DataSchemaNode child = schema.getDataChildByName(identifier.getNodeType());
+        return child == null ? null : SchemaAwareApplyOperation.from(child, treeConfig);
+    }
+}
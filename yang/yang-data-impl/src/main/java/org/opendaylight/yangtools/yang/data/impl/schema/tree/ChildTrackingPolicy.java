@@ -7,8 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
+import com.google.common.collect.Maps;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -17,7 +17,15 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgum
  * Child ordering policy. It defines how a {@link ModifiedNode} tracks its children.
  */
 abstract class ChildTrackingPolicy {
-    private static final int DEFAULT_CHILD_COUNT = 8;
+    /**
+     * Maximum number of children tracked in arrays by policies which do not have a more specific fan-out.
+     */
+    private static final int DEFAULT_MAX_ARRAY_SIZE = 8;
+
+    /**
+     * Upper bound on schema fan-out for which we track children in arrays.
+     */
+    private static final int MAX_ARRAY_SIZE = 16;
 
     /**
      * No child nodes are possible, ever.
@@ -32,21 +40,32 @@ abstract class ChildTrackingPolicy {
      * Child nodes are possible and we need to make sure that their iteration order
      * matches the order in which they are introduced.
      */
-    static final ChildTrackingPolicy ORDERED = new ChildTrackingPolicy() {
-        @Override
-        Map<PathArgument, ModifiedNode> createMap() {
-            return new LinkedHashMap<>(DEFAULT_CHILD_COUNT);
-        }
-    };
+    static final ChildTrackingPolicy ORDERED = new CompactPolicy(true, DEFAULT_MAX_ARRAY_SIZE);
     /**
      * Child nodes are possible, but their iteration order can be undefined.
      */
-    static final ChildTrackingPolicy UNORDERED = new ChildTrackingPolicy() {
-        @Override
-        Map<PathArgument, ModifiedNode> createMap() {
-            return new HashMap<>();
+    static final ChildTrackingPolicy UNORDERED = new CompactPolicy(false, DEFAULT_MAX_ARRAY_SIZE);
+
+    private static final ChildTrackingPolicy[] UNORDERED_BY_FANOUT;
+
+    static {
+        UNORDERED_BY_FANOUT = new ChildTrackingPolicy[MAX_ARRAY_SIZE + 1];
+        for (int i = 1; i <= MAX_ARRAY_SIZE; ++i) {
+            UNORDERED_BY_FANOUT[i] = new CompactPolicy(false, i);
         }
-    };
+        UNORDERED_BY_FANOUT[0] = UNORDERED_BY_FANOUT[1];
+    }
+
+    /**
+     * Return a policy for tracking children whose iteration order can be undefined, sized according to the number
+     * of children the schema allows.
+     *
+     * @param fanOut Number of children defined by the schema
+     * @return A child tracking policy
+     */
+    static ChildTrackingPolicy unorderedForFanOut(final int fanOut) {
+        return fanOut <= MAX_ARRAY_SIZE ? UNORDERED_BY_FANOUT[fanOut] : UNORDERED;
+    }
 
     /**
      * Instantiate a new map for all possible children.
@@ -54,4 +73,34 @@ abstract class ChildTrackingPolicy {
      * @return An empty map instance
      */
     abstract Map<PathArgument, ModifiedNode> createMap();
+
+    /**
+     * A policy using {@link CompactChildMap}: a single child is stored inline, up to maxArraySize children are stored
+     * in arrays and more than that in a hash map.
+     */
+    static final class CompactPolicy extends ChildTrackingPolicy {
+        private final boolean ordered;
+        private final int maxArraySize;
+
+        CompactPolicy(final boolean ordered, final int maxArraySize) {
+            this.ordered = ordered;
+            this.maxArraySize = maxArraySize;
+        }
+
+        @Override
+        Map<PathArgument, ModifiedNode> createMap() {
+            ChildTrackingStatistics.recordMap();
+            return new CompactChildMap(this);
+        }
+
+        int getMaxArraySize() {
+            return maxArraySize;
+        }
+
+        Map<PathArgument, ModifiedNode> createHashMap(final int expectedSize) {
+            // Arrays retain insertion order, so promote to a LinkedHashMap if we need to keep it
+            return ordered ? new LinkedHashMap<PathArgument, ModifiedNode>(expectedSize * 2)
+                    : Maps.<PathArgument, ModifiedNode>newHashMapWithExpectedSize(expectedSize);
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocation counters for structures tracking children of modified nodes. Counting is disabled by default, as it
+ * adds contention on the modification path. It can be enabled by setting the {@value #ENABLE_PROP} system property
+ * to true.
+ */
+@Beta
+public final class ChildTrackingStatistics {
+    public static final String ENABLE_PROP =
+            "org.opendaylight.yangtools.yang.data.impl.schema.tree.childtracking.statistics";
+
+    private static final boolean ENABLED = Boolean.getBoolean(ENABLE_PROP);
+    private static final AtomicLong MAPS = new AtomicLong();
+    private static final AtomicLong INLINE = new AtomicLong();
+    private static final AtomicLong ARRAY = new AtomicLong();
+    private static final AtomicLong HASH = new AtomicLong();
+
+    private ChildTrackingStatistics() {
+        throw new UnsupportedOperationException();
+    }
+
+    static void recordMap() {
+        if (ENABLED) {
+            MAPS.incrementAndGet();
+        }
+    }
+
+    static void recordInline() {
+        if (ENABLED) {
+            INLINE.incrementAndGet();
+        }
+    }
+
+    static void recordArray() {
+        if (ENABLED) {
+            ARRAY.incrementAndGet();
+        }
+    }
+
+    static void recordHash() {
+        if (ENABLED) {
+            HASH.incrementAndGet();
+        }
+    }
+
+    /**
+     * Check whether statistics are being collected.
+     *
+     * @return True if statistics are being collected.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Return the number of child maps created.
+     *
+     * @return Number of child maps.
+     */
+    public static long getMapCount() {
+        return MAPS.get();
+    }
+
+    /**
+     * Return the number of child maps which have stored a child inline, without allocating any further objects.
+     *
+     * @return Number of inline children.
+     */
+    public static long getInlineCount() {
+        return INLINE.get();
+    }
+
+    /**
+     * Return the number of child maps which have allocated arrays to hold multiple children.
+     *
+     * @return Number of array allocations.
+     */
+    public static long getArrayCount() {
+        return ARRAY.get();
+    }
+
+    /**
+     * Return the number of child maps which have outgrown arrays and switched to a hash map.
+     *
+     * @return Number of hash map allocations.
+     */
+    public static long getHashCount() {
+        return HASH.get();
+    }
+
+    /**
+     * Reset all counters to zero.
+     */
+    public static void reset() {
+        MAPS.set(0);
+        INLINE.set(0);
+        ARRAY.set(0);
+        HASH.set(0);
+    }
+
+    public static String toStatisticsString() {
+        return MoreObjects.toStringHelper(ChildTrackingStatistics.class).add("enabled", ENABLED)
+                .add("maps", MAPS.get()).add("inline", INLINE.get()).add("array", ARRAY.get())
+                .add("hash", HASH.get()).toString();
+    }
+}
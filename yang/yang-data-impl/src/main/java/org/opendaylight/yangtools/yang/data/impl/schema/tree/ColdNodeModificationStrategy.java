@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.ColdTreeNodeStorage;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+/**
+ * Strategy which keeps the nodes produced by its delegate in a {@link ColdTreeNodeStorage}. Stored nodes are
+ * rehydrated before they are handed to the delegate, so the delegate always operates on materialized data.
+ */
+final class ColdNodeModificationStrategy extends ModificationApplyOperation {
+    private final ModificationApplyOperation delegate;
+    private final ColdTreeNodeStorage storage;
+
+    private ColdNodeModificationStrategy(final ModificationApplyOperation delegate, final ColdTreeNodeStorage storage) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.storage = Preconditions.checkNotNull(storage);
+    }
+
+    static ModificationApplyOperation from(final ModificationApplyOperation delegate, final DataSchemaNode schema,
+            final DataTreeConfiguration treeConfig) {
+        if (treeConfig.getColdStorage() == null || !treeConfig.getColdNodes().contains(schema.getQName())) {
+            return delegate;
+        }
+        return new ColdNodeModificationStrategy(delegate, treeConfig.getColdStorage());
+    }
+
+    @Override
+    Optional<TreeNode> apply(final ModifiedNode modification, final Optional<TreeNode> storeMeta,
+            final Version version) {
+        final Optional<TreeNode> current = storeMeta.isPresent()
+                ? Optional.of(ColdTreeNodeStorage.rehydrate(storeMeta.get())) : storeMeta;
+        final Optional<TreeNode> ret = delegate.apply(modification, current, version);
+        if (!ret.isPresent() || (current.isPresent() && ret.get() == current.get())) {
+            // Deleted or untouched: nothing to store
+            return ret.isPresent() ? storeMeta : ret;
+        }
+        return modification.setSnapshot(Optional.of(storage.store(ret.get())));
+    }
+
+    @Override
+    void checkApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        delegate.checkApplicable(path, modification, current, version);
+    }
+
+    @Override
+    void verifyStructure(final NormalizedNode<?, ?> modification, final boolean verifyChildren) {
+        delegate.verifyStructure(modification, verifyChildren);
+    }
+
+    @Override
+    void recursivelyVerifyStructure(final NormalizedNode<?, ?> value) {
+        delegate.recursivelyVerifyStructure(value);
+    }
+
+    @Override
+    ChildTrackingPolicy getChildPolicy() {
+        return delegate.getChildPolicy();
+    }
+
+    @Override
+    void mergeIntoModifiedNode(final ModifiedNode modification, final NormalizedNode<?, ?> value,
+            final Version version) {
+        delegate.mergeIntoModifiedNode(modification, value, version);
+    }
+
+    @Override
+    public Optional<ModificationApplyOperation> getChild(final PathArgument child) {
+        return delegate.getChild(child);
+    }
+}
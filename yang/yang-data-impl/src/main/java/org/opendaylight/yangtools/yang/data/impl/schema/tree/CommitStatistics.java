@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeStatistics;
+
+/**
+ * Collector of {@link DataTreeStatistics} of a single data tree.
+ */
+final class CommitStatistics implements DataTreeStatistics {
+    private static final int HISTOGRAM_SIZE = Long.SIZE;
+
+    private final Map<Phase, DurationStatisticsTracker> durations = new EnumMap<>(Phase.class);
+    private final Map<Phase, AtomicLongArray> histograms = new EnumMap<>(Phase.class);
+    private final AtomicLong commitRetries = new AtomicLong();
+    private final AtomicLong schemaContextRetries = new AtomicLong();
+    private final AtomicLong touchedNodes = new AtomicLong();
+
+    CommitStatistics() {
+        for (Phase phase : Phase.values()) {
+            durations.put(phase, DurationStatisticsTracker.createConcurrent());
+            histograms.put(phase, new AtomicLongArray(HISTOGRAM_SIZE));
+        }
+    }
+
+    /**
+     * Record completion of a phase.
+     *
+     * @param phase Completed phase
+     * @param startNanos Value of {@link System#nanoTime()} when the phase started
+     */
+    void recordPhase(final Phase phase, final long startNanos) {
+        final long duration = Math.max(0, System.nanoTime() - startNanos);
+        durations.get(phase).addDuration(duration);
+        histograms.get(phase).incrementAndGet(duration == 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(duration));
+    }
+
+    void recordCommitRetries(final int retries) {
+        if (retries != 0) {
+            commitRetries.addAndGet(retries);
+        }
+    }
+
+    void recordSchemaContextRetries(final int retries) {
+        if (retries != 0) {
+            schemaContextRetries.addAndGet(retries);
+        }
+    }
+
+    void recordTouchedNodes(final ModifiedNode root) {
+        touchedNodes.addAndGet(countNodes(root));
+    }
+
+    private static long countNodes(final ModifiedNode node) {
+        long ret = 1;
+        for (ModifiedNode child : node.getChildren()) {
+            ret += countNodes(child);
+        }
+        return ret;
+    }
+
+    @Override
+    public DurationStatisticsTracker getDurations(@Nonnull final Phase phase) {
+        return durations.get(phase);
+    }
+
+    @Override
+    public long[] getDurationHistogram(@Nonnull final Phase phase) {
+        final AtomicLongArray histogram = histograms.get(phase);
+        final long[] ret = new long[HISTOGRAM_SIZE];
+        for (int i = 0; i < HISTOGRAM_SIZE; ++i) {
+            ret[i] = histogram.get(i);
+        }
+        return ret;
+    }
+
+    @Override
+    public long getCommitRetryCount() {
+        return commitRetries.get();
+    }
+
+    @Override
+    public long getSchemaContextRetryCount() {
+        return schemaContextRetries.get();
+    }
+
+    @Override
+    public long getTouchedNodeCount() {
+        return touchedNodes.get();
+    }
+
+    @Override
+    public void reset() {
+        for (Phase phase : Phase.values()) {
+            durations.get(phase).reset();
+            final AtomicLongArray histogram = histograms.get(phase);
+            for (int i = 0; i < HISTOGRAM_SIZE; ++i) {
+                histogram.set(i, 0);
+            }
+        }
+        commitRetries.set(0);
+        schemaContextRetries.set(0);
+        touchedNodes.set(0);
+    }
+
+    @Override
+    public String toString() {
+        final ToStringHelper helper = MoreObjects.toStringHelper(this);
+        for (Phase phase : Phase.values()) {
+            final DurationStatisticsTracker tracker = durations.get(phase);
+            helper.add(phase.name(), tracker.getTotalDurations() + " x " + tracker.getDisplayableAverageDuration());
+        }
+        return helper.add("commitRetries", commitRetries.get()).add("schemaContextRetries", schemaContextRetries.get())
+                .add("touchedNodes", touchedNodes.get()).toString();
+    }
+}
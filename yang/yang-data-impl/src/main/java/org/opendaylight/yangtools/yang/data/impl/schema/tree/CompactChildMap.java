@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * Compact map of child modifications of a {@link ModifiedNode}. Most modifications touch only a single child at each
+ * level, hence the first child is stored inline. Subsequent children are stored in a pair of arrays, which are
+ * searched linearly and retain insertion order. Once the number of children exceeds the limit set by
+ * {@link ChildTrackingPolicy}, the map switches to a hash map created by the policy.
+ *
+ * <p>
+ * This class does not support null keys nor values and it does not detect concurrent modification.
+ */
+final class CompactChildMap extends AbstractMap<PathArgument, ModifiedNode> {
+    private static final int INITIAL_ARRAY_SIZE = 4;
+
+    private final ChildTrackingPolicy.CompactPolicy policy;
+
+    // Single child stored inline, valid only if keys == null && map == null
+    private PathArgument singleKey;
+    private ModifiedNode singleValue;
+
+    // Small number of children stored in arrays, valid only if map == null
+    private PathArgument[] keys;
+    private ModifiedNode[] values;
+
+    // Large number of children
+    private Map<PathArgument, ModifiedNode> map;
+
+    private int size;
+
+    CompactChildMap(final ChildTrackingPolicy.CompactPolicy policy) {
+        this.policy = Preconditions.checkNotNull(policy);
+    }
+
+    @Override
+    public int size() {
+        return map != null ? map.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private int indexOf(final Object key) {
+        for (int i = 0; i < size; ++i) {
+            if (key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public ModifiedNode get(final Object key) {
+        if (map != null) {
+            return map.get(key);
+        }
+        if (keys != null) {
+            final int idx = indexOf(key);
+            return idx == -1 ? null : values[idx];
+        }
+        return size != 0 && singleKey.equals(key) ? singleValue : null;
+    }
+
+    @Override
+    public ModifiedNode put(final PathArgument key, final ModifiedNode value) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(value);
+
+        if (map != null) {
+            return map.put(key, value);
+        }
+
+        if (keys == null) {
+            if (size == 0) {
+                singleKey = key;
+                singleValue = value;
+                size = 1;
+                ChildTrackingStatistics.recordInline();
+                return null;
+            }
+            if (singleKey.equals(key)) {
+                final ModifiedNode ret = singleValue;
+                singleValue = value;
+                return ret;
+            }
+
+            // Move the inline child to arrays and continue from there
+            if (policy.getMaxArraySize() < 2) {
+                promote(2);
+            } else {
+                final int initialSize = Math.min(INITIAL_ARRAY_SIZE, policy.getMaxArraySize());
+                keys = new PathArgument[initialSize];
+                values = new ModifiedNode[initialSize];
+                keys[0] = singleKey;
+                values[0] = singleValue;
+                ChildTrackingStatistics.recordArray();
+            }
+            singleKey = null;
+            singleValue = null;
+            return map != null ? map.put(key, value) : appendToArray(key, value);
+        }
+
+        final int idx = indexOf(key);
+        if (idx != -1) {
+            final ModifiedNode ret = values[idx];
+            values[idx] = value;
+            return ret;
+        }
+        return appendToArray(key, value);
+    }
+
+    private ModifiedNode appendToArray(final PathArgument key, final ModifiedNode value) {
+        if (size == keys.length) {
+            final int maxSize = policy.getMaxArraySize();
+            if (size >= maxSize) {
+                promote(size + 1);
+                return map.put(key, value);
+            }
+
+            final int newSize = Math.min(size * 2, maxSize);
+            keys = Arrays.copyOf(keys, newSize);
+            values = Arrays.copyOf(values, newSize);
+        }
+
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        return null;
+    }
+
+    private void promote(final int expectedSize) {
+        map = policy.createHashMap(expectedSize);
+        if (keys != null) {
+            for (int i = 0; i < size; ++i) {
+                map.put(keys[i], values[i]);
+            }
+        } else if (size != 0) {
+            map.put(singleKey, singleValue);
+        }
+
+        keys = null;
+        values = null;
+        size = 0;
+        ChildTrackingStatistics.recordHash();
+    }
+
+    @Override
+    public ModifiedNode remove(final Object key) {
+        if (map != null) {
+            return map.remove(key);
+        }
+        if (keys != null) {
+            final int idx = indexOf(key);
+            if (idx == -1) {
+                return null;
+            }
+
+            final ModifiedNode ret = values[idx];
+            removeAt(idx);
+            return ret;
+        }
+        if (size != 0 && singleKey.equals(key)) {
+            final ModifiedNode ret = singleValue;
+            removeSingle();
+            return ret;
+        }
+        return null;
+    }
+
+    private void removeAt(final int idx) {
+        final int tail = size - idx - 1;
+        if (tail != 0) {
+            System.arraycopy(keys, idx + 1, keys, idx, tail);
+            System.arraycopy(values, idx + 1, values, idx, tail);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+    }
+
+    private void removeSingle() {
+        singleKey = null;
+        singleValue = null;
+        size = 0;
+    }
+
+    @Override
+    public void clear() {
+        if (map != null) {
+            map.clear();
+        } else if (keys != null) {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+            size = 0;
+        } else {
+            removeSingle();
+        }
+    }
+
+    @Override
+    public Set<Entry<PathArgument, ModifiedNode>> entrySet() {
+        return new AbstractSet<Entry<PathArgument, ModifiedNode>>() {
+            @Override
+            public Iterator<Entry<PathArgument, ModifiedNode>> iterator() {
+                if (map != null) {
+                    return map.entrySet().iterator();
+                }
+                return keys != null ? new ArrayIterator() : new SingleIterator();
+            }
+
+            @Override
+            public int size() {
+                return CompactChildMap.this.size();
+            }
+        };
+    }
+
+    private final class ArrayIterator implements Iterator<Entry<PathArgument, ModifiedNode>> {
+        private int offset;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext() {
+            return offset < size;
+        }
+
+        @Override
+        public Entry<PathArgument, ModifiedNode> next() {
+            if (offset >= size) {
+                throw new NoSuchElementException();
+            }
+
+            final Entry<PathArgument, ModifiedNode> ret = new SimpleImmutableEntry<>(keys[offset], values[offset]);
+            offset++;
+            canRemove = true;
+            return ret;
+        }
+
+        @Override
+        public void remove() {
+            Preconditions.checkState(canRemove);
+            removeAt(--offset);
+            canRemove = false;
+        }
+    }
+
+    private final class SingleIterator implements Iterator<Entry<PathArgument, ModifiedNode>> {
+        private boolean hasNext = size != 0;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Entry<PathArgument, ModifiedNode> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+
+            hasNext = false;
+            canRemove = true;
+            return new SimpleImmutableEntry<>(singleKey, singleValue);
+        }
+
+        @Override
+        public void remove() {
+            Preconditions.checkState(canRemove);
+            removeSingle();
+            canRemove = false;
+        }
+    }
+}
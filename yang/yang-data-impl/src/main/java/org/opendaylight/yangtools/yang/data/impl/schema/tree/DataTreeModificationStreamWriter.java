@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+
+/**
+ * A {@link NormalizedNodeStreamWriter} which writes the nodes it receives into a {@link DataTreeModificationCursor},
+ * as children of the node at which the cursor is positioned. Unlike building the data first and then writing it,
+ * data is written in chunks as it arrives: containers, maps and leaf-sets are written empty and then entered, while
+ * their leaves and entries are written individually as soon as they are complete. Only a single entry is buffered
+ * at any time and its structure is verified when it is written.
+ *
+ * <p>
+ * Choices, augmentations, unkeyed lists and anyxml nodes cannot be split and are buffered as a whole.
+ *
+ * <p>
+ * Data written before a failure remains in the modification. A large list can be resumed by creating a new writer
+ * at the path of the list and emitting the remaining entries.
+ */
+@Beta
+public final class DataTreeModificationStreamWriter implements NormalizedNodeStreamWriter {
+    private final DataTreeModificationCursor cursor;
+
+    // Current chunk, if any
+    private NormalizedNodeStreamWriter chunkWriter;
+    private NormalizedNodeResult chunkResult;
+    private int chunkDepth;
+
+    // Number of nodes entered in the cursor
+    private int depth;
+
+    private DataTreeModificationStreamWriter(final DataTreeModificationCursor cursor) {
+        this.cursor = Preconditions.checkNotNull(cursor);
+    }
+
+    /**
+     * Create a new writer writing into a cursor. The writer takes ownership of the cursor, which is closed when
+     * the writer is closed.
+     *
+     * @param cursor Cursor to write into
+     * @return A new writer
+     */
+    public static NormalizedNodeStreamWriter create(@Nonnull final DataTreeModificationCursor cursor) {
+        return new DataTreeModificationStreamWriter(cursor);
+    }
+
+    private NormalizedNodeStreamWriter openChunk() {
+        chunkResult = new NormalizedNodeResult();
+        chunkWriter = ImmutableNormalizedNodeStreamWriter.from(chunkResult);
+        chunkDepth = 0;
+        return chunkWriter;
+    }
+
+    private NormalizedNode<?, ?> finishChunk() {
+        final NormalizedNode<?, ?> data = chunkResult.getResult();
+        chunkWriter = null;
+        chunkResult = null;
+        cursor.write(data.getIdentifier(), data);
+        return data;
+    }
+
+    private void enterEmpty() throws IOException {
+        chunkWriter.endNode();
+        cursor.enter(finishChunk().getIdentifier());
+        depth++;
+    }
+
+    @Override
+    public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.leafNode(name, value);
+        } else {
+            openChunk().leafNode(name, value);
+            finishChunk();
+        }
+    }
+
+    @Override
+    public void leafSetEntryNode(final QName name, final Object value) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.leafSetEntryNode(name, value);
+        } else {
+            // A leaf-set entry cannot be a top-level node of a chunk, hence we build it directly
+            final NodeWithValue<Object> identifier = new NodeWithValue<>(name, value);
+            cursor.write(identifier, Builders.leafSetEntryBuilder().withNodeIdentifier(identifier).withValue(value)
+                .build());
+        }
+    }
+
+    @Override
+    public void anyxmlNode(final NodeIdentifier name, final Object value) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.anyxmlNode(name, value);
+        } else {
+            openChunk().anyxmlNode(name, value);
+            finishChunk();
+        }
+    }
+
+    @Override
+    public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startLeafSet(name, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startLeafSet(name, 0);
+            enterEmpty();
+        }
+    }
+
+    @Override
+    public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startOrderedLeafSet(name, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startOrderedLeafSet(name, 0);
+            enterEmpty();
+        }
+    }
+
+    @Override
+    public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startContainerNode(name, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startContainerNode(name, 0);
+            enterEmpty();
+        }
+    }
+
+    @Override
+    public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startMapNode(name, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startMapNode(name, 0);
+            enterEmpty();
+        }
+    }
+
+    @Override
+    public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startOrderedMapNode(name, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startOrderedMapNode(name, 0);
+            enterEmpty();
+        }
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startMapEntryNode(identifier, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startMapEntryNode(identifier, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startUnkeyedList(name, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startUnkeyedList(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startUnkeyedListItem(name, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startUnkeyedListItem(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startChoiceNode(name, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startChoiceNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startAugmentationNode(identifier);
+            chunkDepth++;
+        } else {
+            openChunk().startAugmentationNode(identifier);
+        }
+    }
+
+    @Override
+    public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.startYangModeledAnyXmlNode(name, childSizeHint);
+            chunkDepth++;
+        } else {
+            openChunk().startYangModeledAnyXmlNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        if (chunkWriter != null) {
+            chunkWriter.endNode();
+            if (chunkDepth != 0) {
+                chunkDepth--;
+            } else {
+                finishChunk();
+            }
+            return;
+        }
+
+        Preconditions.checkState(depth > 0, "No open node to end");
+        cursor.exit();
+        depth--;
+    }
+
+    @Override
+    public void flush() {
+        // No-op
+    }
+
+    @Override
+    public void close() {
+        try {
+            Preconditions.checkState(chunkWriter == null && depth == 0, "Writer closed with unfinished nodes");
+        } finally {
+            cursor.close();
+        }
+    }
+}
@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import javax.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -21,45 +22,68 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 final class DataTreeState {
     private final LatestOperationHolder holder;
     private final SchemaContext schemaContext;
+    private final LeafIndexes indexes;
     private final TreeNode root;
+    private final long version;
 
-    private DataTreeState(final TreeNode root) {
+    private DataTreeState(final TreeNode root, final LeafIndexes indexes) {
         this.root = Preconditions.checkNotNull(root);
+        this.indexes = Preconditions.checkNotNull(indexes);
         holder = new LatestOperationHolder();
         schemaContext = null;
+        version = 0;
     }
 
-    private DataTreeState(final TreeNode root, final LatestOperationHolder holder, final SchemaContext schemaContext) {
+    private DataTreeState(final TreeNode root, final LeafIndexes indexes, final LatestOperationHolder holder,
+            final SchemaContext schemaContext, final long version) {
         // It should be impossible to instantiate a new root without a SchemaContext
         this.schemaContext = Preconditions.checkNotNull(schemaContext);
         this.holder = Preconditions.checkNotNull(holder);
+        this.indexes = Preconditions.checkNotNull(indexes);
         this.root = Preconditions.checkNotNull(root);
+        this.version = version;
     }
 
-    static DataTreeState createInitial(final TreeNode root) {
-        return new DataTreeState(root);
+    static DataTreeState createInitial(final TreeNode root, final LeafIndexes indexes) {
+        return new DataTreeState(root, indexes);
     }
 
     TreeNode getRoot() {
         return root;
     }
 
-    InMemoryDataTreeSnapshot newSnapshot() {
-        return new InMemoryDataTreeSnapshot(schemaContext, root, holder.newSnapshot());
+    LeafIndexes getIndexes() {
+        return indexes;
+    }
+
+    /**
+     * Return the number of root changes which have led to this state.
+     *
+     * @return State version
+     */
+    long getVersion() {
+        return version;
+    }
+
+    InMemoryDataTreeSnapshot newSnapshot(@Nullable final ReadNodeCache readCache,
+            @Nullable final CommitStatistics statistics) {
+        return new InMemoryDataTreeSnapshot(schemaContext, root, indexes, holder.newSnapshot(), readCache,
+            statistics);
     }
 
     DataTreeState withSchemaContext(final SchemaContext newSchemaContext, final ModificationApplyOperation operation) {
         holder.setCurrent(operation);
-        return new DataTreeState(root, holder, newSchemaContext);
+        return new DataTreeState(root, indexes, holder, newSchemaContext, version);
     }
 
-    DataTreeState withRoot(final TreeNode newRoot) {
-        return new DataTreeState(newRoot, holder, schemaContext);
+    DataTreeState withRoot(final TreeNode newRoot, final LeafIndexes newIndexes) {
+        return new DataTreeState(newRoot, newIndexes, holder, schemaContext, version + 1);
     }
 
     @Override
     public String toString() {
         final TreeNode r = root;
-        return MoreObjects.toStringHelper(this).add("data", NormalizedNodes.toStringTree(r.getData())).toString();
+        return MoreObjects.toStringHelper(this).add("version", version)
+                .add("data", NormalizedNodes.toStringTree(r.getData())).toString();
     }
 }
\ No newline at end of file
@@ -8,14 +8,28 @@
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheStats;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BatchCommitDataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCommitResult;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeStatistics;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeStatistics.Phase;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.InstrumentedDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ReadCachingDataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
-import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.VersionedDataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
@@ -29,23 +43,29 @@ import org.slf4j.LoggerFactory;
 /**
  * Read-only snapshot of the data tree.
  */
-final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducingDataTree {
+final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducingDataTree, BatchCommitDataTree,
+        ReadCachingDataTree, VersionedDataTree, InstrumentedDataTree {
     private static final AtomicReferenceFieldUpdater<InMemoryDataTree, DataTreeState> STATE_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(InMemoryDataTree.class, DataTreeState.class, "state");
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryDataTree.class);
 
-    private final YangInstanceIdentifier rootPath;
-    private final TreeType treeType;
+    private final DataTreeConfiguration treeConfig;
+    private final ReadNodeCache readCache;
+    private final SnapshotHistory history;
+    private final CommitStatistics statistics = new CommitStatistics();
 
     /**
      * Current data store state generation.
      */
     private volatile DataTreeState state;
 
-    public InMemoryDataTree(final TreeNode rootNode, final TreeType treeType, final YangInstanceIdentifier rootPath, final SchemaContext schemaContext) {
-        this.treeType = Preconditions.checkNotNull(treeType, "treeType");
-        this.rootPath = Preconditions.checkNotNull(rootPath, "rootPath");
-        state = DataTreeState.createInitial(rootNode);
+    public InMemoryDataTree(final TreeNode rootNode, final DataTreeConfiguration treeConfig,
+            final SchemaContext schemaContext) {
+        this.treeConfig = Preconditions.checkNotNull(treeConfig, "treeConfig");
+        readCache = treeConfig.getReadCacheSize() != 0 ? new ReadNodeCache(treeConfig.getReadCacheSize()) : null;
+        history = treeConfig.getSnapshotHistorySize() != 0 ? new SnapshotHistory(treeConfig.getSnapshotHistorySize())
+                : null;
+        state = DataTreeState.createInitial(rootNode, LeafIndexes.create(treeConfig));
         if (schemaContext != null) {
             setSchemaContext(schemaContext);
         }
@@ -62,6 +82,7 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducing
         LOG.debug("Following schema contexts will be attempted {}", newSchemaContext);
 
         final DataSchemaContextTree contextTree = DataSchemaContextTree.from(newSchemaContext);
+        final YangInstanceIdentifier rootPath = treeConfig.getRootPath();
         final DataSchemaContextNode<?> rootContextNode = contextTree.getChild(rootPath);
         if (rootContextNode == null) {
             LOG.debug("Could not find root {} in new schema context, not upgrading", rootPath);
@@ -77,21 +98,52 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducing
         final ModificationApplyOperation rootNode;
         if (rootSchemaNode instanceof ContainerSchemaNode) {
             // FIXME: real root needs to enfore presence, but that require pre-population
-            rootNode = new ContainerModificationStrategy((ContainerSchemaNode) rootSchemaNode, treeType);
+            rootNode = new ContainerModificationStrategy((ContainerSchemaNode) rootSchemaNode, treeConfig);
         } else {
-            rootNode = SchemaAwareApplyOperation.from(rootSchemaNode, treeType);
+            rootNode = SchemaAwareApplyOperation.from(rootSchemaNode, treeConfig);
         }
 
         DataTreeState currentState, newState;
+        int attempts = 0;
         do {
+            attempts++;
             currentState = state;
             newState = currentState.withSchemaContext(newSchemaContext, rootNode);
         } while (!STATE_UPDATER.compareAndSet(this, currentState, newState));
+        recordHistory(newState);
+
+        final CommitStatistics stats = statistics();
+        if (stats != null) {
+            stats.recordSchemaContextRetries(attempts - 1);
+        }
     }
 
     @Override
     public InMemoryDataTreeSnapshot takeSnapshot() {
-        return state.newSnapshot();
+        return state.newSnapshot(readCache, statistics());
+    }
+
+    @Override
+    public long getCurrentVersion() {
+        return state.getVersion();
+    }
+
+    @Override
+    public Optional<DataTreeSnapshot> takeSnapshot(final long version) {
+        final DataTreeState current = state;
+        if (current.getVersion() == version) {
+            return Optional.<DataTreeSnapshot>of(current.newSnapshot(readCache, statistics()));
+        }
+
+        final DataTreeState past = history != null ? history.lookup(version) : null;
+        return past != null ? Optional.<DataTreeSnapshot>of(past.newSnapshot(readCache, statistics()))
+                : Optional.<DataTreeSnapshot>absent();
+    }
+
+    private void recordHistory(final DataTreeState newState) {
+        if (history != null) {
+            history.record(newState);
+        }
     }
 
     @Override
@@ -106,23 +158,138 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducing
             LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(c.getTipRoot().getData()));
         }
 
-        final TreeNode newRoot = c.getTipRoot();
+        final CommitStatistics stats = statistics();
+        final long start = stats != null ? System.nanoTime() : 0;
+
         DataTreeState currentState, newState;
+        int attempts = 0;
         do {
+            attempts++;
             currentState = state;
             final TreeNode currentRoot = currentState.getRoot();
-            LOG.debug("Updating datastore from {} to {}", currentRoot, newRoot);
-
             final TreeNode oldRoot = c.getBeforeRoot();
             if (oldRoot != currentRoot) {
-                final String oldStr = simpleToString(oldRoot);
-                final String currentStr = simpleToString(currentRoot);
-                throw new IllegalStateException("Store tree " + currentStr + " and candidate base " + oldStr + " differ.");
+                rebase(c, currentRoot);
             }
 
-            newState = currentState.withRoot(newRoot);
+            final TreeNode newRoot = c.getTipRoot();
+            LOG.debug("Updating datastore from {} to {}", currentRoot, newRoot);
+            newState = currentState.withRoot(newRoot, currentState.getIndexes().update(c.getRootNode()));
             LOG.trace("Updated state from {} to {}", currentState, newState);
         } while (!STATE_UPDATER.compareAndSet(this, currentState, newState));
+        recordHistory(newState);
+
+        if (stats != null) {
+            stats.recordPhase(Phase.COMMIT, start);
+            stats.recordCommitRetries(attempts - 1);
+        }
+    }
+
+    @Override
+    public DataTreeStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    CommitStatistics statistics() {
+        return treeConfig.isStatisticsEnabled() ? statistics : null;
+    }
+
+    @Override
+    public CacheStats getReadCacheStats() {
+        return readCache != null ? readCache.getStats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    private void rebase(final InMemoryDataTreeCandidate candidate, final TreeNode currentRoot) {
+        final TreeNode oldRoot = candidate.getBeforeRoot();
+        if (!treeConfig.isCandidateRebaseAllowed()) {
+            throw new IllegalStateException("Store tree " + simpleToString(currentRoot) + " and candidate base "
+                    + simpleToString(oldRoot) + " differ.");
+        }
+
+        LOG.debug("Rebasing candidate {} from {} to {}", candidate, oldRoot, currentRoot);
+        try {
+            candidate.rebase(currentRoot);
+        } catch (DataValidationFailedException e) {
+            throw new IllegalStateException("Candidate base " + simpleToString(oldRoot)
+                    + " cannot be rebased onto store tree " + simpleToString(currentRoot), e);
+        }
+    }
+
+    @Override
+    public List<DataTreeCommitResult> commitBatch(final List<? extends DataTreeModification> modifications) {
+        final List<InMemoryDataTreeModification> mods = new ArrayList<>(modifications.size());
+        for (DataTreeModification mod : modifications) {
+            mods.add(checkSealed(mod, "commit"));
+        }
+
+        final CommitStatistics stats = statistics();
+        final long start = stats != null ? System.nanoTime() : 0;
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            final DataTreeState currentState = state;
+            final TreeNode currentRoot = currentState.getRoot();
+
+            // Chain the modifications on an in-flight tip
+            final List<DataTreeCommitResult> results = new ArrayList<>(mods.size());
+            TreeNode tipRoot = currentRoot;
+            for (InMemoryDataTreeModification m : mods) {
+                try {
+                    validate(m, tipRoot);
+                } catch (DataValidationFailedException e) {
+                    LOG.debug("Modification {} failed validation, skipping it", m, e);
+                    results.add(DataTreeCommitResult.failure(m, e));
+                    continue;
+                }
+
+                final AbstractDataTreeCandidate candidate = prepare(m, tipRoot);
+                tipRoot = candidate.getTipRoot();
+                results.add(DataTreeCommitResult.success(m, candidate));
+            }
+
+            if (tipRoot == currentRoot) {
+                LOG.debug("Batch of {} modifications did not result in a new root", mods.size());
+                recordBatch(stats, start, attempts, results);
+                return results;
+            }
+
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(tipRoot.getData()));
+            }
+
+            LeafIndexes indexes = currentState.getIndexes();
+            for (DataTreeCommitResult result : results) {
+                if (result.isSuccess()) {
+                    indexes = indexes.update(result.getCandidate().get().getRootNode());
+                }
+            }
+
+            final DataTreeState newState = currentState.withRoot(tipRoot, indexes);
+            if (STATE_UPDATER.compareAndSet(this, currentState, newState)) {
+                LOG.trace("Updated state from {} to {}", currentState, newState);
+                recordHistory(newState);
+                recordBatch(stats, start, attempts, results);
+                return results;
+            }
+
+            LOG.debug("Concurrent commit detected, retrying batch of {} modifications", mods.size());
+        }
+    }
+
+    private static void recordBatch(final CommitStatistics stats, final long start, final int attempts,
+            final List<DataTreeCommitResult> results) {
+        if (stats != null) {
+            // Only the final attempt counts, retries would count the same nodes again
+            for (DataTreeCommitResult result : results) {
+                if (result.isSuccess()) {
+                    stats.recordTouchedNodes(((InMemoryDataTreeModification) result.getModification())
+                        .getRootModification());
+                }
+            }
+            stats.recordPhase(Phase.COMMIT, start);
+            stats.recordCommitRetries(attempts - 1);
+        }
     }
 
     private static String simpleToString(final Object o) {
@@ -131,14 +298,14 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducing
 
     @Override
     public YangInstanceIdentifier getRootPath() {
-        return rootPath;
+        return treeConfig.getRootPath();
     }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).
                 add("object", super.toString()).
-                add("rootPath", rootPath).
+                add("config", treeConfig).
                 add("state", state).
                 toString();
     }
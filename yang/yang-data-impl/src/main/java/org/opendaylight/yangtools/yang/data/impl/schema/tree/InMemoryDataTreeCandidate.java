@@ -7,10 +7,12 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
+import com.google.common.base.Preconditions;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 
 final class InMemoryDataTreeCandidate extends AbstractDataTreeCandidate {
@@ -27,12 +29,26 @@ final class InMemoryDataTreeCandidate extends AbstractDataTreeCandidate {
         }
     }
 
-    private final RootNode root;
+    private final InMemoryDataTreeModification modification;
+    private volatile RootNode root;
 
-    InMemoryDataTreeCandidate(final YangInstanceIdentifier rootPath, final ModifiedNode modificationRoot,
+    InMemoryDataTreeCandidate(final YangInstanceIdentifier rootPath, final InMemoryDataTreeModification modification,
             final TreeNode beforeRoot, final TreeNode afterRoot) {
         super(rootPath);
-        this.root = new RootNode(modificationRoot, beforeRoot, afterRoot);
+        this.modification = Preconditions.checkNotNull(modification);
+        this.root = new RootNode(modification.getRootModification(), beforeRoot, afterRoot);
+    }
+
+    /**
+     * Re-apply the modification which produced this candidate on top of a different root. Once this method
+     * returns, this candidate describes the transition from the new root.
+     *
+     * @param newBeforeRoot Root on which to apply the modification
+     * @throws DataValidationFailedException if the modification conflicts with the new root
+     */
+    void rebase(final TreeNode newBeforeRoot) throws DataValidationFailedException {
+        validate(modification, newBeforeRoot);
+        root = new RootNode(root.getMod(), newBeforeRoot, apply(modification, newBeforeRoot));
     }
 
     @Override
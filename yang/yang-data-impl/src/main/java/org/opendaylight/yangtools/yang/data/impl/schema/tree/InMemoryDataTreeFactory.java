@@ -7,12 +7,14 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
+import com.google.common.annotations.Beta;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeFactory;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
@@ -41,30 +43,45 @@ public final class InMemoryDataTreeFactory implements DataTreeFactory {
 
     @Override
     public TipProducingDataTree create(final TreeType treeType) {
-        return new InMemoryDataTree(TreeNodeFactory.createTreeNode(rootContainer, Version.initial()),
-            treeType, YangInstanceIdentifier.EMPTY, null);
+        return create(DataTreeConfiguration.getDefault(treeType));
     }
 
     @Override
     public TipProducingDataTree create(final TreeType treeType, final YangInstanceIdentifier rootPath) {
-        if (rootPath.isEmpty()) {
-            return create(treeType);
-        }
+        return create(DataTreeConfiguration.builder(treeType).setRootPath(rootPath).build());
+    }
+
+    /**
+     * Create a new data tree based on specified configuration.
+     *
+     * @param treeConfig
+     *          Tree configuration.
+     *
+     * @return A data tree instance.
+     * @throws IllegalArgumentException if the root path is not supported.
+     */
+    @Beta
+    public TipProducingDataTree create(final DataTreeConfiguration treeConfig) {
+        final YangInstanceIdentifier rootPath = treeConfig.getRootPath();
         final NormalizedNode<?, ?> root;
-        final PathArgument arg = rootPath.getLastPathArgument();
-        if (arg instanceof NodeIdentifier) {
+        if (rootPath.isEmpty()) {
             root = rootContainer;
-        } else if (arg instanceof NodeIdentifierWithPredicates) {
-            final DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> b = ImmutableNodes.mapEntryBuilder();
-            b.withNodeIdentifier((NodeIdentifierWithPredicates) arg);
-            root = b.build();
         } else {
+            final PathArgument arg = rootPath.getLastPathArgument();
+            if (arg instanceof NodeIdentifier) {
+                root = rootContainer;
+            } else if (arg instanceof NodeIdentifierWithPredicates) {
+                final DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> b = ImmutableNodes.mapEntryBuilder();
+                b.withNodeIdentifier((NodeIdentifierWithPredicates) arg);
+                root = b.build();
+            } else {
 
-            // FIXME: implement augmentations and leaf-lists
-            throw new IllegalArgumentException("Unsupported root node " + arg);
+                // FIXME: implement augmentations and leaf-lists
+                throw new IllegalArgumentException("Unsupported root node " + arg);
+            }
         }
 
-        return new InMemoryDataTree(TreeNodeFactory.createTreeNode(root, Version.initial()), treeType, rootPath, null);
+        return new InMemoryDataTree(TreeNodeFactory.createTreeNode(root, Version.initial()), treeConfig, null);
     }
 
     /**
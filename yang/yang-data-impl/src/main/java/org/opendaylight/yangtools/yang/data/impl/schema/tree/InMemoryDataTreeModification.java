@@ -18,9 +18,11 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.CursorAwareDataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeStatistics.Phase;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.StoreTreeNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
@@ -271,14 +273,26 @@ final class InMemoryDataTreeModification extends AbstractCursorAware implements
         return openCursor(new InMemoryDataTreeModificationCursor(this, path, op));
     }
 
+    @Override
+    public NormalizedNodeStreamWriter createStreamWriter(@Nonnull final YangInstanceIdentifier path) {
+        return DataTreeModificationStreamWriter.create(createCursor(path));
+    }
+
     @Override
     public void ready() {
         final boolean wasRunning = SEALED_UPDATER.compareAndSet(this, 0, 1);
         Preconditions.checkState(wasRunning, "Attempted to seal an already-sealed Data Tree.");
 
+        final CommitStatistics stats = snapshot.getStatistics();
+        final long start = stats != null ? System.nanoTime() : 0;
+
         AbstractReadyIterator current = AbstractReadyIterator.create(rootNode, strategyTree);
         do {
             current = current.process(version);
         } while (current != null);
+
+        if (stats != null) {
+            stats.recordPhase(Phase.READY, start);
+        }
     }
 }
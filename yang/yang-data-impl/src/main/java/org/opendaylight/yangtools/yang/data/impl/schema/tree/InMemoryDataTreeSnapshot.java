@@ -8,26 +8,50 @@
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import java.util.Collection;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.CursorAwareDataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshotCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshotWalker;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DiffableDataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.IndexedDataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.WalkableDataTreeSnapshot;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
-final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements CursorAwareDataTreeSnapshot {
+final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements CursorAwareDataTreeSnapshot,
+        DiffableDataTreeSnapshot, IndexedDataTreeSnapshot, WalkableDataTreeSnapshot {
     private final RootModificationApplyOperation applyOper;
     private final SchemaContext schemaContext;
+    private final ReadNodeCache readCache;
+    private final CommitStatistics statistics;
+    private final LeafIndexes indexes;
     private final TreeNode rootNode;
 
     InMemoryDataTreeSnapshot(final SchemaContext schemaContext, final TreeNode rootNode,
             final RootModificationApplyOperation applyOper) {
+        this(schemaContext, rootNode, LeafIndexes.EMPTY, applyOper, null, null);
+    }
+
+    InMemoryDataTreeSnapshot(final SchemaContext schemaContext, final TreeNode rootNode, final LeafIndexes indexes,
+            final RootModificationApplyOperation applyOper, @Nullable final ReadNodeCache readCache,
+            @Nullable final CommitStatistics statistics) {
+        this.readCache = readCache;
+        this.statistics = statistics;
         this.schemaContext = Preconditions.checkNotNull(schemaContext);
         this.rootNode = Preconditions.checkNotNull(rootNode);
+        this.indexes = Preconditions.checkNotNull(indexes);
         this.applyOper = Preconditions.checkNotNull(applyOper);
     }
 
@@ -39,9 +63,18 @@ final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements Curs
         return schemaContext;
     }
 
+    @Nullable CommitStatistics getStatistics() {
+        return statistics;
+    }
+
+    private Optional<NormalizedNode<?, ?>> findNode(final YangInstanceIdentifier path) {
+        return readCache != null ? readCache.findNode(rootNode.getData(), path)
+                : NormalizedNodes.findNode(rootNode.getData(), path);
+    }
+
     @Override
     public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
-        return NormalizedNodes.findNode(rootNode.getData(), path);
+        return findNode(path);
     }
 
     @Override
@@ -51,7 +84,7 @@ final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements Curs
 
     @Override
     public DataTreeSnapshotCursor createCursor(@Nonnull final YangInstanceIdentifier path) {
-        final Optional<NormalizedNode<?, ?>> maybeRoot = NormalizedNodes.findNode(rootNode.getData(), path);
+        final Optional<NormalizedNode<?, ?>> maybeRoot = findNode(path);
         if (!maybeRoot.isPresent()) {
             return null;
         }
@@ -61,6 +94,26 @@ final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements Curs
         return openCursor(new InMemoryDataTreeSnapshotCursor(this, path, (NormalizedNodeContainer<?, ?, ?>)root));
     }
 
+    @Override
+    public DataTreeSnapshotWalker createWalker(@Nonnull final YangInstanceIdentifier path) {
+        final Optional<NormalizedNode<?, ?>> maybeRoot = findNode(path);
+        return maybeRoot.isPresent() ? new InMemoryDataTreeSnapshotWalker(path, maybeRoot.get()) : null;
+    }
+
+    @Override
+    public DataTreeCandidate diff(@Nonnull final DataTreeSnapshot other) {
+        Preconditions.checkArgument(other instanceof InMemoryDataTreeSnapshot, "Cannot compare against snapshot %s",
+            other);
+        return DataTreeCandidates.newDataTreeCandidate(YangInstanceIdentifier.EMPTY,
+            SnapshotDiffCandidateNode.diff(rootNode, ((InMemoryDataTreeSnapshot) other).rootNode));
+    }
+
+    @Override
+    public Collection<NodeIdentifierWithPredicates> lookupLeafIndex(@Nonnull final YangInstanceIdentifier listPath,
+            @Nonnull final QName leafName, @Nonnull final Object value) {
+        return indexes.lookup(listPath, leafName, value);
+    }
+
     @Override
     public String toString() {
         return rootNode.getSubtreeVersion().toString();
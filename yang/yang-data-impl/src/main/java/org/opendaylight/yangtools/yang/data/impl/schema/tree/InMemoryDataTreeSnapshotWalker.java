@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshotWalker;
+
+/**
+ * {@link DataTreeSnapshotWalker} implementation. Nodes on the current path and iterators over their children are
+ * kept in a pair of arrays, which are grown as needed, so the only per-node allocation is the child iterator of
+ * each container.
+ */
+final class InMemoryDataTreeSnapshotWalker implements DataTreeSnapshotWalker {
+    private static final int INITIAL_DEPTH = 16;
+
+    private final PathView path = new PathView();
+    private final YangInstanceIdentifier rootPath;
+
+    private NormalizedNode<?, ?>[] nodes = new NormalizedNode<?, ?>[INITIAL_DEPTH];
+    @SuppressWarnings("unchecked")
+    private Iterator<? extends NormalizedNode<?, ?>>[] iterators = new Iterator[INITIAL_DEPTH];
+    // -1 before the first move and after the last move
+    private int depth = -1;
+    private boolean started;
+    private boolean descend;
+
+    InMemoryDataTreeSnapshotWalker(final YangInstanceIdentifier rootPath, final NormalizedNode<?, ?> root) {
+        this.rootPath = Preconditions.checkNotNull(rootPath);
+        nodes[0] = Preconditions.checkNotNull(root);
+    }
+
+    @Override
+    public YangInstanceIdentifier getRootPath() {
+        return rootPath;
+    }
+
+    @Override
+    public boolean next() {
+        Preconditions.checkState(nodes != null, "Walker has been closed");
+        if (!started) {
+            started = true;
+            depth = 0;
+            descend = true;
+            return true;
+        }
+        if (depth < 0) {
+            return false;
+        }
+
+        if (descend) {
+            final NormalizedNode<?, ?> current = nodes[depth];
+            if (current instanceof NormalizedNodeContainer) {
+                final Collection<? extends NormalizedNode<?, ?>> children =
+                        ((NormalizedNodeContainer<?, ?, ? extends NormalizedNode<?, ?>>) current).getValue();
+                if (!children.isEmpty()) {
+                    iterators[depth] = children.iterator();
+                }
+            }
+        }
+
+        for (int level = depth; level >= 0; --level) {
+            final Iterator<? extends NormalizedNode<?, ?>> it = iterators[level];
+            if (it != null && it.hasNext()) {
+                final int childLevel = level + 1;
+                ensureCapacity(childLevel);
+                nodes[childLevel] = it.next();
+                depth = childLevel;
+                descend = true;
+                return true;
+            }
+
+            iterators[level] = null;
+            if (level != 0) {
+                nodes[level] = null;
+            }
+        }
+
+        depth = -1;
+        return false;
+    }
+
+    private void ensureCapacity(final int level) {
+        if (level == nodes.length) {
+            nodes = Arrays.copyOf(nodes, level * 2);
+            iterators = Arrays.copyOf(iterators, level * 2);
+        }
+    }
+
+    private void checkPositioned() {
+        Preconditions.checkState(depth >= 0, "Walker is not positioned on a node");
+    }
+
+    @Override
+    public void skipChildren() {
+        checkPositioned();
+        descend = false;
+    }
+
+    @Override
+    @Nonnull
+    public NormalizedNode<?, ?> getNode() {
+        checkPositioned();
+        return nodes[depth];
+    }
+
+    @Override
+    public int getDepth() {
+        checkPositioned();
+        return depth;
+    }
+
+    @Override
+    @Nonnull
+    public List<PathArgument> getPath() {
+        checkPositioned();
+        return path;
+    }
+
+    @Override
+    public void close() {
+        nodes = null;
+        iterators = null;
+        depth = -1;
+    }
+
+    private final class PathView extends AbstractList<PathArgument> implements RandomAccess {
+        @Override
+        public PathArgument get(final int index) {
+            Preconditions.checkElementIndex(index, depth);
+            return nodes[index + 1].getIdentifier();
+        }
+
+        @Override
+        public int size() {
+            return depth < 0 ? 0 : depth;
+        }
+    }
+}
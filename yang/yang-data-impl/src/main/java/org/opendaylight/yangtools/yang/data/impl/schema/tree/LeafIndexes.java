@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.util.ImmutableHashTrieMap;
+import org.opendaylight.yangtools.util.MutableHashTrieMap;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Secondary indexes of leaf values in keyed lists, as requested by {@link DataTreeConfiguration#getLeafIndexes()}.
+ * Each index is held in an {@link ImmutableHashTrieMap}, so that an updated instance shares most of its structure
+ * with its predecessor and every {@link DataTreeState} can hold indexes which match its root.
+ */
+final class LeafIndexes implements Immutable {
+    static final LeafIndexes EMPTY = new LeafIndexes(
+        ImmutableMap.<YangInstanceIdentifier, Map<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>>>of());
+
+    private final ImmutableMap<YangInstanceIdentifier, Map<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>>> indexes;
+
+    private LeafIndexes(final ImmutableMap<YangInstanceIdentifier, Map<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>>> indexes) {
+        this.indexes = Preconditions.checkNotNull(indexes);
+    }
+
+    /**
+     * Create empty indexes for an empty data tree.
+     *
+     * @param treeConfig Data tree configuration
+     * @return Empty indexes
+     */
+    static LeafIndexes create(final DataTreeConfiguration treeConfig) {
+        if (treeConfig.getLeafIndexes().isEmpty()) {
+            return EMPTY;
+        }
+
+        final ImmutableMap.Builder<YangInstanceIdentifier, Map<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>>> b =
+                ImmutableMap.builder();
+        for (Entry<YangInstanceIdentifier, Collection<QName>> e : treeConfig.getLeafIndexes().asMap().entrySet()) {
+            final ImmutableMap.Builder<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>> lb =
+                    ImmutableMap.builder();
+            for (QName leaf : e.getValue()) {
+                lb.put(leaf, ImmutableHashTrieMap.<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>of());
+            }
+            b.put(e.getKey(), lb.build());
+        }
+        return new LeafIndexes(b.build());
+    }
+
+    Collection<NodeIdentifierWithPredicates> lookup(final YangInstanceIdentifier listPath, final QName leafName,
+            final Object value) {
+        final Map<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>> leaves =
+                indexes.get(listPath);
+        final ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>> index =
+                leaves == null ? null : leaves.get(leafName);
+        Preconditions.checkArgument(index != null, "Leaf %s of list %s is not indexed", leafName, listPath);
+
+        final ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean> ret = index.get(Preconditions.checkNotNull(value));
+        return ret != null ? Collections.unmodifiableSet(ret.keySet())
+                : Collections.<NodeIdentifierWithPredicates>emptySet();
+    }
+
+    /**
+     * Return indexes updated to reflect a data tree candidate. The candidate must be rooted at the data tree root
+     * and its data before must match the state of these indexes.
+     *
+     * @param root Candidate root node
+     * @return Updated indexes, or this object if no indexed list has been touched
+     */
+    LeafIndexes update(final DataTreeCandidateNode root) {
+        if (indexes.isEmpty() || root.getModificationType() == ModificationType.UNMODIFIED) {
+            return this;
+        }
+
+        Map<YangInstanceIdentifier, Map<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>>> updated = null;
+        for (Entry<YangInstanceIdentifier, Map<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>>> e : indexes.entrySet()) {
+            final DataTreeCandidateNode list = findList(root, e.getKey());
+            if (list == null) {
+                continue;
+            }
+
+            final ImmutableMap.Builder<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>> b =
+                    ImmutableMap.builder();
+            for (Entry<QName, ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>>> le : e.getValue().entrySet()) {
+                b.put(le.getKey(), updateIndex(le.getValue(), list, new NodeIdentifier(le.getKey())));
+            }
+
+            if (updated == null) {
+                updated = new LinkedHashMap<>(indexes);
+            }
+            updated.put(e.getKey(), b.build());
+        }
+
+        return updated == null ? this : new LeafIndexes(ImmutableMap.copyOf(updated));
+    }
+
+    private static DataTreeCandidateNode findList(final DataTreeCandidateNode root, final YangInstanceIdentifier path) {
+        DataTreeCandidateNode node = root;
+        for (PathArgument arg : path.getPathArguments()) {
+            node = node.getModifiedChild(arg);
+            if (node == null || node.getModificationType() == ModificationType.UNMODIFIED) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private static ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>> updateIndex(
+            final ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>> index,
+            final DataTreeCandidateNode list, final NodeIdentifier leafId) {
+        /*
+         * Sets of identifiers are persistent, too. We keep a mutable copy of each set we touch, so that a bulk update
+         * of entries with the same value edits the set in place and it is frozen only once.
+         */
+        final Map<Object, MutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>> touched = new HashMap<>();
+        for (DataTreeCandidateNode entry : list.getChildNodes()) {
+            if (entry.getModificationType() == ModificationType.UNMODIFIED) {
+                continue;
+            }
+
+            final Object oldValue = leafValue(entry.getDataBefore(), leafId);
+            final Object newValue = leafValue(entry.getDataAfter(), leafId);
+            if (Objects.equal(oldValue, newValue)) {
+                continue;
+            }
+
+            final NodeIdentifierWithPredicates id = (NodeIdentifierWithPredicates) entry.getIdentifier();
+            if (oldValue != null) {
+                mutableSet(index, touched, oldValue).remove(id);
+            }
+            if (newValue != null) {
+                mutableSet(index, touched, newValue).put(id, Boolean.TRUE);
+            }
+        }
+
+        if (touched.isEmpty()) {
+            return index;
+        }
+
+        final MutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>> mutable =
+                index.toModifiableMap();
+        for (Entry<Object, MutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>> e : touched.entrySet()) {
+            if (e.getValue().isEmpty()) {
+                mutable.remove(e.getKey());
+            } else {
+                mutable.put(e.getKey(), e.getValue().toUnmodifiableMap());
+            }
+        }
+        return mutable.toUnmodifiableMap();
+    }
+
+    private static MutableHashTrieMap<NodeIdentifierWithPredicates, Boolean> mutableSet(
+            final ImmutableHashTrieMap<Object, ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>> index,
+            final Map<Object, MutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>> touched, final Object value) {
+        MutableHashTrieMap<NodeIdentifierWithPredicates, Boolean> ret = touched.get(value);
+        if (ret == null) {
+            final ImmutableHashTrieMap<NodeIdentifierWithPredicates, Boolean> existing = index.get(value);
+            ret = existing != null ? existing.toModifiableMap()
+                    : new MutableHashTrieMap<NodeIdentifierWithPredicates, Boolean>();
+            touched.put(value, ret);
+        }
+        return ret;
+    }
+
+    private static Object leafValue(final Optional<NormalizedNode<?, ?>> entry, final NodeIdentifier leafId) {
+        if (!entry.isPresent() || !(entry.get() instanceof DataContainerNode)) {
+            return null;
+        }
+
+        final Optional<? extends NormalizedNode<?, ?>> leaf = ((DataContainerNode<?>) entry.get()).getChild(leafId);
+        return leaf.isPresent() ? leaf.get().getValue() : null;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("indexes", indexes.keySet()).toString();
+    }
+}
@@ -11,10 +11,12 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableCollection.Builder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import java.util.Collection;
 import org.opendaylight.yangtools.concepts.Immutable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
@@ -38,13 +40,27 @@ abstract class MandatoryLeafEnforcer implements Immutable {
         protected void enforceOnTreeNode(final NormalizedNode<?, ?> normalizedNode) {
             // Intentional no-op
         }
+
+        @Override
+        protected void enforceOnTreeNode(final ModifiedNode modification, final TreeNode tree) {
+            // Intentional no-op
+        }
     }
 
     private static final class Strict extends MandatoryLeafEnforcer {
         private final Collection<YangInstanceIdentifier> mandatoryNodes;
+        // Mandatory nodes indexed by the direct child through which they are reached
+        private final ImmutableListMultimap<PathArgument, YangInstanceIdentifier> mandatoryByChild;
 
         private Strict(final Collection<YangInstanceIdentifier> mandatoryNodes) {
             this.mandatoryNodes = Preconditions.checkNotNull(mandatoryNodes);
+
+            final ImmutableListMultimap.Builder<PathArgument, YangInstanceIdentifier> b =
+                    ImmutableListMultimap.builder();
+            for (YangInstanceIdentifier id : mandatoryNodes) {
+                b.put(id.getPathArguments().get(0), id);
+            }
+            this.mandatoryByChild = b.build();
         }
 
         @Override
@@ -55,10 +71,32 @@ abstract class MandatoryLeafEnforcer implements Immutable {
         @Override
         protected void enforceOnTreeNode(final NormalizedNode<?, ?> data) {
             for (YangInstanceIdentifier id : mandatoryNodes) {
-                final Optional<NormalizedNode<?, ?>> descandant = NormalizedNodes.findNode(data, id);
-                Preconditions.checkArgument(descandant.isPresent(), "Node %s is missing mandatory descendant %s",
-                        data.getIdentifier(), id);
+                checkDescendant(data, id);
+            }
+        }
+
+        @Override
+        protected void enforceOnTreeNode(final ModifiedNode modification, final TreeNode tree) {
+            final Collection<ModifiedNode> children = modification.getChildren();
+            if (children.size() >= mandatoryByChild.keySet().size()) {
+                enforceOnTreeNode(tree.getData());
+                return;
             }
+
+            final NormalizedNode<?, ?> data = tree.getData();
+            for (ModifiedNode child : children) {
+                if (child.getOperation() != LogicalOperation.NONE) {
+                    for (YangInstanceIdentifier id : mandatoryByChild.get(child.getIdentifier())) {
+                        checkDescendant(data, id);
+                    }
+                }
+            }
+        }
+
+        private static void checkDescendant(final NormalizedNode<?, ?> data, final YangInstanceIdentifier id) {
+            final Optional<NormalizedNode<?, ?>> descandant = NormalizedNodes.findNode(data, id);
+            Preconditions.checkArgument(descandant.isPresent(), "Node %s is missing mandatory descendant %s",
+                    data.getIdentifier(), id);
         }
     }
 
@@ -69,6 +107,16 @@ abstract class MandatoryLeafEnforcer implements Immutable {
 
     protected abstract void enforceOnTreeNode(final NormalizedNode<?, ?> normalizedNode);
 
+    /**
+     * Enforce mandatory descendants on the result of a touch operation. The node being touched has already been
+     * enforced when it was written or merged, hence only descendants reached through modified children can have
+     * disappeared and need to be checked again.
+     *
+     * @param modification Touch modification which produced the node
+     * @param tree Resulting tree node
+     */
+    protected abstract void enforceOnTreeNode(final ModifiedNode modification, final TreeNode tree);
+
     private static void findMandatoryNodes(final Builder<YangInstanceIdentifier> builder,
             final YangInstanceIdentifier id, final DataNodeContainer schema, final TreeType type) {
         for (DataSchemaNode child : schema.getChildNodes()) {
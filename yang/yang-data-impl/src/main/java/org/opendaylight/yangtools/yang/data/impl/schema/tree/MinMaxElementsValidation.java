@@ -49,7 +49,11 @@ final class MinMaxElementsValidation extends SchemaAwareApplyOperation {
 
     private void validateMinMaxElements(final YangInstanceIdentifier path, final PathArgument id,
             final NormalizedNode<?, ?> data) throws DataValidationFailedException {
-        final int children = numOfChildrenFromValue(data);
+        validateMinMaxElements(path, id, numOfChildrenFromValue(data));
+    }
+
+    private void validateMinMaxElements(final YangInstanceIdentifier path, final PathArgument id,
+            final int children) throws DataValidationFailedException {
         if (minElements != null && minElements > children) {
             throw new DataValidationFailedException(path, String.format(
                     "%s does not have enough elements (%s), needs at least %s", id,
@@ -88,6 +92,46 @@ final class MinMaxElementsValidation extends SchemaAwareApplyOperation {
         modification.setValidatedNode(this, current, applied);
     }
 
+    /**
+     * Validate a touch modification without applying it. Touch does not replace the node, so the resulting number
+     * of elements can be derived from the current count and the operations recorded on the modified children,
+     * making the check proportional to the number of changed children rather than the size of the node.
+     */
+    private void checkTouchMinMaxElements(final YangInstanceIdentifier path, final NodeModification nodeMod,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        if (!(nodeMod instanceof ModifiedNode) || !current.isPresent()
+                || !(current.get().getData() instanceof NormalizedNodeContainer)) {
+            checkMinMaxElements(path, nodeMod, current, version);
+            return;
+        }
+
+        final NormalizedNodeContainer<?, PathArgument, ?> data =
+                (NormalizedNodeContainer<?, PathArgument, ?>) current.get().getData();
+        int children = data.getValue().size();
+        for (ModifiedNode child : ((ModifiedNode) nodeMod).getChildren()) {
+            switch (child.getOperation()) {
+            case DELETE:
+                if (data.getChild(child.getIdentifier()).isPresent()) {
+                    children--;
+                }
+                break;
+            case MERGE:
+            case WRITE:
+                if (!data.getChild(child.getIdentifier()).isPresent()) {
+                    children++;
+                }
+                break;
+            case NONE:
+            case TOUCH:
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled modification type " + child.getOperation());
+            }
+        }
+
+        validateMinMaxElements(path, nodeMod.getIdentifier(), children);
+    }
+
     private static int numOfChildrenFromValue(final NormalizedNode<?, ?> value) {
         if (value instanceof NormalizedNodeContainer) {
             return ((NormalizedNodeContainer<?, ?, ?>) value).getValue().size();
@@ -104,7 +148,7 @@ final class MinMaxElementsValidation extends SchemaAwareApplyOperation {
     protected void checkTouchApplicable(final YangInstanceIdentifier path, final NodeModification modification,
             final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
         delegate.checkTouchApplicable(path, modification, current, version);
-        checkMinMaxElements(path, modification, current, version);
+        checkTouchMinMaxElements(path, modification, current, version);
     }
 
     @Override
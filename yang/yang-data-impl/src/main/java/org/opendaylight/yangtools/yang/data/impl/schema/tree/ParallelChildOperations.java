@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+
+/**
+ * Utility class for fanning out child operations onto a {@link ForkJoinPool}. Child modifications of a single node
+ * touch disjoint subtrees, hence they can be validated and applied independently of each other. Results are stored
+ * in arrays indexed by the child's position, so the caller can merge them into the parent in the original order.
+ */
+final class ParallelChildOperations {
+    /**
+     * Number of children processed by a single task without splitting it further.
+     */
+    private static final int CHUNK_SIZE = 64;
+
+    private ParallelChildOperations() {
+        throw new UnsupportedOperationException();
+    }
+
+    private abstract static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        ChunkTask(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected final void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                for (int i = from; i < to; ++i) {
+                    computeOne(i);
+                }
+            } else {
+                final int mid = (from + to) >>> 1;
+                invokeAll(split(from, mid), split(mid, to));
+            }
+        }
+
+        abstract ChunkTask split(int from, int to);
+
+        abstract void computeOne(int index);
+    }
+
+    private static final class ApplyTask extends ChunkTask {
+        private static final long serialVersionUID = 1L;
+        private final ModificationApplyOperation[] operations;
+        private final ModifiedNode[] modifications;
+        private final Optional<TreeNode>[] current;
+        private final Optional<TreeNode>[] results;
+        private final Version version;
+
+        ApplyTask(final ModificationApplyOperation[] operations, final ModifiedNode[] modifications,
+                final Optional<TreeNode>[] current, final Optional<TreeNode>[] results, final Version version,
+                final int from, final int to) {
+            super(from, to);
+            this.operations = operations;
+            this.modifications = modifications;
+            this.current = current;
+            this.results = results;
+            this.version = version;
+        }
+
+        @Override
+        ChunkTask split(final int from, final int to) {
+            return new ApplyTask(operations, modifications, current, results, version, from, to);
+        }
+
+        @Override
+        void computeOne(final int index) {
+            results[index] = operations[index].apply(modifications[index], current[index], version);
+        }
+    }
+
+    private static final class CheckTask extends ChunkTask {
+        private static final long serialVersionUID = 1L;
+        private final ModificationApplyOperation[] operations;
+        private final NodeModification[] modifications;
+        private final Optional<TreeNode>[] current;
+        private final DataValidationFailedException[] failures;
+        private final YangInstanceIdentifier path;
+        private final Version version;
+
+        CheckTask(final ModificationApplyOperation[] operations, final NodeModification[] modifications,
+                final Optional<TreeNode>[] current, final DataValidationFailedException[] failures,
+                final YangInstanceIdentifier path, final Version version, final int from, final int to) {
+            super(from, to);
+            this.operations = operations;
+            this.modifications = modifications;
+            this.current = current;
+            this.failures = failures;
+            this.path = path;
+            this.version = version;
+        }
+
+        @Override
+        ChunkTask split(final int from, final int to) {
+            return new CheckTask(operations, modifications, current, failures, path, version, from, to);
+        }
+
+        @Override
+        void computeOne(final int index) {
+            final NodeModification mod = modifications[index];
+            try {
+                operations[index].checkApplicable(path.node(mod.getIdentifier()), mod, current[index], version);
+            } catch (DataValidationFailedException e) {
+                failures[index] = e;
+            }
+        }
+    }
+
+    private static void invoke(final ForkJoinPool pool, final ForkJoinTask<?> task) {
+        if (ForkJoinTask.getPool() == pool) {
+            // We are already running in the pool, fork/join directly
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Apply child modifications in parallel.
+     *
+     * @param pool Pool to run in
+     * @param operations Child operations
+     * @param modifications Child modifications
+     * @param current Current child nodes
+     * @param version New subtree version of parent node
+     * @return Results of individual apply operations, indexed the same as the modifications.
+     */
+    static Optional<TreeNode>[] apply(final ForkJoinPool pool, final ModificationApplyOperation[] operations,
+            final ModifiedNode[] modifications, final Optional<TreeNode>[] current, final Version version) {
+        @SuppressWarnings("unchecked")
+        final Optional<TreeNode>[] results = new Optional[modifications.length];
+        invoke(pool, new ApplyTask(operations, modifications, current, results, version, 0, modifications.length));
+        return results;
+    }
+
+    /**
+     * Check applicability of child modifications in parallel. If more than one child fails validation, the failure
+     * of the first child is reported, just as it would be by sequential validation.
+     *
+     * @param pool Pool to run in
+     * @param path Path of the parent node
+     * @param operations Child operations
+     * @param modifications Child modifications
+     * @param current Current child nodes
+     * @param version New subtree version of parent node
+     * @throws DataValidationFailedException if any of the modifications is not applicable
+     */
+    static void checkApplicable(final ForkJoinPool pool, final YangInstanceIdentifier path,
+            final ModificationApplyOperation[] operations, final NodeModification[] modifications,
+            final Optional<TreeNode>[] current, final Version version) throws DataValidationFailedException {
+        final DataValidationFailedException[] failures = new DataValidationFailedException[modifications.length];
+        invoke(pool, new CheckTask(operations, modifications, current, failures, path, version, 0,
+            modifications.length));
+
+        for (DataValidationFailedException e : failures) {
+            if (e != null) {
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+
+/**
+ * Cache of path lookup results shared by all snapshots of a data tree. Each entry records the nodes encountered on
+ * the path when the result was looked up. Since nodes are immutable and unmodified subtrees are shared between
+ * successive versions of the tree, finding any of these nodes at its recorded position in another snapshot proves
+ * the result is still valid there. A lookup therefore walks the path only until it reaches a subtree which has not
+ * been modified since the entry was recorded, which for an unmodified snapshot is the root itself.
+ *
+ * <p>
+ * Entries hold on to the nodes they have recorded, hence an entry which is not accessed can retain data which is
+ * no longer present in the tree until it is evicted.
+ */
+final class ReadNodeCache {
+    private static final class Entry {
+        private final NormalizedNode<?, ?>[] nodes;
+        private final Optional<NormalizedNode<?, ?>> result;
+
+        Entry(final NormalizedNode<?, ?>[] nodes, final Optional<NormalizedNode<?, ?>> result) {
+            this.nodes = nodes;
+            this.result = result;
+        }
+
+        boolean isValidAt(final int depth, final NormalizedNode<?, ?> node) {
+            return depth < nodes.length && nodes[depth] == node;
+        }
+    }
+
+    private final Cache<YangInstanceIdentifier, Entry> cache;
+
+    ReadNodeCache(final int maximumSize) {
+        Preconditions.checkArgument(maximumSize > 0, "Cache size %s is not positive", maximumSize);
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    Optional<NormalizedNode<?, ?>> findNode(@Nonnull final NormalizedNode<?, ?> root,
+            @Nonnull final YangInstanceIdentifier path) {
+        final Entry entry = cache.getIfPresent(path);
+        if (entry != null && entry.isValidAt(0, root)) {
+            return entry.result;
+        }
+
+        final List<PathArgument> args = path.getPathArguments();
+        final NormalizedNode<?, ?>[] nodes = new NormalizedNode<?, ?>[args.size() + 1];
+        NormalizedNode<?, ?> current = root;
+        int depth = 0;
+        Optional<NormalizedNode<?, ?>> result;
+        while (true) {
+            if (entry != null && entry.isValidAt(depth, current)) {
+                // The subtree is unchanged, refresh the entry so the next lookup is validated at the root
+                final NormalizedNode<?, ?>[] refreshed = entry.nodes.length == nodes.length ? nodes
+                        : Arrays.copyOf(nodes, entry.nodes.length);
+                System.arraycopy(entry.nodes, depth, refreshed, depth, entry.nodes.length - depth);
+                cache.put(path, new Entry(refreshed, entry.result));
+                return entry.result;
+            }
+
+            nodes[depth] = current;
+            if (depth == args.size()) {
+                result = Optional.<NormalizedNode<?, ?>>of(current);
+                break;
+            }
+
+            final Optional<NormalizedNode<?, ?>> child = NormalizedNodes.getDirectChild(current, args.get(depth));
+            if (!child.isPresent()) {
+                result = child;
+                break;
+            }
+
+            current = child.get();
+            depth++;
+        }
+
+        cache.put(path, new Entry(depth == args.size() ? nodes : Arrays.copyOf(nodes, depth + 1), result));
+        return result;
+    }
+
+    /**
+     * Return cache statistics. Note that a hit means an entry was found, which may have been revalidated against
+     * a modified tree, or found to be stale and replaced.
+     *
+     * @return Cache statistics
+     */
+    CacheStats getStats() {
+        return cache.stats();
+    }
+
+    @Override
+    public String toString() {
+        return getStats().toString();
+    }
+}
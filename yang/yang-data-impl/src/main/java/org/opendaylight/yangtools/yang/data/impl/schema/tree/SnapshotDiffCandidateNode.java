@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+
+/**
+ * A {@link DataTreeCandidateNode} describing the difference between two {@link TreeNode}s, as computed by
+ * {@link #diff(TreeNode, TreeNode)}. The difference is computed eagerly, but it skips any subtrees which share
+ * the same data or the same subtree version, hence only containers on the path to an actual change are examined.
+ */
+final class SnapshotDiffCandidateNode implements DataTreeCandidateNode {
+    private final Map<PathArgument, DataTreeCandidateNode> children;
+    private final PathArgument identifier;
+    private final TreeNode before;
+    private final TreeNode after;
+
+    private SnapshotDiffCandidateNode(final PathArgument identifier, final TreeNode before, final TreeNode after,
+            final Map<PathArgument, DataTreeCandidateNode> children) {
+        this.identifier = identifier;
+        this.before = Preconditions.checkNotNull(before);
+        this.after = Preconditions.checkNotNull(after);
+        this.children = Preconditions.checkNotNull(children);
+    }
+
+    /**
+     * Compute the difference between two root nodes.
+     *
+     * @param beforeRoot Root node before
+     * @param afterRoot Root node after
+     * @return Root candidate node
+     */
+    static DataTreeCandidateNode diff(final TreeNode beforeRoot, final TreeNode afterRoot) {
+        final Map<PathArgument, DataTreeCandidateNode> children;
+        if (isUnchanged(beforeRoot, afterRoot)) {
+            children = Collections.emptyMap();
+        } else {
+            children = diffChildren(beforeRoot, afterRoot);
+        }
+
+        return new SnapshotDiffCandidateNode(null, beforeRoot, afterRoot, children);
+    }
+
+    private static boolean isUnchanged(final TreeNode before, final TreeNode after) {
+        return before == after || before.getSubtreeVersion().equals(after.getSubtreeVersion())
+                || before.getData() == after.getData();
+    }
+
+    /**
+     * Compare two nodes with the same identifier.
+     *
+     * @return A candidate node, or null if the two nodes are equivalent
+     */
+    private static DataTreeCandidateNode compare(final TreeNode before, final TreeNode after) {
+        if (isUnchanged(before, after)) {
+            return null;
+        }
+
+        final NormalizedNode<?, ?> oldData = before.getData();
+        final NormalizedNode<?, ?> newData = after.getData();
+        final boolean oldContainer = oldData instanceof NormalizedNodeContainer;
+        if (oldContainer != newData instanceof NormalizedNodeContainer) {
+            return new ReplaceLeafCandidateNode(oldData, newData);
+        }
+        if (!oldContainer) {
+            return oldData.equals(newData) ? null : AbstractRecursiveCandidateNode.replaceNode(oldData, newData);
+        }
+
+        // Order of children is not captured by a per-child difference
+        if (newData instanceof OrderedNodeContainer && isReordered(cast(oldData), cast(newData))) {
+            return AbstractRecursiveCandidateNode.replaceNode(oldData, newData);
+        }
+
+        final Map<PathArgument, DataTreeCandidateNode> children = diffChildren(before, after);
+        return children.isEmpty() ? null : new SnapshotDiffCandidateNode(after.getIdentifier(), before, after,
+            children);
+    }
+
+    private static Map<PathArgument, DataTreeCandidateNode> diffChildren(final TreeNode before,
+            final TreeNode after) {
+        final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> oldData = cast(before.getData());
+        final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> newData = cast(after.getData());
+
+        Map<PathArgument, DataTreeCandidateNode> ret = Collections.emptyMap();
+        for (NormalizedNode<?, ?> oldChild : oldData.getValue()) {
+            final PathArgument id = oldChild.getIdentifier();
+            final Optional<NormalizedNode<?, ?>> maybeNewChild = newData.getChild(id);
+
+            final DataTreeCandidateNode node;
+            if (!maybeNewChild.isPresent()) {
+                node = AbstractRecursiveCandidateNode.deleteNode(oldChild);
+            } else if (maybeNewChild.get() == oldChild) {
+                // Shared data, no need to instantiate TreeNodes
+                continue;
+            } else {
+                node = compare(before.getChild(id).get(), after.getChild(id).get());
+                if (node == null) {
+                    continue;
+                }
+            }
+
+            if (ret.isEmpty()) {
+                ret = new LinkedHashMap<>();
+            }
+            ret.put(id, node);
+        }
+
+        for (NormalizedNode<?, ?> newChild : newData.getValue()) {
+            final PathArgument id = newChild.getIdentifier();
+            if (!oldData.getChild(id).isPresent()) {
+                if (ret.isEmpty()) {
+                    ret = new LinkedHashMap<>();
+                }
+                ret.put(id, AbstractRecursiveCandidateNode.writeNode(newChild));
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Check whether children present in both containers appear in the same relative order.
+     */
+    private static boolean isReordered(final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> oldData,
+            final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> newData) {
+        final List<PathArgument> oldOrder = new ArrayList<>(oldData.getValue().size());
+        for (NormalizedNode<?, ?> child : oldData.getValue()) {
+            if (newData.getChild(child.getIdentifier()).isPresent()) {
+                oldOrder.add(child.getIdentifier());
+            }
+        }
+
+        int i = 0;
+        for (NormalizedNode<?, ?> child : newData.getValue()) {
+            if (oldData.getChild(child.getIdentifier()).isPresent()
+                    && !oldOrder.get(i++).equals(child.getIdentifier())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> cast(final NormalizedNode<?, ?> data) {
+        return (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data;
+    }
+
+    @Override
+    @Nonnull
+    public PathArgument getIdentifier() {
+        Preconditions.checkState(identifier != null, "Attempted to get identifier of the root node");
+        return identifier;
+    }
+
+    @Override
+    @Nonnull
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        return Collections.unmodifiableCollection(children.values());
+    }
+
+    @Override
+    public DataTreeCandidateNode getModifiedChild(final PathArgument childIdentifier) {
+        return children.get(childIdentifier);
+    }
+
+    @Override
+    @Nonnull
+    public ModificationType getModificationType() {
+        return children.isEmpty() ? ModificationType.UNMODIFIED : ModificationType.SUBTREE_MODIFIED;
+    }
+
+    @Override
+    @Nonnull
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return Optional.<NormalizedNode<?, ?>>of(after.getData());
+    }
+
+    @Override
+    @Nonnull
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return Optional.<NormalizedNode<?, ?>>of(before.getData());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Bounded ring of recent {@link DataTreeState}s, indexed by their version. Each state occupies the slot given by its
+ * version modulo the ring size, hence a state is retained until it is displaced by a state which is newer by the
+ * ring size. Retaining a state is cheap, as it shares all unmodified nodes with its successors.
+ *
+ * <p>
+ * States are recorded after they have been installed, which can race with recording of their successors. A slot is
+ * therefore never overwritten with an older state. It is overwritten with a state of the same version, so that
+ * a change of the schema context is reflected.
+ */
+final class SnapshotHistory {
+    private final AtomicReferenceArray<DataTreeState> states;
+
+    SnapshotHistory(final int size) {
+        Preconditions.checkArgument(size > 0, "History size %s is not positive", size);
+        states = new AtomicReferenceArray<>(size);
+    }
+
+    void record(@Nonnull final DataTreeState state) {
+        final int slot = slotOf(state.getVersion());
+        while (true) {
+            final DataTreeState existing = states.get(slot);
+            if (existing != null && existing.getVersion() > state.getVersion()) {
+                return;
+            }
+            if (states.compareAndSet(slot, existing, state)) {
+                return;
+            }
+        }
+    }
+
+    @Nullable DataTreeState lookup(final long version) {
+        if (version < 0) {
+            return null;
+        }
+
+        final DataTreeState state = states.get(slotOf(version));
+        return state != null && state.getVersion() == version ? state : null;
+    }
+
+    private int slotOf(final long version) {
+        return (int) (version % states.length());
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree.journal;
+
+/**
+ * Constants used in journal and snapshot files.
+ *
+ * <p>
+ * Journal segments are named {@code journal-<first sequence>.log} and consist of records, each of which is a length,
+ * a CRC32 of the payload and the payload itself, which is a candidate in the binary stream format. Snapshots are named
+ * {@code snapshot-<sequence>.snap} and hold a header, the sequence of the first journal entry not covered by the
+ * snapshot, the root node in the binary stream format and a CRC32 of everything preceding it.
+ */
+final class JournalConstants {
+    static final int SNAPSHOT_MAGIC = 0x59534e50;
+    static final int SNAPSHOT_VERSION = 1;
+
+    static final String JOURNAL_PREFIX = "journal-";
+    static final String JOURNAL_SUFFIX = ".log";
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".snap";
+    static final String TEMP_SUFFIX = ".tmp";
+
+    private JournalConstants() {
+        throw new UnsupportedOperationException();
+    }
+}
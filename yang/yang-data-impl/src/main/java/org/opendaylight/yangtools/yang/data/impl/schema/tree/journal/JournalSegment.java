@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree.journal;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * A single journal file open for appending. Records are written sequentially by {@link #append(byte[])}, which does
+ * not wait for them to become durable. {@link #sync(long)} forces the file to disk on behalf of all records appended
+ * so far, so that concurrent committers share a single fsync.
+ */
+final class JournalSegment implements AutoCloseable {
+    static final int HEADER_SIZE = 8;
+
+    private final Object syncLock = new Object();
+    private final FileChannel channel;
+    private final long firstSequence;
+    private final Path path;
+
+    @GuardedBy("this")
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    // Written under 'this', read by syncing threads
+    private volatile long appended;
+    @GuardedBy("syncLock")
+    private long synced;
+    @GuardedBy("syncLock")
+    private long syncCount;
+
+    private JournalSegment(final Path path, final FileChannel channel, final long firstSequence) throws IOException {
+        this.path = Preconditions.checkNotNull(path);
+        this.channel = Preconditions.checkNotNull(channel);
+        this.firstSequence = firstSequence;
+        this.appended = channel.size();
+        this.synced = appended;
+        channel.position(appended);
+    }
+
+    static JournalSegment open(final Path path, final long firstSequence) throws IOException {
+        return new JournalSegment(path, FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE),
+            firstSequence);
+    }
+
+    long getFirstSequence() {
+        return firstSequence;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    static int checksum(final byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    long size() {
+        return appended;
+    }
+
+    /**
+     * Append a record. If the record cannot be written, any partially-written data is removed, so that the segment
+     * does not contain a torn record followed by subsequent ones.
+     *
+     * @param payload Record payload
+     * @return Offset just past the record, to be passed to {@link #sync(long)}
+     * @throws IOException if the record cannot be written
+     */
+    synchronized long append(final byte[] payload) throws IOException {
+        header.clear();
+        header.putInt(payload.length).putInt(checksum(payload)).flip();
+
+        final ByteBuffer[] buffers = new ByteBuffer[] { header, ByteBuffer.wrap(payload) };
+        long remaining = HEADER_SIZE + payload.length;
+        try {
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+        } catch (IOException e) {
+            truncate(appended);
+            throw e;
+        }
+
+        appended += HEADER_SIZE + payload.length;
+        return appended;
+    }
+
+    /**
+     * Make sure all records up to specified offset are durable. If another thread is already forcing the file to
+     * disk, this method waits for it and returns immediately if that covered the requested offset.
+     *
+     * @param offset Offset returned from {@link #append(byte[])}
+     * @throws IOException if the file cannot be forced to disk
+     */
+    void sync(final long offset) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= offset) {
+                return;
+            }
+
+            final long target = appended;
+            channel.force(false);
+            synced = target;
+            syncCount++;
+        }
+    }
+
+    /**
+     * Return the number of times records have been forced to disk by {@link #sync(long)}.
+     *
+     * @return Number of fsyncs performed
+     */
+    long getSyncCount() {
+        synchronized (syncLock) {
+            return syncCount;
+        }
+    }
+
+    /**
+     * Discard all records past specified offset and make sure the discarding is durable. This is used to remove
+     * a record whose commit has failed.
+     *
+     * @param offset Offset to which to truncate the segment
+     * @throws IOException if the file cannot be truncated
+     */
+    synchronized void truncate(final long offset) throws IOException {
+        channel.truncate(offset);
+        channel.position(offset);
+        channel.force(false);
+        appended = offset;
+        synchronized (syncLock) {
+            synced = Math.min(synced, offset);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync(appended);
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("path", path).add("firstSequence", firstSequence)
+                .add("appended", appended).toString();
+    }
+}
@@ -0,0 +1,551 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree.journal;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.codec.binary.BinaryDataTreeCandidateInput;
+import org.opendaylight.yangtools.yang.data.impl.codec.binary.BinaryDataTreeCandidateOutput;
+import org.opendaylight.yangtools.yang.data.impl.codec.binary.BinaryNormalizedNodeStreamReader;
+import org.opendaylight.yangtools.yang.data.impl.codec.binary.BinaryNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DataTree} which persists its state in a directory. Each committed candidate is durably appended to
+ * a journal before it becomes visible to readers. Periodically, and on request via {@link #persistSnapshot()},
+ * the whole tree is written into a snapshot file, after which older snapshots and journal files are removed.
+ *
+ * <p>
+ * When opened, the latest valid snapshot is loaded into the backing tree and the journal entries following it are
+ * replayed through {@link DataTreeCandidates#applyToModification(DataTreeModification, DataTreeCandidate)}. A torn
+ * record at the end of the journal, as left behind by a crash during append, is discarded.
+ *
+ * <p>
+ * The backing tree must have its schema context set before it is opened and it must not be modified other than
+ * through this object.
+ */
+@Beta
+@ThreadSafe
+public final class JournaledDataTree implements DataTree, AutoCloseable {
+    /**
+     * Default number of journal entries after which a snapshot is taken.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 100000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(JournaledDataTree.class);
+    private static final int INITIAL_RECORD_SIZE = 512;
+
+    private final AtomicBoolean snapshotInProgress = new AtomicBoolean();
+    private final Object snapshotLock = new Object();
+    private final DataTree delegate;
+    private final Path directory;
+    private final int snapshotInterval;
+
+    @GuardedBy("this")
+    private JournalSegment segment;
+    @GuardedBy("this")
+    private long nextSequence;
+    @GuardedBy("this")
+    private long publishedSequence;
+    private volatile DataTreeSnapshot publishedSnapshot;
+    private volatile long snapshotSequence;
+
+    private JournaledDataTree(final DataTree delegate, final Path directory, final int snapshotInterval,
+            final JournalSegment segment, final long nextSequence, final long snapshotSequence) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.directory = Preconditions.checkNotNull(directory);
+        this.snapshotInterval = snapshotInterval;
+        this.segment = Preconditions.checkNotNull(segment);
+        this.nextSequence = nextSequence;
+        this.publishedSequence = nextSequence;
+        this.publishedSnapshot = delegate.takeSnapshot();
+        this.snapshotSequence = snapshotSequence;
+    }
+
+    /**
+     * Open a journaled data tree with the default snapshot interval.
+     *
+     * @param delegate Backing data tree, which needs to be empty
+     * @param directory Directory holding the journal and snapshots, created if it does not exist
+     * @return A journaled data tree
+     * @throws IOException if recovery fails
+     */
+    public static JournaledDataTree open(@Nonnull final DataTree delegate, @Nonnull final Path directory)
+            throws IOException {
+        return open(delegate, directory, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Open a journaled data tree.
+     *
+     * @param delegate Backing data tree, which needs to be empty
+     * @param directory Directory holding the journal and snapshots, created if it does not exist
+     * @param snapshotInterval Number of journal entries after which a snapshot is taken, non-positive values disable
+     *                         periodic snapshots
+     * @return A journaled data tree
+     * @throws IOException if recovery fails
+     */
+    public static JournaledDataTree open(@Nonnull final DataTree delegate, @Nonnull final Path directory,
+            final int snapshotInterval) throws IOException {
+        Files.createDirectories(directory);
+        deleteTemporaryFiles(directory);
+
+        final DataTreeModification mod = delegate.takeSnapshot().newModification();
+        final long snapshotSequence = loadSnapshot(delegate.getRootPath(), directory, mod);
+        long nextSequence = snapshotSequence;
+
+        final NavigableMap<Long, Path> segments = listFiles(directory, JournalConstants.JOURNAL_PREFIX,
+            JournalConstants.JOURNAL_SUFFIX);
+        final Entry<Long, Path> first = segments.firstEntry();
+        if (first != null && first.getKey() > snapshotSequence) {
+            throw new IOException(String.format("Journal starts at %s, which is past snapshot sequence %s",
+                first.getKey(), snapshotSequence));
+        }
+
+        Entry<Long, Path> last = null;
+        for (Entry<Long, Path> e : segments.entrySet()) {
+            if (last != null && e.getKey() != nextSequence) {
+                LOG.warn("Journal {} does not continue at {}, discarding it and all following journals",
+                    e.getValue(), nextSequence);
+                for (Path p : segments.tailMap(e.getKey(), true).values()) {
+                    Files.delete(p);
+                }
+                break;
+            }
+
+            nextSequence = replaySegment(e.getValue(), e.getKey(), snapshotSequence, mod);
+            last = e;
+        }
+
+        mod.ready();
+        try {
+            delegate.validate(mod);
+        } catch (DataValidationFailedException e) {
+            throw new IOException("Recovered state failed to validate", e);
+        }
+        delegate.commit(delegate.prepare(mod));
+
+        // Keep appending to the last journal, unless it has been completely superseded by the snapshot
+        final JournalSegment segment;
+        if (last != null && nextSequence >= snapshotSequence) {
+            segment = JournalSegment.open(last.getValue(), last.getKey());
+        } else {
+            nextSequence = snapshotSequence;
+            segment = JournalSegment.open(segmentPath(directory, nextSequence), nextSequence);
+        }
+        LOG.debug("Recovered data tree from {} up to sequence {}", directory, nextSequence);
+        return new JournaledDataTree(delegate, directory, snapshotInterval, segment, nextSequence,
+            snapshotSequence);
+    }
+
+    private static Path segmentPath(final Path directory, final long sequence) {
+        return directory.resolve(fileName(JournalConstants.JOURNAL_PREFIX, sequence, JournalConstants.JOURNAL_SUFFIX));
+    }
+
+    private static String fileName(final String prefix, final long sequence, final String suffix) {
+        return String.format("%s%016x%s", prefix, sequence, suffix);
+    }
+
+    private static NavigableMap<Long, Path> listFiles(final Path directory, final String prefix, final String suffix)
+            throws IOException {
+        final NavigableMap<Long, Path> ret = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path p : stream) {
+                final String name = p.getFileName().toString();
+                try {
+                    ret.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()), 16), p);
+                } catch (NumberFormatException e) {
+                    LOG.debug("Ignoring unrecognized file {}", p, e);
+                }
+            }
+        }
+        return ret;
+    }
+
+    private static void deleteTemporaryFiles(final Path directory) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + JournalConstants.TEMP_SUFFIX)) {
+            for (Path p : stream) {
+                LOG.debug("Deleting incomplete file {}", p);
+                Files.delete(p);
+            }
+        }
+    }
+
+    private static long loadSnapshot(final YangInstanceIdentifier rootPath, final Path directory,
+            final DataTreeModification mod) throws IOException {
+        for (Path p : listFiles(directory, JournalConstants.SNAPSHOT_PREFIX,
+                JournalConstants.SNAPSHOT_SUFFIX).descendingMap().values()) {
+            final CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(p)), new CRC32());
+            try (DataInputStream in = new DataInputStream(checked)) {
+                if (in.readInt() != JournalConstants.SNAPSHOT_MAGIC) {
+                    throw new IOException("Invalid snapshot header");
+                }
+                final int version = in.readInt();
+                if (version != JournalConstants.SNAPSHOT_VERSION) {
+                    throw new IOException("Unsupported snapshot version " + version);
+                }
+
+                final long sequence = in.readLong();
+                final BinaryNormalizedNodeStreamReader reader = BinaryNormalizedNodeStreamReader.create(in);
+                final NormalizedNode<?, ?> root = in.readBoolean() ? reader.readNormalizedNode() : null;
+                final int expected = (int) checked.getChecksum().getValue();
+                if (in.readInt() != expected) {
+                    throw new IOException("Snapshot checksum mismatch");
+                }
+
+                if (root != null) {
+                    mod.write(rootPath, root);
+                }
+                LOG.debug("Loaded snapshot {}", p);
+                return sequence;
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Failed to load snapshot {}, trying an older one", p, e);
+            }
+        }
+
+        return 0;
+    }
+
+    private static long replaySegment(final Path path, final long firstSequence, final long snapshotSequence,
+            final DataTreeModification mod) throws IOException {
+        long sequence = firstSequence;
+        long validSize = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (true) {
+                final byte[] payload;
+                try {
+                    final int length = in.readInt();
+                    final int checksum = in.readInt();
+                    if (length < 0 || length > channel.size() - validSize - JournalSegment.HEADER_SIZE) {
+                        throw new EOFException("Invalid record length " + length);
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    if (JournalSegment.checksum(payload) != checksum) {
+                        throw new EOFException("Record checksum mismatch");
+                    }
+                } catch (EOFException e) {
+                    if (validSize != channel.size()) {
+                        LOG.warn("Discarding torn journal record in {} at offset {}", path, validSize, e);
+                        channel.truncate(validSize);
+                    }
+                    return sequence;
+                }
+
+                if (sequence >= snapshotSequence) {
+                    final DataTreeCandidate candidate = BinaryDataTreeCandidateInput.create(ByteBuffer.wrap(payload))
+                            .readCandidate();
+                    DataTreeCandidates.applyToModification(mod, candidate);
+                }
+                validSize += JournalSegment.HEADER_SIZE + payload.length;
+                sequence++;
+            }
+        }
+    }
+
+    private static byte[] encode(final DataTreeCandidate candidate) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(INITIAL_RECORD_SIZE);
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            BinaryDataTreeCandidateOutput.create(out).writeCandidate(candidate);
+        }
+        return bos.toByteArray();
+    }
+
+    @Override
+    public DataTreeSnapshot takeSnapshot() {
+        return publishedSnapshot;
+    }
+
+    @Override
+    public void setSchemaContext(final SchemaContext newSchemaContext) {
+        delegate.setSchemaContext(newSchemaContext);
+    }
+
+    @Override
+    public void validate(final DataTreeModification modification) throws DataValidationFailedException {
+        delegate.validate(modification);
+    }
+
+    @Override
+    public DataTreeCandidate prepare(final DataTreeModification modification) {
+        return delegate.prepare(modification);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The candidate is appended to the journal and applied to the backing tree while holding a lock, then this method
+     * waits for the journal to become durable without holding it. Commits arriving in the meantime are appended
+     * behind it and share the next fsync. Snapshots returned from {@link #takeSnapshot()} include the candidate only
+     * once it is durable, hence readers never observe state which would not survive a restart. Validation and
+     * preparation act on the backing tree, so that subsequent candidates can be prepared while this one is being
+     * synced. Since the journal records the candidate as prepared, it has to be based on the current state of the
+     * backing tree, i.e. it cannot be rebased.
+     *
+     * @throws IllegalStateException if the candidate is not based on the current state of the tree or if it cannot
+     *                               be journaled. If the failure occurs before the candidate is applied, the tree is
+     *                               left unchanged. If the journal cannot be synced, further commits are refused.
+     */
+    @Override
+    public void commit(final DataTreeCandidate candidate) {
+        final JournalSegment syncSegment;
+        final DataTreeSnapshot snapshot;
+        final long sequence;
+        final long offset;
+        synchronized (this) {
+            Preconditions.checkState(segment != null, "Data tree %s has been closed", this);
+            if (candidate.getRootNode().getModificationType() == ModificationType.UNMODIFIED) {
+                // Nothing to journal
+                delegate.commit(candidate);
+                return;
+            }
+
+            final Optional<NormalizedNode<?, ?>> current = delegate.takeSnapshot().readNode(delegate.getRootPath());
+            Preconditions.checkState(candidate.getRootNode().getDataBefore().orNull() == current.orNull(),
+                "Candidate %s is not based on the current state of %s", candidate, this);
+
+            final byte[] record;
+            try {
+                record = encode(candidate);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to encode candidate " + candidate, e);
+            }
+
+            final long start = segment.size();
+            try {
+                offset = segment.append(record);
+            } catch (IOException e) {
+                discardRecord(start);
+                throw new IllegalStateException("Failed to journal candidate " + candidate, e);
+            }
+
+            try {
+                delegate.commit(candidate);
+            } catch (RuntimeException e) {
+                discardRecord(start);
+                throw e;
+            }
+
+            syncSegment = segment;
+            snapshot = delegate.takeSnapshot();
+            sequence = nextSequence++;
+        }
+
+        /*
+         * Wait for the record to become durable outside of the lock, so that commits arriving in the meantime can
+         * append their records and share the next fsync. Their candidates are based on the backing tree, which
+         * already contains this one, but readers do not see it until it is published below.
+         */
+        try {
+            syncSegment.sync(offset);
+        } catch (IOException e) {
+            failJournal(syncSegment, e);
+            throw new IllegalStateException("Failed to journal candidate " + candidate, e);
+        }
+        publishSnapshot(snapshot, sequence);
+
+        if (snapshotInterval > 0 && sequence + 1 - snapshotSequence >= snapshotInterval
+                && snapshotInProgress.compareAndSet(false, true)) {
+            try {
+                synchronized (snapshotLock) {
+                    // Another thread may have taken the snapshot while we were waiting for the lock
+                    if (sequence + 1 - snapshotSequence >= snapshotInterval) {
+                        persistSnapshotLocked();
+                    }
+                }
+            } catch (IOException e) {
+                LOG.warn("Failed to persist snapshot of {}, journal will keep growing", directory, e);
+            } finally {
+                snapshotInProgress.set(false);
+            }
+        }
+    }
+
+    private synchronized void publishSnapshot(final DataTreeSnapshot snapshot, final long sequence) {
+        // A later commit may have become durable first, in which case its snapshot already covers this one
+        if (sequence >= publishedSequence) {
+            publishedSnapshot = snapshot;
+            publishedSequence = sequence + 1;
+        }
+    }
+
+    private synchronized void failJournal(final JournalSegment failed, final IOException cause) {
+        /*
+         * Records past the last fsync may or may not be on disk and the backing tree already contains them. The only
+         * safe option is not to append anything else, not even to a segment which has replaced the failed one, and
+         * keep readers on the last durable state.
+         */
+        LOG.error("Failed to sync journal {}, refusing further commits", failed, cause);
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                LOG.debug("Failed to close journal {}", segment, e);
+            }
+            segment = null;
+        }
+    }
+
+    @GuardedBy("this")
+    private void discardRecord(final long offset) {
+        try {
+            segment.truncate(offset);
+        } catch (IOException e) {
+            // We do not know what the journal contains, hence the only safe option is not to append anything else
+            LOG.error("Failed to discard journal record at offset {} in {}, refusing further commits", offset,
+                segment, e);
+            try {
+                segment.close();
+            } catch (IOException ce) {
+                LOG.debug("Failed to close journal {}", segment, ce);
+            }
+            segment = null;
+        }
+    }
+
+    /**
+     * Write the current state of the tree into a snapshot file and remove the journal entries it covers.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void persistSnapshot() throws IOException {
+        synchronized (snapshotLock) {
+            persistSnapshotLocked();
+        }
+    }
+
+    @GuardedBy("snapshotLock")
+    private void persistSnapshotLocked() throws IOException {
+        final DataTreeSnapshot snapshot;
+        final long sequence;
+        synchronized (this) {
+            Preconditions.checkState(segment != null, "Data tree %s has been closed", this);
+            sequence = nextSequence;
+            if (sequence == snapshotSequence) {
+                return;
+            }
+
+            snapshot = delegate.takeSnapshot();
+            if (segment.getFirstSequence() != sequence) {
+                final JournalSegment old = segment;
+                segment = JournalSegment.open(segmentPath(directory, sequence), sequence);
+                old.close();
+            }
+        }
+
+        writeSnapshot(snapshot, sequence);
+        snapshotSequence = sequence;
+
+        for (Path p : listFiles(directory, JournalConstants.SNAPSHOT_PREFIX,
+                JournalConstants.SNAPSHOT_SUFFIX).headMap(sequence, false).values()) {
+            Files.delete(p);
+        }
+        for (Path p : listFiles(directory, JournalConstants.JOURNAL_PREFIX,
+                JournalConstants.JOURNAL_SUFFIX).headMap(sequence, false).values()) {
+            Files.delete(p);
+        }
+    }
+
+    private void writeSnapshot(final DataTreeSnapshot snapshot, final long sequence) throws IOException {
+        final String name = fileName(JournalConstants.SNAPSHOT_PREFIX, sequence, JournalConstants.SNAPSHOT_SUFFIX);
+        final Path tmp = directory.resolve(name + JournalConstants.TEMP_SUFFIX);
+        final Optional<NormalizedNode<?, ?>> root = snapshot.readNode(delegate.getRootPath());
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final CheckedOutputStream checked = new CheckedOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel)), new CRC32());
+            final DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(JournalConstants.SNAPSHOT_MAGIC);
+            out.writeInt(JournalConstants.SNAPSHOT_VERSION);
+            out.writeLong(sequence);
+            final BinaryNormalizedNodeStreamWriter writer = BinaryNormalizedNodeStreamWriter.create(out);
+            out.writeBoolean(root.isPresent());
+            if (root.isPresent()) {
+                writer.writeNormalizedNode(root.get());
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+
+        Files.move(tmp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+
+        // Make sure the rename is durable before we start removing the files it supersedes
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        LOG.debug("Persisted snapshot {} at sequence {}", name, sequence);
+    }
+
+    @Override
+    public YangInstanceIdentifier getRootPath() {
+        return delegate.getRootPath();
+    }
+
+    /**
+     * Close the journal. The backing tree remains usable, but further commits fail.
+     *
+     * @throws IOException if the journal cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (segment != null) {
+            try {
+                segment.close();
+            } finally {
+                segment = null;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("directory", directory).add("delegate", delegate).toString();
+    }
+}
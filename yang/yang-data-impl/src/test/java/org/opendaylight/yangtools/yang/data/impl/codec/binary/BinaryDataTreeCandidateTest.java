@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class BinaryDataTreeCandidateTest {
+    private static final QName CONTAINER = QName.create("urn:test", "2016-01-01", "container");
+    private static final QName INNER = QName.create(CONTAINER, "inner");
+    private static final QName LIST = QName.create(CONTAINER, "list");
+    private static final QName KEY = QName.create(CONTAINER, "key");
+    private static final YangInstanceIdentifier CONTAINER_PATH = YangInstanceIdentifier.of(CONTAINER);
+
+    private static NodeIdentifierWithPredicates entryId(final int key) {
+        return new NodeIdentifierWithPredicates(LIST, KEY, key);
+    }
+
+    private static MapEntryNode entry(final int key) {
+        return ImmutableNodes.mapEntry(LIST, KEY, key);
+    }
+
+    private static DataTreeCandidate roundTrip(final DataTreeCandidate candidate) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        BinaryDataTreeCandidateOutput.create(new DataOutputStream(bos)).writeCandidate(candidate);
+        return BinaryDataTreeCandidateInput.create(ByteBuffer.wrap(bos.toByteArray())).readCandidate();
+    }
+
+    @Test
+    public void testWrittenRoot() throws IOException {
+        final DataTreeCandidate candidate = roundTrip(DataTreeCandidates.fromNormalizedNode(CONTAINER_PATH,
+            ImmutableNodes.containerNode(CONTAINER)));
+
+        assertEquals(CONTAINER_PATH, candidate.getRootPath());
+        assertEquals(ModificationType.WRITE, candidate.getRootNode().getModificationType());
+        assertEquals(ImmutableNodes.containerNode(CONTAINER), candidate.getRootNode().getDataAfter().get());
+    }
+
+    @Test
+    public void testDeltaOnly() throws IOException {
+        // container/inner/list: entry 1 deleted, entry 2 written, entry 3 untouched
+        final BinaryCandidateNode list = BinaryCandidateNode.of(new NodeIdentifier(LIST),
+            ModificationType.SUBTREE_MODIFIED);
+        list.addChild(BinaryCandidateNode.of(entryId(1), ModificationType.DELETE));
+        list.addChild(BinaryCandidateNode.written(entry(2)));
+        list.addChild(BinaryCandidateNode.of(entryId(3), ModificationType.UNMODIFIED));
+        final BinaryCandidateNode inner = BinaryCandidateNode.of(new NodeIdentifier(INNER),
+            ModificationType.SUBTREE_MODIFIED);
+        inner.addChild(list);
+        final BinaryCandidateNode root = BinaryCandidateNode.of(new NodeIdentifier(CONTAINER),
+            ModificationType.SUBTREE_MODIFIED);
+        root.addChild(inner);
+
+        final DataTreeCandidate candidate = roundTrip(DataTreeCandidates.newDataTreeCandidate(CONTAINER_PATH, root));
+        final DataTreeCandidateNode readRoot = candidate.getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, readRoot.getModificationType());
+        assertFalse(readRoot.getDataAfter().isPresent());
+
+        final DataTreeCandidateNode readList = readRoot.getModifiedChild(new NodeIdentifier(INNER))
+                .getModifiedChild(new NodeIdentifier(LIST));
+        assertNotNull(readList);
+        assertEquals(2, readList.getChildNodes().size());
+        assertEquals(ModificationType.DELETE, readList.getModifiedChild(entryId(1)).getModificationType());
+        assertEquals(entry(2), readList.getModifiedChild(entryId(2)).getDataAfter().get());
+    }
+
+    @Test
+    public void testMultipleCandidates() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final BinaryDataTreeCandidateOutput output = BinaryDataTreeCandidateOutput.create(new DataOutputStream(bos));
+        for (int i = 0; i < 3; ++i) {
+            output.writeCandidate(DataTreeCandidates.fromNormalizedNode(
+                CONTAINER_PATH.node(LIST).node(entryId(i)), entry(i)));
+        }
+
+        final BinaryDataTreeCandidateInput input = BinaryDataTreeCandidateInput.create(
+            ByteBuffer.wrap(bos.toByteArray()));
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(entry(i), input.readCandidate().getRootNode().getDataAfter().get());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMSource;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.w3c.dom.Element;
+
+public class BinaryNormalizedNodeStreamTest {
+    private static final QName CONTAINER = QName.create("urn:test", "2016-01-01", "container");
+    private static final QName LIST = QName.create(CONTAINER, "list");
+    private static final QName KEY = QName.create(CONTAINER, "key");
+    private static final QName STRING = QName.create(CONTAINER, "string");
+    private static final QName LONG = QName.create(CONTAINER, "long");
+    private static final QName UINT64 = QName.create(CONTAINER, "uint64");
+    private static final QName DECIMAL = QName.create(CONTAINER, "decimal");
+    private static final QName BINARY = QName.create(CONTAINER, "binary");
+    private static final QName BITS = QName.create(CONTAINER, "bits");
+    private static final QName IDENTITY = QName.create(CONTAINER, "identity");
+    private static final QName LEAF_LIST = QName.create(CONTAINER, "leaf-list");
+    private static final QName ANYXML = QName.create(CONTAINER, "anyxml");
+    private static final YangInstanceIdentifier LIST_PATH = YangInstanceIdentifier.of(CONTAINER).node(LIST);
+
+    private static ContainerNode createData(final int entries) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> list = ImmutableNodes.mapNodeBuilder(LIST);
+        for (int i = 0; i < entries; ++i) {
+            list.withChild(ImmutableNodes.mapEntryBuilder(LIST, KEY, i)
+                .withChild(ImmutableNodes.leafNode(STRING, "entry " + i)).build());
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(CONTAINER))
+                .withChild(ImmutableNodes.leafNode(LONG, -1L))
+                .withChild(ImmutableNodes.leafNode(UINT64, new BigInteger("18446744073709551615")))
+                .withChild(ImmutableNodes.leafNode(DECIMAL, new BigDecimal("-3.1415")))
+                .withChild(ImmutableNodes.leafNode(BITS, ImmutableSet.of("one", "two")))
+                .withChild(ImmutableNodes.leafNode(IDENTITY, LIST))
+                .withChild(Builders.orderedLeafSetBuilder().withNodeIdentifier(new NodeIdentifier(LEAF_LIST))
+                    .withChildValue("a").withChildValue("b").build())
+                .withChild(list.build())
+                .build();
+    }
+
+    private static byte[] write(final NormalizedNode<?, ?>... nodes) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (BinaryNormalizedNodeStreamWriter writer =
+                BinaryNormalizedNodeStreamWriter.create(new DataOutputStream(bos))) {
+            for (NormalizedNode<?, ?> node : nodes) {
+                writer.writeNormalizedNode(node);
+            }
+            writer.writeYangInstanceIdentifier(LIST_PATH);
+        }
+        return bos.toByteArray();
+    }
+
+    @Test
+    public void testStreamRoundTrip() throws IOException {
+        final ContainerNode data = createData(10);
+        final BinaryNormalizedNodeStreamReader reader = BinaryNormalizedNodeStreamReader.create(
+            new DataInputStream(new ByteArrayInputStream(write(data, data))));
+
+        assertEquals(data, reader.readNormalizedNode());
+        assertEquals(data, reader.readNormalizedNode());
+        assertEquals(LIST_PATH, reader.readYangInstanceIdentifier());
+    }
+
+    @Test
+    public void testByteBufferRoundTrip() throws IOException {
+        final ContainerNode data = createData(10);
+        final byte[] bytes = write(data);
+
+        final ByteBuffer heap = ByteBuffer.wrap(bytes);
+        assertEquals(data, BinaryNormalizedNodeStreamReader.create(heap).readNormalizedNode());
+        assertEquals(0, heap.position());
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertEquals(data, BinaryNormalizedNodeStreamReader.create(direct).readNormalizedNode());
+    }
+
+    @Test
+    public void testBinaryValue() throws IOException {
+        final LeafNode<byte[]> leaf = ImmutableNodes.leafNode(BINARY, new byte[] { 1, 2, 3 });
+        final NormalizedNode<?, ?> read = BinaryNormalizedNodeStreamReader.create(ByteBuffer.wrap(write(leaf)))
+                .readNormalizedNode();
+        assertArrayEquals(leaf.getValue(), (byte[]) read.getValue());
+    }
+
+    @Test
+    public void testAnyxmlRoundTrip() throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final Element element = factory.newDocumentBuilder().parse(new ByteArrayInputStream(
+            "<anyxml xmlns=\"urn:test\"><foo a=\"b\">bar</foo></anyxml>".getBytes(StandardCharsets.UTF_8)))
+                .getDocumentElement();
+        final ContainerNode data = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(CONTAINER))
+                .withChild(Builders.anyXmlBuilder().withNodeIdentifier(new NodeIdentifier(ANYXML))
+                    .withValue(new DOMSource(element)).build())
+                .build();
+
+        final ContainerNode read = (ContainerNode) BinaryNormalizedNodeStreamReader.create(ByteBuffer.wrap(write(data)))
+                .readNormalizedNode();
+        final NormalizedNode<?, ?> child = read.getChild(new NodeIdentifier(ANYXML)).get();
+        assertTrue(child instanceof AnyXmlNode);
+
+        final Element readElement = (Element) ((AnyXmlNode) child).getValue().getNode();
+        assertFalse(element == readElement);
+        assertTrue(element.isEqualNode(readElement));
+    }
+
+    @Test
+    public void testDictionaryEncoding() throws IOException {
+        // Each additional entry repeats the same QNames, which are encoded as single-byte codes, leaving the string
+        // value as the bulk of the encoding
+        final int small = write(createData(1)).length;
+        final int large = write(createData(101)).length;
+        assertTrue((large - small) / 100 < 30);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidHeader() throws IOException {
+        BinaryNormalizedNodeStreamReader.create(ByteBuffer.wrap(new byte[] { 0, 0, 1 }));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import java.io.IOException;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.util.DataContainerInterner;
+
+public class DataContainerInterningTest {
+    private static final QName LIST_QNAME = QName.create("urn:test", "2016-01-01", "list");
+    private static final QName ID_QNAME = QName.create(LIST_QNAME, "id");
+    private static final QName POLICY_QNAME = QName.create(LIST_QNAME, "policy");
+    private static final QName ACTION_QNAME = QName.create(LIST_QNAME, "action");
+    private static final NodeIdentifier POLICY_ID = new NodeIdentifier(POLICY_QNAME);
+
+    private static MapNode writeList(final DataContainerInterner interner) throws IOException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result, interner);
+        writer.startMapNode(new NodeIdentifier(LIST_QNAME), 2);
+        for (int i = 0; i < 2; ++i) {
+            writer.startMapEntryNode(new NodeIdentifierWithPredicates(LIST_QNAME, ID_QNAME, i), 2);
+            writer.leafNode(new NodeIdentifier(ID_QNAME), i);
+            writer.startContainerNode(POLICY_ID, 1);
+            writer.leafNode(new NodeIdentifier(ACTION_QNAME), "permit");
+            writer.endNode();
+            writer.endNode();
+        }
+        writer.endNode();
+        return (MapNode) result.getResult();
+    }
+
+    private static Object policyOf(final MapNode list, final int id) {
+        final MapEntryNode entry = list.getChild(new NodeIdentifierWithPredicates(LIST_QNAME, ID_QNAME, id)).get();
+        return entry.getChild(POLICY_ID).get();
+    }
+
+    @Test
+    public void testInterning() throws IOException {
+        final MapNode list = writeList(DataContainerInterner.weak());
+        assertSame(policyOf(list, 0), policyOf(list, 1));
+    }
+
+    @Test
+    public void testNoInterning() throws IOException {
+        final MapNode list = writeList(DataContainerInterner.noop());
+        assertNotSame(policyOf(list, 0), policyOf(list, 1));
+        assertEquals(policyOf(list, 0), policyOf(list, 1));
+    }
+}
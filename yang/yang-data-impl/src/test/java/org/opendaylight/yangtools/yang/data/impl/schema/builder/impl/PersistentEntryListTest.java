@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class PersistentEntryListTest {
+    private static final QName LIST_QNAME = QName.create("urn:test", "2016-01-01", "list");
+    private static final QName ID_QNAME = QName.create(LIST_QNAME, "id");
+    private static final QName VALUE_QNAME = QName.create(LIST_QNAME, "value");
+
+    private static MapEntryNode entry(final int id, final int value) {
+        return ImmutableNodes.mapEntryBuilder(LIST_QNAME, ID_QNAME, id)
+                .withChild(ImmutableNodes.leafNode(VALUE_QNAME, value)).build();
+    }
+
+    private static void assertContents(final Map<NodeIdentifierWithPredicates, MapEntryNode> expected,
+            final PersistentEntryList actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(ImmutableList.copyOf(expected.values()), ImmutableList.copyOf(actual));
+
+        int position = 0;
+        for (MapEntryNode entry : expected.values()) {
+            assertSame(entry, actual.get(position++));
+            assertSame(entry, actual.get(entry.getIdentifier()));
+        }
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        final Map<NodeIdentifierWithPredicates, MapEntryNode> expected = new LinkedHashMap<>();
+        PersistentEntryList list = PersistentEntryList.EMPTY;
+
+        for (int i = 0; i < 5000; ++i) {
+            final int id = random.nextInt(1500);
+            if (random.nextInt(3) == 0) {
+                final NodeIdentifierWithPredicates key = entry(id, 0).getIdentifier();
+                expected.remove(key);
+                list = list.remove(key);
+            } else {
+                final MapEntryNode entry = entry(id, i);
+                expected.put(entry.getIdentifier(), entry);
+                list = list.put(entry);
+            }
+
+            if (i % 500 == 0) {
+                assertContents(expected, list);
+            }
+        }
+        assertContents(expected, list);
+    }
+
+    @Test
+    public void testBuilder() {
+        final Random random = new Random(42);
+        final Map<NodeIdentifierWithPredicates, MapEntryNode> expected = new LinkedHashMap<>();
+        final List<Map<NodeIdentifierWithPredicates, MapEntryNode>> expectedBuilt = new ArrayList<>();
+        final List<PersistentEntryList> built = new ArrayList<>();
+        final PersistentEntryList.Builder builder = new PersistentEntryList.Builder(1000);
+
+        for (int i = 0; i < 5000; ++i) {
+            final int id = random.nextInt(1500);
+            if (random.nextInt(3) == 0) {
+                final NodeIdentifierWithPredicates key = entry(id, 0).getIdentifier();
+                expected.remove(key);
+                builder.remove(key);
+            } else {
+                final MapEntryNode entry = entry(id, i);
+                expected.put(entry.getIdentifier(), entry);
+                builder.put(entry);
+            }
+
+            if (i % 500 == 0) {
+                expectedBuilt.add(new LinkedHashMap<>(expected));
+                built.add(builder.build());
+            }
+        }
+        assertContents(expected, builder.build());
+
+        // Lists handed out earlier must not be affected by subsequent modifications
+        for (int i = 0; i < built.size(); ++i) {
+            assertContents(expectedBuilt.get(i), built.get(i));
+        }
+    }
+
+    @Test
+    public void testSharedStructure() {
+        PersistentEntryList list = PersistentEntryList.EMPTY;
+        final List<MapEntryNode> entries = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            entries.add(entry(i, i));
+            list = list.put(entries.get(i));
+        }
+
+        final PersistentEntryList appended = list.put(entry(100, 100));
+        final PersistentEntryList removed = list.remove(entries.get(50).getIdentifier());
+        final PersistentEntryList replaced = list.put(entry(50, -1));
+
+        assertEquals(100, list.size());
+        assertEquals(ImmutableList.copyOf(entries), ImmutableList.copyOf(list));
+        assertEquals(101, appended.size());
+        assertEquals(100, appended.get(100).getIdentifier().getKeyValues().get(ID_QNAME));
+        assertEquals(99, removed.size());
+        assertNull(removed.get(entries.get(50).getIdentifier()));
+        assertSame(entries.get(51), removed.get(50));
+        assertEquals(entry(50, -1), replaced.get(50));
+        assertFalse(list.equals(replaced));
+        assertSame(list, list.remove(entry(200, 0).getIdentifier()));
+    }
+
+    @Test
+    public void testOrderedMapNode() {
+        final OrderedMapNode first = ImmutableOrderedMapNodeBuilder.create().withNodeIdentifier(
+            new NodeIdentifier(LIST_QNAME)).withChild(entry(1, 1)).withChild(entry(2, 2)).build();
+        final OrderedMapNode second = ImmutableOrderedMapNodeBuilder.create(first).withChild(entry(3, 3))
+                .withChild(entry(1, 4)).build();
+
+        assertEquals(2, first.getSize());
+        assertEquals(3, second.getSize());
+        assertEquals(entry(1, 4), second.getChild(0));
+        assertEquals(entry(3, 3), second.getChild(2));
+        assertEquals(entry(1, 1), first.getChild(0));
+
+        final OrderedMapNode reversed = ImmutableOrderedMapNodeBuilder.create().withNodeIdentifier(
+            new NodeIdentifier(LIST_QNAME)).withChild(entry(2, 2)).withChild(entry(1, 1)).build();
+        assertEquals(first, reversed);
+        assertEquals(first.hashCode(), reversed.hashCode());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+
+public class AbstractImmutableCachedHashNodeTest {
+    private static final QName ROOT_QNAME = QName.create("urn:test", "2016-01-01", "root");
+    private static final QName LIST_QNAME = QName.create(ROOT_QNAME, "list");
+    private static final QName ID_QNAME = QName.create(ROOT_QNAME, "id");
+    private static final QName VALUE_QNAME = QName.create(ROOT_QNAME, "value");
+
+    /**
+     * A subclass which customizes value equality, as subclasses of {@link AbstractImmutableDataContainerNode} could
+     * before the hash code was cached.
+     */
+    private static final class IdentifierOnlyNode extends AbstractImmutableDataContainerNode<NodeIdentifier> {
+        IdentifierOnlyNode(final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children) {
+            super(children, new NodeIdentifier(ROOT_QNAME));
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return 0;
+        }
+
+        @Override
+        protected boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
+            return other instanceof IdentifierOnlyNode;
+        }
+    }
+
+    private static MapNode list(final boolean ordered, final int count, final String value) {
+        final CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder = ordered
+                ? Builders.orderedMapBuilder() : Builders.mapBuilder();
+        builder.withNodeIdentifier(new NodeIdentifier(LIST_QNAME));
+        for (int i = 0; i < count; ++i) {
+            builder.withChild(ImmutableNodes.mapEntryBuilder(LIST_QNAME, ID_QNAME, i)
+                .withChild(ImmutableNodes.leafNode(VALUE_QNAME, i == count - 1 ? value : "foo")).build());
+        }
+        return builder.build();
+    }
+
+    private static ContainerNode root(final boolean ordered, final String value) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT_QNAME))
+                .withChild(list(ordered, 100, value)).build();
+    }
+
+    private static void assertConsistent(final NormalizedNode<?, ?> first, final NormalizedNode<?, ?> second) {
+        assertEquals(first, second);
+        assertEquals(second, first);
+        assertEquals(first.hashCode(), second.hashCode());
+        // Cached value has to be stable
+        assertEquals(first.hashCode(), first.hashCode());
+    }
+
+    @Test
+    public void testEqualContainers() {
+        assertConsistent(root(false, "bar"), root(false, "bar"));
+        assertConsistent(root(true, "bar"), root(true, "bar"));
+    }
+
+    @Test
+    public void testDifferentContainers() {
+        final ContainerNode first = root(false, "bar");
+        final ContainerNode second = root(false, "baz");
+
+        // First comparison computes hash codes, subsequent ones use the cached values
+        assertFalse(first.equals(second));
+        assertNotEquals(first.hashCode(), second.hashCode());
+        assertFalse(first.equals(second));
+        assertFalse(second.equals(first));
+
+        assertFalse(root(true, "bar").equals(root(true, "baz")));
+    }
+
+    @Test
+    public void testSet() {
+        final Set<NormalizedNode<?, ?>> set = new HashSet<>();
+        assertTrue(set.add(root(false, "bar")));
+        assertFalse(set.add(root(false, "bar")));
+        assertTrue(set.add(root(false, "baz")));
+        assertTrue(set.add(list(true, 10, "bar")));
+        assertFalse(set.add(list(true, 10, "bar")));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    public void testOverriddenValueMethods() {
+        final IdentifierOnlyNode empty = new IdentifierOnlyNode(
+            Collections.<PathArgument, DataContainerChild<? extends PathArgument, ?>>emptyMap());
+        final MapNode list = list(false, 1, "bar");
+        final IdentifierOnlyNode full = new IdentifierOnlyNode(
+            Collections.<PathArgument, DataContainerChild<? extends PathArgument, ?>>singletonMap(
+                list.getIdentifier(), list));
+
+        assertConsistent(empty, full);
+    }
+}
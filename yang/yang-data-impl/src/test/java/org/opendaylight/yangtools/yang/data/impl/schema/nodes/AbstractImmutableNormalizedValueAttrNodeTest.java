@@ -5,8 +5,11 @@ package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
 
 import static org.junit.Assert.*;
 
+import java.math.BigInteger;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.IntegralLeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 
@@ -326,4 +329,43 @@ public class AbstractImmutableNormalizedValueAttrNodeTest {
         assertFalse(leafNode5.equals(leafNode6));
     }
 
+    @Test
+    public void equalsIntegralTest() {
+        final LeafNode<Integer> intLeaf = ImmutableNodes.leafNode(LEAF_QNAME, 1000);
+        final LeafNode<Long> longLeaf = ImmutableNodes.leafNode(LEAF_QNAME, 1000L);
+        final LeafNode<BigInteger> uint64Leaf = ImmutableNodes.leafNode(LEAF_QNAME,
+                new BigInteger("18446744073709551615"));
+
+        assertTrue(intLeaf instanceof IntegralLeafNode);
+        assertEquals(1000, ((IntegralLeafNode<?>) intLeaf).longValue());
+        assertEquals(Integer.valueOf(1000), intLeaf.getValue());
+        assertEquals(ImmutableNodes.leafNode(SAME_LEAF_QNAME, 1000), intLeaf);
+        assertEquals(ImmutableNodes.leafNode(SAME_LEAF_QNAME, 1000).hashCode(), intLeaf.hashCode());
+        assertFalse(intLeaf.equals(ImmutableNodes.leafNode(LEAF_QNAME, 1001)));
+        assertFalse(intLeaf.equals(longLeaf));
+        assertFalse(longLeaf.equals(intLeaf));
+        assertFalse(intLeaf.equals(ImmutableNodes.leafNode(OTHER_LEAF_QNAME, 1000)));
+
+        assertEquals(-1, ((IntegralLeafNode<?>) uint64Leaf).longValue());
+        assertEquals(new BigInteger("18446744073709551615"), uint64Leaf.getValue());
+        assertEquals(ImmutableNodes.leafNode(LEAF_QNAME, new BigInteger("18446744073709551615")), uint64Leaf);
+
+        final LeafNode<BigInteger> negativeLeaf = ImmutableNodes.leafNode(LEAF_QNAME, BigInteger.valueOf(-1));
+        assertFalse(negativeLeaf instanceof IntegralLeafNode);
+        assertFalse(negativeLeaf.equals(uint64Leaf));
+        assertFalse(uint64Leaf.equals(negativeLeaf));
+    }
+
+    @Test
+    public void hashCodeUint64Test() {
+        final NodeIdentifier leafId = new NodeIdentifier(LEAF_QNAME);
+        for (final String str : new String[] { "0", "1", "4294967295", "4294967296", "9223372036854775807",
+                "9223372036854775808", "12345678901234567890", "18446744073709551615" }) {
+            final BigInteger value = new BigInteger(str);
+            final LeafNode<BigInteger> leaf = ImmutableNodes.leafNode(LEAF_QNAME, value);
+            assertTrue(leaf instanceof IntegralLeafNode);
+            assertEquals(value, leaf.getValue());
+            assertEquals(31 * leafId.hashCode() + value.hashCode(), leaf.hashCode());
+        }
+    }
 }
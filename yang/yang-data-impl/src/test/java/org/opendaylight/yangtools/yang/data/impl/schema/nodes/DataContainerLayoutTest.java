@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapEntryNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+
+public class DataContainerLayoutTest {
+    private static final QName LIST_QNAME = QName.create("urn:test", "2016-01-01", "list");
+    private static final QName ID_QNAME = QName.create(LIST_QNAME, "id");
+    private static final QName VALUE_QNAME = QName.create(LIST_QNAME, "value");
+    private static final QName OTHER_QNAME = QName.create(LIST_QNAME, "other");
+
+    private DataContainerLayout layout;
+
+    private static LeafSchemaNode leaf(final QName qname) {
+        final LeafSchemaNode ret = mock(LeafSchemaNode.class);
+        doReturn(qname).when(ret).getQName();
+        return ret;
+    }
+
+    @Before
+    public void setUp() {
+        final ListSchemaNode schema = mock(ListSchemaNode.class);
+        doReturn(ImmutableList.of(leaf(ID_QNAME), leaf(VALUE_QNAME))).when(schema).getChildNodes();
+        doReturn(Collections.emptySet()).when(schema).getAvailableAugmentations();
+        layout = DataContainerLayout.forSchema(schema);
+        assertSame(layout, DataContainerLayout.forSchema(schema));
+    }
+
+    private MapEntryNode entry(final int id, final String value) {
+        return ImmutableMapEntryNodeBuilder.create(layout)
+                .withNodeIdentifier(ImmutableNodes.mapEntry(LIST_QNAME, ID_QNAME, id).getIdentifier())
+                .withChild(ImmutableNodes.leafNode(VALUE_QNAME, value)).build();
+    }
+
+    private static MapEntryNode plainEntry(final int id, final String value) {
+        return ImmutableNodes.mapEntryBuilder(LIST_QNAME, ID_QNAME, id)
+                .withChild(ImmutableNodes.leafNode(VALUE_QNAME, value)).build();
+    }
+
+    @Test
+    public void testLaidOutEntry() {
+        final MapEntryNode entry = entry(1, "foo");
+        assertSame(layout, DataContainerLayout.layoutOf(((AbstractImmutableDataContainerNode<?>) entry).getChildren()));
+        assertEquals(2, entry.getValue().size());
+        assertEquals("foo", entry.getChild(new NodeIdentifier(VALUE_QNAME)).get().getValue());
+        assertFalse(entry.getChild(new NodeIdentifier(OTHER_QNAME)).isPresent());
+
+        final MapEntryNode plain = plainEntry(1, "foo");
+        assertNull(DataContainerLayout.layoutOf(((AbstractImmutableDataContainerNode<?>) plain).getChildren()));
+        assertTrue(entry.equals(plain));
+        assertTrue(plain.equals(entry));
+        assertEquals(plain.hashCode(), entry.hashCode());
+        assertFalse(entry.equals(plainEntry(1, "bar")));
+        assertTrue(entry.equals(entry(1, "foo")));
+    }
+
+    @Test
+    public void testRebuiltEntry() {
+        final MapEntryNode entry = ImmutableMapEntryNodeBuilder.create(entry(1, "foo"))
+                .withChild(ImmutableNodes.leafNode(VALUE_QNAME, "bar")).build();
+        assertSame(layout, DataContainerLayout.layoutOf(((AbstractImmutableDataContainerNode<?>) entry).getChildren()));
+        assertEquals(plainEntry(1, "bar"), entry);
+    }
+
+    @Test
+    public void testUnknownChild() {
+        final MapEntryNode entry = ImmutableMapEntryNodeBuilder.create(layout)
+                .withNodeIdentifier(ImmutableNodes.mapEntry(LIST_QNAME, ID_QNAME, 1).getIdentifier())
+                .withChild(ImmutableNodes.leafNode(OTHER_QNAME, "foo")).build();
+        assertNull(DataContainerLayout.layoutOf(((AbstractImmutableDataContainerNode<?>) entry).getChildren()));
+        assertEquals("foo", entry.getChild(new NodeIdentifier(OTHER_QNAME)).get().getValue());
+    }
+
+    @Test
+    public void testAugmentedChildren() {
+        final LeafSchemaNode other = leaf(OTHER_QNAME);
+        final AugmentationSchema augmentation = mock(AugmentationSchema.class);
+        doReturn(ImmutableSet.of(other)).when(augmentation).getChildNodes();
+
+        final ListSchemaNode schema = mock(ListSchemaNode.class);
+        doReturn(ImmutableList.of(leaf(ID_QNAME), leaf(VALUE_QNAME), other)).when(schema).getChildNodes();
+        doReturn(ImmutableSet.of(augmentation)).when(schema).getAvailableAugmentations();
+        final DataContainerLayout augmented = DataContainerLayout.forSchema(schema);
+
+        // Augmented leaf is not a direct child, the augmentation is
+        assertEquals(-1, augmented.offsetOf(new NodeIdentifier(OTHER_QNAME)));
+        assertEquals(2, augmented.offsetOf(new AugmentationIdentifier(ImmutableSet.of(OTHER_QNAME))));
+
+        // A single child out of two non-augmentation children is dense enough
+        final MapEntryNode entry = ImmutableMapEntryNodeBuilder.create(augmented)
+                .withNodeIdentifier(ImmutableNodes.mapEntry(LIST_QNAME, ID_QNAME, 1).getIdentifier())
+                .withChild(ImmutableNodes.leafNode(ID_QNAME, 1)).build();
+        assertSame(augmented, DataContainerLayout.layoutOf(
+            ((AbstractImmutableDataContainerNode<?>) entry).getChildren()));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BatchCommitDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCommitResult;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class BatchCommitTest {
+    private BatchCommitDataTree tree;
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        tree = (BatchCommitDataTree) InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        tree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    private static DataTreeModification writeEntry(final DataTreeSnapshot snapshot, final int id) {
+        final DataTreeModification mod = snapshot.newModification();
+        mod.write(entryPath(id), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        mod.ready();
+        return mod;
+    }
+
+    @Test
+    public void testBatchCommit() {
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final DataTreeModification first = writeEntry(snapshot, 1);
+        final DataTreeModification second = writeEntry(snapshot, 2);
+        final DataTreeModification noop = snapshot.newModification();
+        noop.ready();
+
+        final List<DataTreeCommitResult> results = tree.commitBatch(Arrays.asList(first, second, noop));
+        assertEquals(3, results.size());
+        for (DataTreeCommitResult result : results) {
+            assertTrue(result.isSuccess());
+        }
+        assertEquals(first, results.get(0).getModification());
+        assertEquals(ModificationType.SUBTREE_MODIFIED,
+            results.get(1).getCandidate().get().getRootNode().getModificationType());
+        assertEquals(ModificationType.UNMODIFIED,
+            results.get(2).getCandidate().get().getRootNode().getModificationType());
+
+        final DataTreeSnapshot after = tree.takeSnapshot();
+        assertTrue(after.readNode(entryPath(1)).isPresent());
+        assertTrue(after.readNode(entryPath(2)).isPresent());
+    }
+
+    @Test
+    public void testBatchCommitPartialFailure() {
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final DataTreeModification first = writeEntry(snapshot, 1);
+        // Conflicts with first, as both create the same entry
+        final DataTreeModification conflicting = writeEntry(snapshot, 1);
+        final DataTreeModification third = writeEntry(snapshot, 3);
+
+        final List<DataTreeCommitResult> results = tree.commitBatch(Arrays.asList(first, conflicting, third));
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(1).getCandidate().isPresent());
+        assertTrue(results.get(1).getFailure().get() instanceof ConflictingModificationAppliedException);
+        assertTrue(results.get(2).isSuccess());
+
+        final DataTreeSnapshot after = tree.takeSnapshot();
+        assertTrue(after.readNode(entryPath(1)).isPresent());
+        assertTrue(after.readNode(entryPath(3)).isPresent());
+    }
+
+    @Test
+    public void testBatchCommitAllFailed() throws DataValidationFailedException {
+        final DataTreeModification stale = writeEntry(tree.takeSnapshot(), 1);
+        final DataTreeModification mod = writeEntry(tree.takeSnapshot(), 1);
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+
+        final DataTreeSnapshot before = tree.takeSnapshot();
+        final List<DataTreeCommitResult> results = tree.commitBatch(Arrays.asList(stale));
+        assertFalse(results.get(0).isSuccess());
+        assertEquals(before.readNode(TestModel.OUTER_LIST_PATH), tree.takeSnapshot().readNode(
+            TestModel.OUTER_LIST_PATH));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsealedModification() {
+        tree.commitBatch(Arrays.asList(tree.takeSnapshot().newModification()));
+    }
+}
@@ -392,6 +392,53 @@ public class Bug4454Test {
         assertTrue(((NormalizedNodeContainer<?, ?, ?>) minMaxListRead.get()).getValue().size() == 0);
     }
 
+    private void writeFullList() throws DataValidationFailedException {
+        final InMemoryDataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        modificationTree.write(MIN_MAX_LIST_PATH, ImmutableNodes.mapNodeBuilder()
+            .withNodeIdentifier(new NodeIdentifier(MIN_MAX_LIST_QNAME))
+            .withChild(fooEntryNode).withChild(barEntryNode).withChild(bazEntryNode).build());
+        modificationTree.ready();
+        inMemoryDataTree.validate(modificationTree);
+        inMemoryDataTree.commit(inMemoryDataTree.prepare(modificationTree));
+    }
+
+    private static YangInstanceIdentifier minMaxEntryPath(final String key) {
+        return YangInstanceIdentifier.builder(MIN_MAX_LIST_PATH)
+                .nodeWithKey(MIN_MAX_LIST_QNAME, MIN_MAX_KEY_LEAF_QNAME, key).build();
+    }
+
+    @Test
+    public void minMaxListTouchReplaceTest() throws DataValidationFailedException {
+        writeFullList();
+
+        // Rewriting an existing entry and replacing another one keeps the list at max-elements
+        final InMemoryDataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        modificationTree.write(minMaxEntryPath("foo"), fooEntryNode);
+        modificationTree.delete(minMaxEntryPath("bar"));
+        modificationTree.merge(minMaxEntryPath("fuz"),
+            ImmutableNodes.mapEntry(MIN_MAX_LIST_QNAME, MIN_MAX_KEY_LEAF_QNAME, "fuz"));
+        modificationTree.delete(minMaxEntryPath("non-existing"));
+        modificationTree.ready();
+        inMemoryDataTree.validate(modificationTree);
+        inMemoryDataTree.commit(inMemoryDataTree.prepare(modificationTree));
+
+        final Optional<NormalizedNode<?, ?>> minMaxListRead = inMemoryDataTree.takeSnapshot()
+                .readNode(MIN_MAX_LIST_PATH);
+        assertTrue(minMaxListRead.isPresent());
+        assertTrue(((NormalizedNodeContainer<?, ?, ?>) minMaxListRead.get()).getValue().size() == 3);
+    }
+
+    @Test(expected = DataValidationFailedException.class)
+    public void minMaxListTouchExceptionTest() throws DataValidationFailedException {
+        writeFullList();
+
+        final InMemoryDataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        modificationTree.write(minMaxEntryPath("fuz"),
+            ImmutableNodes.mapEntry(MIN_MAX_LIST_QNAME, MIN_MAX_KEY_LEAF_QNAME, "fuz"));
+        modificationTree.ready();
+        inMemoryDataTree.validate(modificationTree);
+    }
+
     private static void testLoop(final InMemoryDataTreeSnapshot snapshot, final String first, final String second) {
         Optional<NormalizedNode<?, ?>> minMaxListRead = snapshot.readNode(MIN_MAX_LIST_PATH);
         assertTrue(minMaxListRead.isPresent());
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class CandidateRebaseTest {
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    private static DataTree createTree(final boolean rebase) throws DataValidationFailedException {
+        final DataTree tree = InMemoryDataTreeFactory.getInstance().create(
+            DataTreeConfiguration.builder(TreeType.OPERATIONAL).setCandidateRebaseAllowed(rebase).build());
+        tree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+        return tree;
+    }
+
+    private static DataTreeCandidate prepareEntry(final DataTree tree, final DataTreeSnapshot snapshot, final int id)
+            throws DataValidationFailedException {
+        final DataTreeModification mod = snapshot.newModification();
+        mod.write(entryPath(id), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        mod.ready();
+        tree.validate(mod);
+        return tree.prepare(mod);
+    }
+
+    @Test
+    public void testRebaseIndependent() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+
+        final DataTreeCandidate first = prepareEntry(tree, snapshot, 1);
+        final DataTreeCandidate second = prepareEntry(tree, snapshot, 2);
+        tree.commit(first);
+        tree.commit(second);
+
+        final DataTreeSnapshot after = tree.takeSnapshot();
+        assertTrue(after.readNode(entryPath(1)).isPresent());
+        assertTrue(after.readNode(entryPath(2)).isPresent());
+
+        // The rebased candidate describes the transition from the first commit
+        assertSame(first.getRootNode().getDataAfter().get(), second.getRootNode().getDataBefore().get());
+        assertEquals(ModificationType.SUBTREE_MODIFIED, second.getRootNode().getModificationType());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRebaseConflicting() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+
+        final DataTreeCandidate first = prepareEntry(tree, snapshot, 1);
+        final DataTreeCandidate second = prepareEntry(tree, snapshot, 1);
+        tree.commit(first);
+        tree.commit(second);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRebaseDisabled() throws DataValidationFailedException {
+        final DataTree tree = createTree(false);
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+
+        final DataTreeCandidate first = prepareEntry(tree, snapshot, 1);
+        final DataTreeCandidate second = prepareEntry(tree, snapshot, 2);
+        tree.commit(first);
+        tree.commit(second);
+    }
+}
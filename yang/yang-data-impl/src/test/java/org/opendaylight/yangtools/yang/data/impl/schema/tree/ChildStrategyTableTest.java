@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class ChildStrategyTableTest {
+    private ContainerSchemaNode schema;
+
+    @Before
+    public void setUp() {
+        final SchemaContext ctx = TestModel.createTestContext();
+        schema = (ContainerSchemaNode) ctx.getDataChildByName(TestModel.TEST_QNAME);
+    }
+
+    @Test
+    public void testLazyInstantiation() {
+        final ChildStrategyTable table = new ChildStrategyTable(schema, DataTreeConfiguration.DEFAULT_OPERATIONAL);
+
+        final ModificationApplyOperation list = table.get(NodeIdentifier.create(TestModel.OUTER_LIST_QNAME));
+        assertNotNull(list);
+        assertSame(list, table.get(NodeIdentifier.create(TestModel.OUTER_LIST_QNAME)));
+    }
+
+    @Test
+    public void testUnknownChild() {
+        final ChildStrategyTable table = new ChildStrategyTable(schema, DataTreeConfiguration.DEFAULT_OPERATIONAL);
+        assertNull(table.get(NodeIdentifier.create(QName.create(TestModel.TEST_QNAME, "does-not-exist"))));
+    }
+
+    @Test
+    public void testConcurrentPublication() throws InterruptedException {
+        final ChildStrategyTable table = new ChildStrategyTable(schema, DataTreeConfiguration.DEFAULT_OPERATIONAL);
+        final NodeIdentifier id = NodeIdentifier.create(TestModel.OUTER_LIST_QNAME);
+        final ModificationApplyOperation[] results = new ModificationApplyOperation[8];
+        final Thread[] threads = new Thread[results.length];
+
+        for (int i = 0; i < threads.length; ++i) {
+            final int idx = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    results[idx] = table.get(id);
+                }
+            };
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        for (ModificationApplyOperation op : results) {
+            assertSame(results[0], op);
+        }
+        assertSame(results[0], table.get(id));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.ColdTreeNodeStorage;
+import org.opendaylight.yangtools.yang.data.impl.codec.binary.BinaryColdTreeNodeCodec;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ColdNodeModificationStrategyTest {
+    private static final QName CHOICE1_QNAME = QName.create(TestModel.TEST_QNAME, "choice1");
+    private static final QName CASE1_LEAF1_QNAME = QName.create(TestModel.TEST_QNAME, "case1-leaf1");
+
+    private DataTree tree;
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        tree = InMemoryDataTreeFactory.getInstance().create(DataTreeConfiguration.builder(TreeType.OPERATIONAL)
+            .setColdStorage(ColdTreeNodeStorage.offHeap(BinaryColdTreeNodeCodec.getInstance()))
+            .addColdNode(TestModel.OUTER_LIST_QNAME).build());
+        tree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(entry(1)).withChild(entry(2)).build());
+        commit(mod);
+    }
+
+    private static MapEntryNode entry(final int id) {
+        return ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static NormalizedNode<?, ?> readOuterList(final DataTreeSnapshot snapshot) {
+        return snapshot.readNode(TestModel.OUTER_LIST_PATH).get();
+    }
+
+    @Test
+    public void testWriteRead() {
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final NormalizedNode<?, ?> list = readOuterList(snapshot);
+        assertTrue(ColdTreeNodeStorage.isCold(list));
+        assertTrue(list instanceof MapNode);
+        assertEquals(2, ((MapNode) list).getValue().size());
+
+        // Reads below the cold node work on materialized data
+        assertEquals(entry(1), snapshot.readNode(entryPath(1)).get());
+        assertFalse(ColdTreeNodeStorage.isCold(snapshot.readNode(entryPath(2)).get()));
+    }
+
+    @Test
+    public void testModify() throws DataValidationFailedException {
+        final DataTreeSnapshot before = tree.takeSnapshot();
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.delete(entryPath(1));
+        mod.write(entryPath(3), entry(3));
+        commit(mod);
+
+        // The modified subtree has been rehydrated, modified and stored again
+        final DataTreeSnapshot after = tree.takeSnapshot();
+        final NormalizedNode<?, ?> list = readOuterList(after);
+        assertTrue(ColdTreeNodeStorage.isCold(list));
+        assertEquals(2, ((MapNode) list).getValue().size());
+        assertFalse(after.readNode(entryPath(1)).isPresent());
+        assertEquals(entry(3), after.readNode(entryPath(3)).get());
+
+        // The previous state is still available
+        assertEquals(entry(1), before.readNode(entryPath(1)).get());
+        assertFalse(before.readNode(entryPath(3)).isPresent());
+    }
+
+    @Test
+    public void testUnrelatedModification() throws DataValidationFailedException {
+        final NormalizedNode<?, ?> list = readOuterList(tree.takeSnapshot());
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH.node(CHOICE1_QNAME), Builders.choiceBuilder()
+            .withNodeIdentifier(new NodeIdentifier(CHOICE1_QNAME))
+            .withChild(ImmutableNodes.leafNode(CASE1_LEAF1_QNAME, "foo")).build());
+        commit(mod);
+
+        // The cold subtree has not been touched, hence it has not been rehydrated
+        assertSame(list, readOuterList(tree.takeSnapshot()));
+    }
+
+    @Test
+    public void testDelete() throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.delete(TestModel.OUTER_LIST_PATH);
+        commit(mod);
+
+        assertFalse(tree.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).isPresent());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeStatistics;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeStatistics.Phase;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.InstrumentedDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class CommitStatisticsTest {
+    private static long sum(final long[] histogram) {
+        long ret = 0;
+        for (long count : histogram) {
+            ret += count;
+        }
+        return ret;
+    }
+
+    private static void commitTestContainer(final InstrumentedDataTree tree) throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    @Test
+    public void testRecordPhase() {
+        final CommitStatistics stats = new CommitStatistics();
+        stats.recordPhase(Phase.PREPARE, System.nanoTime());
+        stats.recordPhase(Phase.PREPARE, System.nanoTime() - 1000);
+        stats.recordCommitRetries(2);
+
+        assertEquals(2, stats.getDurations(Phase.PREPARE).getTotalDurations());
+        assertEquals(2, sum(stats.getDurationHistogram(Phase.PREPARE)));
+        assertEquals(0, stats.getDurations(Phase.COMMIT).getTotalDurations());
+        assertEquals(2, stats.getCommitRetryCount());
+
+        stats.reset();
+        assertEquals(0, stats.getDurations(Phase.PREPARE).getTotalDurations());
+        assertEquals(0, sum(stats.getDurationHistogram(Phase.PREPARE)));
+        assertEquals(0, stats.getCommitRetryCount());
+    }
+
+    @Test
+    public void testEnabled() throws DataValidationFailedException {
+        final InstrumentedDataTree tree = (InstrumentedDataTree) InMemoryDataTreeFactory.getInstance().create(
+            DataTreeConfiguration.builder(TreeType.OPERATIONAL).setStatisticsEnabled(true).build());
+        tree.setSchemaContext(TestModel.createTestContext());
+        commitTestContainer(tree);
+
+        final DataTreeStatistics stats = tree.getStatistics();
+        for (Phase phase : Phase.values()) {
+            assertEquals(1, stats.getDurations(phase).getTotalDurations());
+            assertEquals(1, sum(stats.getDurationHistogram(phase)));
+        }
+        // Root and the test container
+        assertEquals(2, stats.getTouchedNodeCount());
+        assertEquals(0, stats.getCommitRetryCount());
+    }
+
+    @Test
+    public void testDisabled() throws DataValidationFailedException {
+        final InstrumentedDataTree tree = (InstrumentedDataTree) InMemoryDataTreeFactory.getInstance().create(
+            TreeType.OPERATIONAL);
+        tree.setSchemaContext(TestModel.createTestContext());
+        commitTestContainer(tree);
+
+        final DataTreeStatistics stats = tree.getStatistics();
+        for (Phase phase : Phase.values()) {
+            assertEquals(0, stats.getDurations(phase).getTotalDurations());
+        }
+        assertEquals(0, stats.getTouchedNodeCount());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class CompactChildMapTest {
+    private static final QName ROOT = QName.create("urn:test", "2016-01-01", "root");
+
+    private static PathArgument key(final int i) {
+        return NodeIdentifier.create(QName.create(ROOT, "child" + i));
+    }
+
+    private static ModifiedNode value() {
+        return ModifiedNode.createUnmodified(TreeNodeFactory.createTreeNode(ImmutableNodes.containerNode(ROOT),
+            Version.initial()), ChildTrackingPolicy.NONE);
+    }
+
+    private static void checkGrowth(final ChildTrackingPolicy policy, final int count) {
+        final Map<PathArgument, ModifiedNode> map = policy.createMap();
+        final List<ModifiedNode> values = new ArrayList<>();
+        assertTrue(map.isEmpty());
+
+        for (int i = 0; i < count; ++i) {
+            final ModifiedNode v = value();
+            values.add(v);
+            assertNull(map.put(key(i), v));
+            assertEquals(i + 1, map.size());
+        }
+
+        for (int i = 0; i < count; ++i) {
+            assertSame(values.get(i), map.get(key(i)));
+        }
+        assertNull(map.get(key(count)));
+
+        // Replacement does not change size
+        final ModifiedNode replacement = value();
+        assertSame(values.get(0), map.put(key(0), replacement));
+        assertEquals(count, map.size());
+        assertSame(replacement, map.get(key(0)));
+    }
+
+    @Test
+    public void testInline() {
+        checkGrowth(ChildTrackingPolicy.UNORDERED, 1);
+    }
+
+    @Test
+    public void testArray() {
+        checkGrowth(ChildTrackingPolicy.UNORDERED, 5);
+        checkGrowth(ChildTrackingPolicy.unorderedForFanOut(3), 3);
+    }
+
+    @Test
+    public void testPromotion() {
+        checkGrowth(ChildTrackingPolicy.UNORDERED, 100);
+        checkGrowth(ChildTrackingPolicy.ORDERED, 100);
+        checkGrowth(ChildTrackingPolicy.unorderedForFanOut(1), 2);
+        checkGrowth(ChildTrackingPolicy.unorderedForFanOut(0), 3);
+    }
+
+    @Test
+    public void testOrderedIteration() {
+        for (int count : new int[] { 1, 4, 8, 20 }) {
+            final Map<PathArgument, ModifiedNode> map = ChildTrackingPolicy.ORDERED.createMap();
+            for (int i = 0; i < count; ++i) {
+                map.put(key(i), value());
+            }
+
+            int i = 0;
+            for (PathArgument k : map.keySet()) {
+                assertEquals(key(i++), k);
+            }
+            assertEquals(count, i);
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        for (int count : new int[] { 1, 6, 20 }) {
+            final Map<PathArgument, ModifiedNode> map = ChildTrackingPolicy.ORDERED.createMap();
+            for (int i = 0; i < count; ++i) {
+                map.put(key(i), value());
+            }
+
+            // Remove every other child through the values iterator, as AbstractReadyIterator does
+            final Iterator<ModifiedNode> it = map.values().iterator();
+            int i = 0;
+            while (it.hasNext()) {
+                it.next();
+                if (i++ % 2 == 0) {
+                    it.remove();
+                }
+            }
+
+            assertEquals(count / 2, map.size());
+            for (i = 0; i < count; ++i) {
+                assertEquals(i % 2 != 0, map.containsKey(key(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        final Map<PathArgument, ModifiedNode> map = ChildTrackingPolicy.UNORDERED.createMap();
+        final ModifiedNode v = value();
+        map.put(key(0), v);
+        assertNull(map.remove(key(1)));
+        assertSame(v, map.remove(key(0)));
+        assertTrue(map.isEmpty());
+
+        for (int i = 0; i < 4; ++i) {
+            map.put(key(i), value());
+        }
+        assertFalse(map.isEmpty());
+        map.remove(key(1));
+        assertEquals(3, map.size());
+        assertFalse(map.containsKey(key(1)));
+        assertTrue(map.containsKey(key(3)));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(key(0)));
+        map.put(key(5), v);
+        assertSame(v, map.get(key(5)));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateStream;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateVisitor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class DataTreeCandidateStreamTest {
+    private static class RecordingVisitor implements DataTreeCandidateVisitor {
+        final List<String> events = new ArrayList<>();
+        private final boolean descend;
+
+        RecordingVisitor(final boolean descend) {
+            this.descend = descend;
+        }
+
+        @Override
+        public boolean enter(final DataTreeCandidateNode node) {
+            events.add("enter " + node.getModificationType());
+            return descend;
+        }
+
+        @Override
+        public void exit() {
+            events.add("exit");
+        }
+
+        @Override
+        public void visit(final DataTreeCandidateNode node) {
+            events.add(node.getModificationType() + " " + node.getIdentifier().getNodeType().getLocalName());
+        }
+    }
+
+    private DataTree tree;
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        tree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        tree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private DataTreeCandidate prepareCandidate() throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        for (int i = 0; i < 3; ++i) {
+            mod.write(YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i).build(),
+                ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+        }
+        mod.ready();
+        tree.validate(mod);
+        return tree.prepare(mod);
+    }
+
+    @Test
+    public void testConsume() throws DataValidationFailedException {
+        final DataTreeCandidateStream stream = DataTreeCandidateStream.create(prepareCandidate());
+        assertEquals(YangInstanceIdentifier.EMPTY, stream.getRootPath());
+        assertFalse(stream.isConsumed());
+
+        final RecordingVisitor visitor = new RecordingVisitor(true);
+        stream.consume(visitor);
+        assertTrue(stream.isConsumed());
+
+        // root, test container, outer-list, three entries
+        assertEquals(9, visitor.events.size());
+        assertEquals("enter SUBTREE_MODIFIED", visitor.events.get(0));
+        assertEquals("enter SUBTREE_MODIFIED", visitor.events.get(1));
+        assertEquals("enter SUBTREE_MODIFIED", visitor.events.get(2));
+        assertEquals("WRITE outer-list", visitor.events.get(3));
+        assertEquals("WRITE outer-list", visitor.events.get(4));
+        assertEquals("WRITE outer-list", visitor.events.get(5));
+        assertEquals("exit", visitor.events.get(6));
+        assertEquals("exit", visitor.events.get(7));
+        assertEquals("exit", visitor.events.get(8));
+    }
+
+    @Test
+    public void testSkipChildren() throws DataValidationFailedException {
+        final RecordingVisitor visitor = new RecordingVisitor(false);
+        DataTreeCandidateStream.create(prepareCandidate()).consume(visitor);
+        assertEquals(1, visitor.events.size());
+        assertEquals("enter SUBTREE_MODIFIED", visitor.events.get(0));
+    }
+
+    @Test
+    public void testConsumedSubtreeReleased() throws DataValidationFailedException {
+        final List<WeakReference<Object>> consumed = new ArrayList<>();
+        final boolean[] released = new boolean[1];
+
+        // Do not retain the candidate, only the stream
+        DataTreeCandidateStream.create(prepareCandidate()).consume(new RecordingVisitor(true) {
+            @Override
+            public void visit(final DataTreeCandidateNode node) {
+                if (consumed.size() == 2) {
+                    // The first entry has been fully processed, nothing should be holding on to it
+                    for (int i = 0; i < 10 && consumed.get(0).get() != null; ++i) {
+                        System.gc();
+                    }
+                    released[0] = consumed.get(0).get() == null;
+                }
+                consumed.add(new WeakReference<Object>(node.getDataAfter().get()));
+            }
+        });
+
+        assertEquals(3, consumed.size());
+        assertTrue(released[0]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testConsumeTwice() throws DataValidationFailedException {
+        final DataTreeCandidateStream stream = DataTreeCandidateStream.create(prepareCandidate());
+        stream.consume(new RecordingVisitor(true));
+        stream.consume(new RecordingVisitor(true));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.CursorAwareDataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.valid.DataValidationException;
+
+public class DataTreeModificationStreamWriterTest {
+    private static final int ENTRY_COUNT = 1000;
+
+    // Leaf-lists are not present in TestModel, use the normalization test model instead
+    private static final QName LEAF_LIST_TEST_QNAME = QName.create(
+        "urn:opendaylight:params:xml:ns:yang:controller:md:sal:normalization:test", "2014-03-13", "test");
+    private static final QName ORDERED_LEAF_LIST_QNAME = QName.create(LEAF_LIST_TEST_QNAME, "ordered-leaf-list");
+    private static final QName UNORDERED_LEAF_LIST_QNAME = QName.create(LEAF_LIST_TEST_QNAME, "unordered-leaf-list");
+    private static final List<String> LEAF_LIST_VALUES = ImmutableList.of("c", "a", "b");
+
+    private TipProducingDataTree tree;
+
+    @Before
+    public void setUp() {
+        tree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        tree.setSchemaContext(TestModel.createTestContext());
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static void writeEntry(final NormalizedNodeStreamWriter writer, final int id) throws IOException {
+        writer.startMapEntryNode(new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id),
+            1);
+        writer.leafNode(new NodeIdentifier(TestModel.ID_QNAME), id);
+        writer.endNode();
+    }
+
+    private MapNode readOuterList() {
+        return (MapNode) tree.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+    }
+
+    @Test
+    public void testStreamWrite() throws IOException, DataValidationFailedException {
+        final CursorAwareDataTreeModification mod = (CursorAwareDataTreeModification) tree.takeSnapshot()
+                .newModification();
+        try (NormalizedNodeStreamWriter writer = mod.createStreamWriter(YangInstanceIdentifier.EMPTY)) {
+            writer.startContainerNode(new NodeIdentifier(TestModel.TEST_QNAME), 1);
+            writer.startMapNode(new NodeIdentifier(TestModel.OUTER_LIST_QNAME), ENTRY_COUNT);
+            for (int i = 0; i < ENTRY_COUNT; ++i) {
+                writeEntry(writer, i);
+            }
+            writer.endNode();
+            writer.endNode();
+        }
+        commit(mod);
+
+        assertEquals(ENTRY_COUNT, readOuterList().getValue().size());
+    }
+
+    @Test
+    public void testResumeWrite() throws IOException, DataValidationFailedException {
+        final CursorAwareDataTreeModification mod = (CursorAwareDataTreeModification) tree.takeSnapshot()
+                .newModification();
+        try (NormalizedNodeStreamWriter writer = mod.createStreamWriter(YangInstanceIdentifier.EMPTY)) {
+            writer.startContainerNode(new NodeIdentifier(TestModel.TEST_QNAME), 1);
+            writer.startMapNode(new NodeIdentifier(TestModel.OUTER_LIST_QNAME), 2);
+            writeEntry(writer, 1);
+            writer.endNode();
+            writer.endNode();
+        }
+
+        try (NormalizedNodeStreamWriter writer = mod.createStreamWriter(TestModel.OUTER_LIST_PATH)) {
+            writeEntry(writer, 2);
+        }
+        commit(mod);
+
+        final MapNode list = readOuterList();
+        assertEquals(2, list.getValue().size());
+        assertTrue(list.getChild(new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .isPresent());
+    }
+
+    private LeafSetNode<?> streamLeafList(final QName name, final boolean ordered) throws IOException,
+            DataValidationFailedException {
+        tree.setSchemaContext(TestModel.createTestContext("/filter-test.yang"));
+
+        final CursorAwareDataTreeModification mod = (CursorAwareDataTreeModification) tree.takeSnapshot()
+                .newModification();
+        try (NormalizedNodeStreamWriter writer = mod.createStreamWriter(YangInstanceIdentifier.EMPTY)) {
+            writer.startContainerNode(new NodeIdentifier(LEAF_LIST_TEST_QNAME), 1);
+            if (ordered) {
+                writer.startOrderedLeafSet(new NodeIdentifier(name), LEAF_LIST_VALUES.size());
+            } else {
+                writer.startLeafSet(new NodeIdentifier(name), LEAF_LIST_VALUES.size());
+            }
+            for (String value : LEAF_LIST_VALUES) {
+                writer.leafSetEntryNode(name, value);
+            }
+            writer.endNode();
+            writer.endNode();
+        }
+        commit(mod);
+
+        return (LeafSetNode<?>) tree.takeSnapshot().readNode(YangInstanceIdentifier.of(LEAF_LIST_TEST_QNAME)
+            .node(name)).get();
+    }
+
+    @Test
+    public void testStreamOrderedLeafList() throws IOException, DataValidationFailedException {
+        final LeafSetNode<?> leafSet = streamLeafList(ORDERED_LEAF_LIST_QNAME, true);
+        assertTrue(leafSet instanceof OrderedLeafSetNode);
+
+        final List<Object> values = new ArrayList<>();
+        for (LeafSetEntryNode<?> entry : leafSet.getValue()) {
+            values.add(entry.getValue());
+        }
+        assertEquals(LEAF_LIST_VALUES, values);
+    }
+
+    @Test
+    public void testStreamUnorderedLeafList() throws IOException, DataValidationFailedException {
+        final LeafSetNode<?> leafSet = streamLeafList(UNORDERED_LEAF_LIST_QNAME, false);
+
+        final Set<Object> values = new HashSet<>();
+        for (LeafSetEntryNode<?> entry : leafSet.getValue()) {
+            values.add(entry.getValue());
+        }
+        assertEquals(ImmutableSet.copyOf(LEAF_LIST_VALUES), values);
+    }
+
+    @Test(expected = DataValidationException.class)
+    public void testInvalidEntry() throws IOException {
+        final CursorAwareDataTreeModification mod = (CursorAwareDataTreeModification) tree.takeSnapshot()
+                .newModification();
+        final NormalizedNodeStreamWriter writer = mod.createStreamWriter(YangInstanceIdentifier.EMPTY);
+        writer.startContainerNode(new NodeIdentifier(TestModel.TEST_QNAME), 1);
+        writer.startMapNode(new NodeIdentifier(TestModel.OUTER_LIST_QNAME), 1);
+        writer.startMapEntryNode(new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1),
+            1);
+        writer.leafNode(new NodeIdentifier(TestModel.ID_QNAME), 2);
+        writer.endNode();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DiffableDataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class DataTreeSnapshotDiffTest {
+    private DataTree tree;
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    private static NodeIdentifierWithPredicates entryId(final int id) {
+        return new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        tree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        tree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        for (int i = 0; i < 3; ++i) {
+            mod.write(entryPath(i), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+        }
+        commit(mod);
+    }
+
+    @Test
+    public void testIdenticalSnapshots() {
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final DataTreeCandidate candidate = ((DiffableDataTreeSnapshot) snapshot).diff(snapshot);
+        assertEquals(YangInstanceIdentifier.EMPTY, candidate.getRootPath());
+        assertEquals(ModificationType.UNMODIFIED, candidate.getRootNode().getModificationType());
+        assertEquals(0, candidate.getRootNode().getChildNodes().size());
+    }
+
+    @Test
+    public void testUnrelatedCommit() throws DataValidationFailedException {
+        final DataTreeSnapshot before = tree.takeSnapshot();
+
+        // Rewrite an entry with the same data, the diff should not report it
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(entryPath(1), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1));
+        commit(mod);
+
+        final DataTreeCandidate candidate = ((DiffableDataTreeSnapshot) before).diff(tree.takeSnapshot());
+        assertEquals(ModificationType.UNMODIFIED, candidate.getRootNode().getModificationType());
+    }
+
+    @Test
+    public void testChangedEntries() throws DataValidationFailedException {
+        final DataTreeSnapshot before = tree.takeSnapshot();
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.delete(entryPath(0));
+        mod.write(entryPath(3), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        commit(mod);
+        final DataTreeSnapshot after = tree.takeSnapshot();
+
+        final DataTreeCandidate candidate = ((DiffableDataTreeSnapshot) before).diff(after);
+        final DataTreeCandidateNode root = candidate.getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+
+        final DataTreeCandidateNode test = root.getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME));
+        assertNotNull(test);
+        assertEquals(ModificationType.SUBTREE_MODIFIED, test.getModificationType());
+
+        final DataTreeCandidateNode list = test.getModifiedChild(new NodeIdentifier(TestModel.OUTER_LIST_QNAME));
+        assertNotNull(list);
+        assertEquals(ModificationType.SUBTREE_MODIFIED, list.getModificationType());
+        assertEquals(2, list.getChildNodes().size());
+        assertEquals(ModificationType.DELETE, list.getModifiedChild(entryId(0)).getModificationType());
+        assertEquals(ModificationType.WRITE, list.getModifiedChild(entryId(3)).getModificationType());
+        assertNull(list.getModifiedChild(entryId(1)));
+
+        // Applying the difference to the old snapshot has to yield the new snapshot
+        final DataTreeModification replay = before.newModification();
+        DataTreeCandidates.applyToModification(replay, candidate);
+        replay.ready();
+        assertEquals(after.readNode(TestModel.TEST_PATH), replay.readNode(TestModel.TEST_PATH));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshotWalker;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class InMemoryDataTreeSnapshotWalkerTest {
+    private static final QName ROOT = QName.create("urn:test", "2016-01-01", "root");
+    private static final QName CONT = QName.create(ROOT, "cont");
+    private static final QName LEAF = QName.create(ROOT, "leaf");
+    private static final QName OTHER = QName.create(ROOT, "other");
+
+    private static final ContainerNode DATA = Builders.containerBuilder()
+            .withNodeIdentifier(YangInstanceIdentifier.NodeIdentifier.create(ROOT))
+            .withChild(Builders.containerBuilder().withNodeIdentifier(YangInstanceIdentifier.NodeIdentifier.create(CONT))
+                .withChild(ImmutableNodes.leafNode(LEAF, "value")).build())
+            .withChild(ImmutableNodes.leafNode(OTHER, "other"))
+            .build();
+
+    private static DataTreeSnapshotWalker walker() {
+        return new InMemoryDataTreeSnapshotWalker(YangInstanceIdentifier.EMPTY, DATA);
+    }
+
+    @Test
+    public void testFullTraversal() {
+        final List<List<PathArgument>> paths = new ArrayList<>();
+        final DataTreeSnapshotWalker walker = walker();
+        while (walker.next()) {
+            assertEquals(walker.getDepth(), walker.getPath().size());
+            paths.add(new ArrayList<>(walker.getPath()));
+        }
+        walker.close();
+
+        assertEquals(4, paths.size());
+        assertTrue(paths.get(0).isEmpty());
+        assertTrue(paths.contains(YangInstanceIdentifier.create(YangInstanceIdentifier.NodeIdentifier.create(CONT))
+            .getPathArguments()));
+        assertTrue(paths.contains(YangInstanceIdentifier.create(YangInstanceIdentifier.NodeIdentifier.create(CONT),
+            YangInstanceIdentifier.NodeIdentifier.create(LEAF)).getPathArguments()));
+        assertTrue(paths.contains(YangInstanceIdentifier.create(YangInstanceIdentifier.NodeIdentifier.create(OTHER))
+            .getPathArguments()));
+    }
+
+    @Test
+    public void testRootFirst() {
+        final DataTreeSnapshotWalker walker = walker();
+        assertTrue(walker.next());
+        assertSame(DATA, walker.getNode());
+        assertEquals(0, walker.getDepth());
+    }
+
+    @Test
+    public void testSkipChildren() {
+        final DataTreeSnapshotWalker walker = walker();
+        int count = 0;
+        while (walker.next()) {
+            count++;
+            if (walker.getDepth() == 1) {
+                walker.skipChildren();
+            }
+        }
+        assertEquals(3, count);
+        assertFalse(walker.next());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotPositioned() {
+        walker().getNode();
+    }
+}
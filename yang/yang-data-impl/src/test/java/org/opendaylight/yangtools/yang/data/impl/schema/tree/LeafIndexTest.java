@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.IndexedDataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class LeafIndexTest {
+    private static final QName INTERFACES = QName.create("urn:opendaylight:params:xml:ns:yang:leaf-index-test",
+        "2016-05-01", "interfaces");
+    private static final QName INTERFACE = QName.create(INTERFACES, "interface");
+    private static final QName NAME = QName.create(INTERFACES, "name");
+    private static final QName IF_INDEX = QName.create(INTERFACES, "if-index");
+
+    private static final YangInstanceIdentifier INTERFACES_PATH = YangInstanceIdentifier.of(INTERFACES);
+    private static final YangInstanceIdentifier INTERFACE_PATH = INTERFACES_PATH.node(INTERFACE);
+
+    private DataTree tree;
+
+    private static NodeIdentifierWithPredicates entryId(final String name) {
+        return new NodeIdentifierWithPredicates(INTERFACE, NAME, name);
+    }
+
+    private static void writeInterface(final DataTreeModification mod, final String name, final long ifIndex) {
+        mod.write(INTERFACE_PATH.node(entryId(name)), Builders.mapEntryBuilder().withNodeIdentifier(entryId(name))
+            .withChild(ImmutableNodes.leafNode(NAME, name)).withChild(ImmutableNodes.leafNode(IF_INDEX, ifIndex))
+            .build());
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private Collection<NodeIdentifierWithPredicates> lookup(final long ifIndex) {
+        return ((IndexedDataTreeSnapshot) tree.takeSnapshot()).lookupLeafIndex(INTERFACE_PATH, IF_INDEX, ifIndex);
+    }
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        tree = InMemoryDataTreeFactory.getInstance().create(DataTreeConfiguration.builder(TreeType.OPERATIONAL)
+            .addLeafIndex(INTERFACE_PATH, IF_INDEX).build());
+        tree.setSchemaContext(TestModel.createTestContext("/leaf-index-test.yang"));
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(INTERFACES_PATH, ImmutableNodes.containerNode(INTERFACES));
+        mod.write(INTERFACE_PATH, ImmutableNodes.mapNodeBuilder(INTERFACE).build());
+        writeInterface(mod, "eth0", 1);
+        writeInterface(mod, "eth1", 2);
+        commit(mod);
+    }
+
+    @Test
+    public void testLookup() {
+        assertEquals(ImmutableSet.of(entryId("eth0")), ImmutableSet.copyOf(lookup(1)));
+        assertEquals(ImmutableSet.of(entryId("eth1")), ImmutableSet.copyOf(lookup(2)));
+        assertTrue(lookup(3).isEmpty());
+    }
+
+    @Test
+    public void testUpdate() throws DataValidationFailedException {
+        final IndexedDataTreeSnapshot before = (IndexedDataTreeSnapshot) tree.takeSnapshot();
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.delete(INTERFACE_PATH.node(entryId("eth0")));
+        writeInterface(mod, "eth1", 3);
+        writeInterface(mod, "eth2", 3);
+        commit(mod);
+
+        assertTrue(lookup(1).isEmpty());
+        assertTrue(lookup(2).isEmpty());
+        assertEquals(ImmutableSet.of(entryId("eth1"), entryId("eth2")), ImmutableSet.copyOf(lookup(3)));
+
+        // Older snapshots retain their view of the index
+        assertEquals(ImmutableSet.of(entryId("eth0")),
+            ImmutableSet.copyOf(before.lookupLeafIndex(INTERFACE_PATH, IF_INDEX, 1L)));
+    }
+
+    @Test
+    public void testReplaceList() throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(INTERFACES_PATH, ImmutableNodes.containerNode(INTERFACES));
+        commit(mod);
+
+        assertTrue(lookup(1).isEmpty());
+        assertTrue(lookup(2).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotIndexed() {
+        ((IndexedDataTreeSnapshot) tree.takeSnapshot()).lookupLeafIndex(INTERFACE_PATH, NAME, "eth0");
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class ParallelApplyTest {
+    private static final int ENTRY_COUNT = 500;
+
+    private ForkJoinPool pool;
+    private DataTree parallelTree;
+    private DataTree sequentialTree;
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        final SchemaContext schemaContext = TestModel.createTestContext();
+        pool = new ForkJoinPool(4);
+        parallelTree = InMemoryDataTreeFactory.getInstance().create(DataTreeConfiguration.builder(
+            TreeType.OPERATIONAL).setParallelPool(pool).setParallelThreshold(16).build());
+        parallelTree.setSchemaContext(schemaContext);
+        sequentialTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        sequentialTree.setSchemaContext(schemaContext);
+
+        commit(parallelTree, initialModification(parallelTree));
+        commit(sequentialTree, initialModification(sequentialTree));
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static DataTreeModification initialModification(final DataTree tree) {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        return mod;
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    private static MapEntryNode entry(final int id) {
+        return ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+
+    private static DataTreeModification writeEntries(final DataTree tree) {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            mod.write(entryPath(i), entry(i));
+        }
+        return mod;
+    }
+
+    private static NormalizedNode<?, ?> readOuterList(final DataTree tree) {
+        return tree.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+    }
+
+    @Test
+    public void testParallelWriteMatchesSequential() throws DataValidationFailedException {
+        commit(parallelTree, writeEntries(parallelTree));
+        commit(sequentialTree, writeEntries(sequentialTree));
+        assertEquals(readOuterList(sequentialTree), readOuterList(parallelTree));
+
+        // Touch all entries again, exercising the subtree modification path
+        final DataTreeModification mod = parallelTree.takeSnapshot().newModification();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            mod.merge(entryPath(i).node(TestModel.INNER_LIST_QNAME), ImmutableNodes.mapNodeBuilder(
+                TestModel.INNER_LIST_QNAME).withChild(ImmutableNodes.mapEntry(TestModel.INNER_LIST_QNAME,
+                    TestModel.NAME_QNAME, "name-" + i)).build());
+        }
+        commit(parallelTree, mod);
+
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            assertTrue(parallelTree.takeSnapshot().readNode(entryPath(i).node(TestModel.INNER_LIST_QNAME))
+                .isPresent());
+        }
+    }
+
+    @Test(expected = ConflictingModificationAppliedException.class)
+    public void testParallelConflictDetection() throws DataValidationFailedException {
+        final DataTreeModification first = writeEntries(parallelTree);
+        final DataTreeModification second = writeEntries(parallelTree);
+        commit(parallelTree, first);
+
+        second.ready();
+        parallelTree.validate(second);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheStats;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ReadNodeCacheTest {
+    private static final QName ROOT = QName.create("urn:test", "root");
+    private static final QName FOO = QName.create(ROOT, "foo");
+    private static final QName BAR = QName.create(ROOT, "bar");
+    private static final QName LEAF = QName.create(ROOT, "leaf");
+    private static final YangInstanceIdentifier FOO_LEAF = YangInstanceIdentifier.create(new NodeIdentifier(FOO),
+        new NodeIdentifier(LEAF));
+    private static final YangInstanceIdentifier BAR_LEAF = YangInstanceIdentifier.create(new NodeIdentifier(BAR),
+        new NodeIdentifier(LEAF));
+
+    private static ContainerNode container(final QName name, final Object value) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(name))
+                .withChild(ImmutableNodes.leafNode(LEAF, value)).build();
+    }
+
+    private static ContainerNode root(final ContainerNode foo, final ContainerNode bar) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT)).withChild(foo)
+                .withChild(bar).build();
+    }
+
+    private static void assertStats(final ReadNodeCache cache, final long hits, final long misses) {
+        final CacheStats stats = cache.getStats();
+        assertEquals(hits, stats.hitCount());
+        assertEquals(misses, stats.missCount());
+    }
+
+    @Test
+    public void testUnmodifiedSubtree() {
+        final ReadNodeCache cache = new ReadNodeCache(16);
+        final ContainerNode foo = container(FOO, "foo");
+        final ContainerNode root = root(foo, container(BAR, "bar"));
+
+        final Optional<NormalizedNode<?, ?>> first = cache.findNode(root, FOO_LEAF);
+        assertSame(foo.getChild(new NodeIdentifier(LEAF)).get(), first.get());
+        assertStats(cache, 0, 1);
+
+        assertSame(first.get(), cache.findNode(root, FOO_LEAF).get());
+        assertStats(cache, 1, 1);
+
+        // Sibling modified, foo is shared and validates the entry
+        final ContainerNode newRoot = root(foo, container(BAR, "baz"));
+        assertSame(first.get(), cache.findNode(newRoot, FOO_LEAF).get());
+        assertStats(cache, 2, 1);
+
+        // The entry has been refreshed, hence it is now validated at the new root
+        assertSame(first.get(), cache.findNode(newRoot, FOO_LEAF).get());
+        assertStats(cache, 3, 1);
+    }
+
+    @Test
+    public void testModifiedSubtree() {
+        final ReadNodeCache cache = new ReadNodeCache(16);
+        final ContainerNode bar = container(BAR, "bar");
+        assertEquals("bar", cache.findNode(root(container(FOO, "foo"), bar), BAR_LEAF).get().getValue());
+
+        // The entry is found, but it is stale and gets replaced
+        assertEquals("baz", cache.findNode(root(container(FOO, "foo"), container(BAR, "baz")), BAR_LEAF).get()
+            .getValue());
+        assertStats(cache, 1, 1);
+    }
+
+    @Test
+    public void testAbsentPath() {
+        final ReadNodeCache cache = new ReadNodeCache(16);
+        final ContainerNode foo = container(FOO, "foo");
+        final ContainerNode root = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(foo).build();
+
+        assertFalse(cache.findNode(root, BAR_LEAF).isPresent());
+        assertFalse(cache.findNode(root, BAR_LEAF).isPresent());
+        assertStats(cache, 1, 1);
+
+        assertEquals("bar", cache.findNode(root(foo, container(BAR, "bar")), BAR_LEAF).get().getValue());
+        assertStats(cache, 2, 1);
+    }
+
+    @Test
+    public void testEviction() {
+        final ReadNodeCache cache = new ReadNodeCache(1);
+        final ContainerNode root = root(container(FOO, "foo"), container(BAR, "bar"));
+
+        cache.findNode(root, FOO_LEAF);
+        cache.findNode(root, BAR_LEAF);
+        cache.findNode(root, FOO_LEAF);
+        assertStats(cache, 0, 3);
+        assertEquals(2, cache.getStats().evictionCount());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import com.google.common.base.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.VersionedDataTree;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class SnapshotHistoryTest {
+    private static final int HISTORY_SIZE = 4;
+
+    private VersionedDataTree tree;
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        tree = (VersionedDataTree) InMemoryDataTreeFactory.getInstance().create(
+            DataTreeConfiguration.builder(TreeType.OPERATIONAL).setSnapshotHistorySize(HISTORY_SIZE).build());
+        tree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        commit(mod);
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    private void writeEntry(final int id) throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(entryPath(id), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        commit(mod);
+    }
+
+    @Test
+    public void testPastVersions() throws DataValidationFailedException {
+        assertEquals(1, tree.getCurrentVersion());
+        writeEntry(1);
+        writeEntry(2);
+        assertEquals(3, tree.getCurrentVersion());
+
+        final DataTreeSnapshot first = tree.takeSnapshot(2).get();
+        assertTrue(first.readNode(entryPath(1)).isPresent());
+        assertFalse(first.readNode(entryPath(2)).isPresent());
+
+        final DataTreeSnapshot current = tree.takeSnapshot(3).get();
+        assertTrue(current.readNode(entryPath(2)).isPresent());
+
+        assertFalse(tree.takeSnapshot(4).isPresent());
+        assertFalse(tree.takeSnapshot(-1).isPresent());
+    }
+
+    @Test
+    public void testBoundedHistory() throws DataValidationFailedException {
+        for (int i = 1; i <= HISTORY_SIZE + 1; ++i) {
+            writeEntry(i);
+        }
+
+        final long current = tree.getCurrentVersion();
+        assertFalse(tree.takeSnapshot(current - HISTORY_SIZE).isPresent());
+
+        final Optional<DataTreeSnapshot> oldest = tree.takeSnapshot(current - HISTORY_SIZE + 1);
+        assertTrue(oldest.isPresent());
+        assertTrue(oldest.get().readNode(entryPath(1)).isPresent());
+        assertFalse(oldest.get().readNode(entryPath(2)).isPresent());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree.journal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JournalSegmentTest {
+    private static final byte[] RECORD = new byte[] { 1, 2, 3, 4 };
+
+    private Path path;
+    private JournalSegment segment;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("journal", JournalConstants.JOURNAL_SUFFIX);
+        segment = JournalSegment.open(path, 0);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        segment.close();
+        Files.delete(path);
+    }
+
+    @Test
+    public void testSyncCoversPrecedingRecords() throws IOException {
+        final long first = segment.append(RECORD);
+        final long second = segment.append(RECORD);
+        final long third = segment.append(RECORD);
+
+        // The first sync forces all three records, the others find them durable already
+        segment.sync(first);
+        segment.sync(second);
+        segment.sync(third);
+        assertEquals(1, segment.getSyncCount());
+
+        segment.sync(segment.append(RECORD));
+        assertEquals(2, segment.getSyncCount());
+    }
+
+    @Test
+    public void testConcurrentSyncShared() throws Exception {
+        final int threads = 8;
+        final CountDownLatch appended = new CountDownLatch(threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; ++i) {
+                futures[i] = executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        final long offset = segment.append(RECORD);
+                        appended.countDown();
+                        appended.await();
+                        segment.sync(offset);
+                        return null;
+                    }
+                });
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // All records have been appended before anybody synced, hence the first fsync covers them all
+        assertEquals(1, segment.getSyncCount());
+        assertEquals(threads * (JournalSegment.HEADER_SIZE + RECORD.length), Files.size(path));
+    }
+}
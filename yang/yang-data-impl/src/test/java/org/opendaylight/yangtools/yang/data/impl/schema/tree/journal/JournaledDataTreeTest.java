@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.TestModel;
+
+public class JournaledDataTreeTest {
+    private Path directory;
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    private JournaledDataTree openTree(final int snapshotInterval) throws IOException {
+        final DataTree delegate = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        delegate.setSchemaContext(TestModel.createTestContext());
+        return JournaledDataTree.open(delegate, directory, snapshotInterval);
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static void writeEntries(final DataTree tree, final int from, final int to)
+            throws DataValidationFailedException {
+        for (int i = from; i < to; ++i) {
+            final DataTreeModification mod = tree.takeSnapshot().newModification();
+            mod.write(entryPath(i), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+            commit(tree, mod);
+        }
+    }
+
+    private static void initialize(final DataTree tree) throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        commit(tree, mod);
+    }
+
+    private int countFiles(final String glob) throws IOException {
+        int ret = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path p : stream) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path p : stream) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testReplayJournal() throws Exception {
+        try (JournaledDataTree tree = openTree(0)) {
+            initialize(tree);
+            writeEntries(tree, 0, 10);
+
+            final DataTreeModification mod = tree.takeSnapshot().newModification();
+            mod.delete(entryPath(3));
+            commit(tree, mod);
+        }
+
+        assertEquals(0, countFiles("*.snap"));
+        try (JournaledDataTree tree = openTree(0)) {
+            assertTrue(tree.takeSnapshot().readNode(entryPath(9)).isPresent());
+            assertFalse(tree.takeSnapshot().readNode(entryPath(3)).isPresent());
+        }
+    }
+
+    @Test
+    public void testReplaySnapshot() throws Exception {
+        try (JournaledDataTree tree = openTree(5)) {
+            initialize(tree);
+            writeEntries(tree, 0, 12);
+        }
+
+        assertEquals(1, countFiles("*.snap"));
+        assertEquals(1, countFiles("*.log"));
+        try (JournaledDataTree tree = openTree(5)) {
+            for (int i = 0; i < 12; ++i) {
+                assertTrue(tree.takeSnapshot().readNode(entryPath(i)).isPresent());
+            }
+
+            // Journal continues after recovery
+            writeEntries(tree, 12, 13);
+        }
+
+        try (JournaledDataTree tree = openTree(5)) {
+            assertTrue(tree.takeSnapshot().readNode(entryPath(12)).isPresent());
+        }
+    }
+
+    @Test
+    public void testTornRecord() throws Exception {
+        try (JournaledDataTree tree = openTree(0)) {
+            initialize(tree);
+            writeEntries(tree, 0, 2);
+        }
+
+        final Path journal;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.log")) {
+            journal = stream.iterator().next();
+        }
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try (JournaledDataTree tree = openTree(0)) {
+            assertTrue(tree.takeSnapshot().readNode(entryPath(0)).isPresent());
+            assertFalse(tree.takeSnapshot().readNode(entryPath(1)).isPresent());
+
+            writeEntries(tree, 1, 2);
+        }
+
+        try (JournaledDataTree tree = openTree(0)) {
+            assertTrue(tree.takeSnapshot().readNode(entryPath(1)).isPresent());
+        }
+    }
+
+    @Test
+    public void testStaleCandidate() throws Exception {
+        try (JournaledDataTree tree = openTree(0)) {
+            initialize(tree);
+
+            final DataTreeModification first = tree.takeSnapshot().newModification();
+            first.write(entryPath(0), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 0));
+            first.ready();
+            final DataTreeModification second = tree.takeSnapshot().newModification();
+            second.write(entryPath(1), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1));
+            second.ready();
+
+            tree.validate(first);
+            final DataTreeCandidate firstCandidate = tree.prepare(first);
+            tree.validate(second);
+            final DataTreeCandidate secondCandidate = tree.prepare(second);
+            tree.commit(firstCandidate);
+            try {
+                tree.commit(secondCandidate);
+                fail("Stale candidate should have been rejected");
+            } catch (IllegalStateException e) {
+                // Expected
+            }
+            assertFalse(tree.takeSnapshot().readNode(entryPath(1)).isPresent());
+        }
+
+        try (JournaledDataTree tree = openTree(0)) {
+            assertTrue(tree.takeSnapshot().readNode(entryPath(0)).isPresent());
+            assertFalse(tree.takeSnapshot().readNode(entryPath(1)).isPresent());
+        }
+    }
+
+    @Test
+    public void testConcurrentCommits() throws Exception {
+        final int threads = 4;
+        final int perThread = 25;
+        try (final JournaledDataTree tree = openTree(0)) {
+            initialize(tree);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                final Future<?>[] futures = new Future<?>[threads];
+                for (int i = 0; i < threads; ++i) {
+                    final int base = i * perThread;
+                    futures[i] = executor.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                            for (int j = base; j < base + perThread; ++j) {
+                                commitEntry(tree, j);
+                                // Our own commit is durable and hence visible once commit() returns
+                                assertTrue(tree.takeSnapshot().readNode(entryPath(j)).isPresent());
+                            }
+                            return null;
+                        }
+                    });
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        try (JournaledDataTree tree = openTree(0)) {
+            for (int i = 0; i < threads * perThread; ++i) {
+                assertTrue(tree.takeSnapshot().readNode(entryPath(i)).isPresent());
+            }
+        }
+    }
+
+    private static void commitEntry(final DataTree tree, final int id) throws DataValidationFailedException {
+        while (true) {
+            final DataTreeModification mod = tree.takeSnapshot().newModification();
+            mod.write(entryPath(id), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+            mod.ready();
+            tree.validate(mod);
+            final DataTreeCandidate candidate = tree.prepare(mod);
+            try {
+                tree.commit(candidate);
+                return;
+            } catch (IllegalStateException e) {
+                // Another thread has committed between our prepare and commit, try again
+            }
+        }
+    }
+}
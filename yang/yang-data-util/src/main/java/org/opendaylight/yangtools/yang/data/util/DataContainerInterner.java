@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.AttributesContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility class for sharing instances of {@link DataContainerNode}s, such as containers and map entries, which are
+ * structurally equal. This extends the idea of {@link LeafInterner} to whole subtrees: data often contains many
+ * copies of the same subtree, for example default policy containers or identical match structures, each of which
+ * is a separate object graph. Interning them makes all copies share a single instance. Instances containing
+ * attributes are not interned.
+ *
+ * Interning is most effective when performed bottom-up, i.e. when a node's children have already been interned
+ * by the time the node itself is interned. Equality checks of the node's children then short-circuit on identity.
+ *
+ * Unlike leaves, subtrees usually have high cardinality and each interned instance costs an entry in the interner,
+ * hence this class should be used only where duplicate subtrees are known to be common.
+ */
+@Beta
+public abstract class DataContainerInterner {
+    private static final class Noop extends DataContainerInterner {
+        @Override
+        public <T extends DataContainerNode<?>> T intern(final T sample) {
+            return sample;
+        }
+    }
+
+    private static final class Weak extends DataContainerInterner {
+        private static final Logger LOG = LoggerFactory.getLogger(Weak.class);
+        private static final Interner<Object> INTERNER = Interners.newWeakInterner();
+
+        @Override
+        public <T extends DataContainerNode<?>> T intern(final T sample) {
+            if (sample instanceof AttributesContainer && !((AttributesContainer) sample).getAttributes().isEmpty()) {
+                // Non-empty attributes, do not intern
+                return sample;
+            }
+
+            @SuppressWarnings("unchecked")
+            final T ret = (T) INTERNER.intern(sample);
+            LOG.trace("Interned object {} to {}", sample, ret);
+            return ret;
+        }
+    }
+
+    private static final DataContainerInterner NOOP = new Noop();
+    private static final DataContainerInterner WEAK = new Weak();
+
+    DataContainerInterner() {
+
+    }
+
+    /**
+     * Return a {@link DataContainerInterner} which does not perform any interning.
+     *
+     * @return An interner instance
+     */
+    @Nonnull public static DataContainerInterner noop() {
+        return NOOP;
+    }
+
+    /**
+     * Return a {@link DataContainerInterner} which shares instances through a global weak interner. Interned
+     * instances are released once they are no longer referenced.
+     *
+     * @return An interner instance
+     */
+    @Nonnull public static DataContainerInterner weak() {
+        return WEAK;
+    }
+
+    /**
+     * Return an instance structurally equal to the sample, possibly the sample itself.
+     *
+     * @param sample Node to intern
+     * @return Interned node
+     */
+    public abstract <T extends DataContainerNode<?>> T intern(final T sample);
+}